@@ -0,0 +1,59 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so that the allocation rate is reported next to the throughput and the
+ * average time. Any JMH command line option may be given, for example:
+ *
+ * <pre>
+ * mvn -pl benchmarks exec:exec -Djmh.args="-p policyCount=1000 -p readModel=true fetchAllPolicies"
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+        // main class
+    }
+
+    /**
+     * Run the benchmarks.
+     *
+     * @param args the JMH command line options
+     * @throws CommandLineOptionException if the options are invalid
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(final String[] args) throws CommandLineOptionException, RunnerException {
+        final var options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
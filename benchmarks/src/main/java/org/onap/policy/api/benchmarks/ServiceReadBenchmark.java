@@ -0,0 +1,114 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.onap.policy.api.main.rest.PolicyFetchMode;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaNodeTemplate;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the read paths of {@link org.onap.policy.api.main.service.ToscaServiceTemplateService}, which back
+ * the GET operations of the REST API.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ServiceReadBenchmark {
+
+    /**
+     * Fetch every policy, as GET /policies does.
+     */
+    @Benchmark
+    public ToscaServiceTemplate fetchAllPolicies(final ServiceTemplateState state) throws PfModelException {
+        return state.getService().fetchPolicies(null, null, null, null, PolicyFetchMode.BARE);
+    }
+
+    /**
+     * Fetch a single policy of a given type by name and version.
+     */
+    @Benchmark
+    public ToscaServiceTemplate fetchPolicy(final ServiceTemplateState state) throws PfModelException {
+        return state.getService().fetchPolicies(state.getPolicyTypeName(), state.getPolicyTypeVersion(),
+            randomPolicyName(state), ServiceTemplateState.VERSION, PolicyFetchMode.BARE);
+    }
+
+    /**
+     * Fetch the latest version of a single policy with its policy type, as GET ../versions/latest?mode=referenced
+     * does.
+     */
+    @Benchmark
+    public ToscaServiceTemplate fetchLatestPolicy(final ServiceTemplateState state) throws PfModelException {
+        return state.getService().fetchLatestPolicies(state.getPolicyTypeName(), state.getPolicyTypeVersion(),
+            randomPolicyName(state), PolicyFetchMode.REFERENCED);
+    }
+
+    /**
+     * Fetch every policy type.
+     */
+    @Benchmark
+    public ToscaServiceTemplate fetchAllPolicyTypes(final ServiceTemplateState state) throws PfModelException {
+        return state.getService().fetchPolicyTypes(null, null);
+    }
+
+    /**
+     * Fetch the policy type of the benchmark policies.
+     */
+    @Benchmark
+    public ToscaServiceTemplate fetchPolicyType(final ServiceTemplateState state) throws PfModelException {
+        return state.getService().fetchPolicyTypes(state.getPolicyTypeName(), state.getPolicyTypeVersion());
+    }
+
+    /**
+     * Fetch every node template.
+     */
+    @Benchmark
+    public List<ToscaNodeTemplate> fetchAllNodeTemplates(final ServiceTemplateState state) throws PfModelException {
+        return state.getService().fetchToscaNodeTemplates(null, null);
+    }
+
+    /**
+     * Fetch a single node template by name and version.
+     */
+    @Benchmark
+    public List<ToscaNodeTemplate> fetchNodeTemplate(final ServiceTemplateState state) throws PfModelException {
+        final var index = ThreadLocalRandom.current().nextInt(state.getNodeTemplateCount());
+        return state.getService().fetchToscaNodeTemplates(ServiceTemplateState.NODE_TEMPLATE_NAME_PREFIX + index,
+            ServiceTemplateState.VERSION);
+    }
+
+    private static String randomPolicyName(final ServiceTemplateState state) {
+        return ServiceTemplateState.POLICY_NAME_PREFIX + ThreadLocalRandom.current().nextInt(state.policyCount);
+    }
+}
@@ -0,0 +1,247 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.onap.policy.api.main.PolicyApiApplication;
+import org.onap.policy.api.main.service.ToscaServiceTemplateService;
+import org.onap.policy.common.utils.coder.CoderException;
+import org.onap.policy.common.utils.coder.StandardYamlCoder;
+import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaNodeTemplate;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaNodeType;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaTopologyTemplate;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the API against an in-memory H2 database and populates the service template with a given number of policies
+ * and node templates, created through the service layer as the REST API would.
+ */
+@State(Scope.Benchmark)
+public class ServiceTemplateState {
+    public static final String POLICY_NAME_PREFIX = "bench.policy.";
+    public static final String NODE_TEMPLATE_NAME_PREFIX = "bench.nodetemplate.";
+    public static final String VERSION = "1.0.0";
+
+    private static final String POLICY_RESOURCE = "policies/sdnc.policy.naming.input.tosca.yaml";
+    private static final String NODE_TYPE_NAME = "org.onap.nodetypes.policy.MetadataSet";
+    private static final String POLICY_ID = "policy-id";
+    private static final String POLICY_VERSION = "policy-version";
+    private static final int CHUNK_SIZE = 5000;
+    private static final int MIN_NODE_TEMPLATES = 10;
+
+    /**
+     * Number of policies in the service template.
+     */
+    @Param({"100", "1000", "10000", "50000"})
+    public int policyCount;
+
+    /**
+     * Whether the fetches are served from the in-memory read model or from the database.
+     */
+    @Param({"true", "false"})
+    public boolean readModel;
+
+    private ConfigurableApplicationContext context;
+    private ToscaServiceTemplateService service;
+    private ToscaPolicy examplePolicy;
+    private String policyTypeName;
+    private String policyTypeVersion;
+    private int nodeTemplateCount;
+
+    /**
+     * Start the API and populate its database.
+     *
+     * @throws CoderException if the example policy cannot be decoded
+     * @throws PfModelException if the node templates cannot be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws CoderException, PfModelException {
+        context = new SpringApplicationBuilder(PolicyApiApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:benchmark-" + policyCount + "-" + readModel + ";DB_CLOSE_DELAY=-1",
+                "spring.datasource.driverClassName=org.h2.Driver",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "policy-api.read-model.enabled=" + readModel,
+                "logging.level.root=WARN")
+            .run();
+        service = context.getBean(ToscaServiceTemplateService.class);
+
+        final var template = new StandardYamlCoder()
+            .decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE), ToscaServiceTemplate.class);
+        examplePolicy = template.getToscaTopologyTemplate().getPolicies().get(0).values().iterator().next();
+        policyTypeName = examplePolicy.getType();
+        policyTypeVersion = examplePolicy.getTypeVersion();
+
+        for (var first = 0; first < policyCount; first += CHUNK_SIZE) {
+            final List<String> names = new ArrayList<>(CHUNK_SIZE);
+            for (var index = first; index < Math.min(first + CHUNK_SIZE, policyCount); index++) {
+                names.add(POLICY_NAME_PREFIX + index);
+            }
+            service.createPolicies(policies(names));
+        }
+
+        nodeTemplateCount = Math.max(MIN_NODE_TEMPLATES, policyCount / 10);
+        final List<String> nodeTemplateNames = new ArrayList<>(nodeTemplateCount);
+        for (var index = 0; index < nodeTemplateCount; index++) {
+            nodeTemplateNames.add(NODE_TEMPLATE_NAME_PREFIX + index);
+        }
+        final var nodeTemplates = nodeTemplates(nodeTemplateNames);
+        nodeTemplates.setNodeTypes(Map.of(NODE_TYPE_NAME, nodeType()));
+        service.createToscaNodeTemplates(nodeTemplates);
+    }
+
+    /**
+     * Stop the API, which drops its database.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    public ToscaServiceTemplateService getService() {
+        return service;
+    }
+
+    public String getPolicyTypeName() {
+        return policyTypeName;
+    }
+
+    public String getPolicyTypeVersion() {
+        return policyTypeVersion;
+    }
+
+    public int getNodeTemplateCount() {
+        return nodeTemplateCount;
+    }
+
+    /**
+     * Get a bean of the running API.
+     *
+     * @param beanClass the class of the bean
+     * @param <T> the type of the bean
+     * @return the bean
+     */
+    public <T> T getBean(final Class<T> beanClass) {
+        return context.getBean(beanClass);
+    }
+
+    /**
+     * Create a service template holding copies of the example policy.
+     *
+     * @param names the names of the policies
+     * @return the service template
+     */
+    public ToscaServiceTemplate policies(final List<String> names) {
+        final List<Map<String, ToscaPolicy>> policies = new ArrayList<>(names.size());
+        for (final var name : names) {
+            final var policy = new ToscaPolicy(examplePolicy);
+            policy.setName(name);
+            policy.setVersion(VERSION);
+            final Map<String, Object> metadata = new LinkedHashMap<>();
+            metadata.put(POLICY_ID, policy.getName());
+            metadata.put(POLICY_VERSION, VERSION);
+            policy.setMetadata(metadata);
+            policies.add(Map.of(policy.getName(), policy));
+        }
+
+        final var topologyTemplate = new ToscaTopologyTemplate();
+        topologyTemplate.setPolicies(policies);
+        return serviceTemplate(topologyTemplate);
+    }
+
+    /**
+     * Create a service template holding node templates of the metadata set node type, which is already in the
+     * database once the state is set up.
+     *
+     * @param names the names of the node templates
+     * @return the service template
+     */
+    public static ToscaServiceTemplate nodeTemplates(final List<String> names) {
+        final Map<String, ToscaNodeTemplate> nodeTemplates = new LinkedHashMap<>();
+        for (final var name : names) {
+            final var nodeTemplate = new ToscaNodeTemplate();
+            nodeTemplate.setName(name);
+            nodeTemplate.setVersion(VERSION);
+            nodeTemplate.setType(NODE_TYPE_NAME);
+            nodeTemplate.setTypeVersion(VERSION);
+            nodeTemplate.setDescription("Metadata set of benchmark node template " + name);
+            nodeTemplate.setMetadata(Map.of("policyModel", Map.of("key", Map.of("name", "BenchPolicyModel",
+                "version", VERSION))));
+            nodeTemplates.put(nodeTemplate.getName(), nodeTemplate);
+        }
+
+        final var topologyTemplate = new ToscaTopologyTemplate();
+        topologyTemplate.setNodeTemplates(nodeTemplates);
+        return serviceTemplate(topologyTemplate);
+    }
+
+    /**
+     * Create a service template holding a policy type without properties.
+     *
+     * @param name the name of the policy type
+     * @return the service template
+     */
+    public static ToscaServiceTemplate policyType(final String name) {
+        final var policyType = new ToscaPolicyType();
+        policyType.setName(name);
+        policyType.setVersion(VERSION);
+        policyType.setDerivedFrom("tosca.policies.Root");
+        policyType.setDescription("Benchmark policy type " + name);
+
+        final var serviceTemplate = serviceTemplate(null);
+        serviceTemplate.setPolicyTypes(Map.of(name, policyType));
+        return serviceTemplate;
+    }
+
+    private static ToscaNodeType nodeType() {
+        final var nodeType = new ToscaNodeType();
+        nodeType.setName(NODE_TYPE_NAME);
+        nodeType.setVersion(VERSION);
+        nodeType.setDerivedFrom("tosca.nodetypes.Root");
+        return nodeType;
+    }
+
+    private static ToscaServiceTemplate serviceTemplate(final ToscaTopologyTemplate topologyTemplate) {
+        final var serviceTemplate = new ToscaServiceTemplate();
+        serviceTemplate.setToscaDefinitionsVersion("tosca_simple_yaml_1_1_0");
+        serviceTemplate.setToscaTopologyTemplate(topologyTemplate);
+        return serviceTemplate;
+    }
+}
@@ -0,0 +1,251 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.benchmarks;
+
+import jakarta.ws.rs.core.Response;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.onap.policy.api.main.rest.PolicyFetchMode;
+import org.onap.policy.api.main.service.WriteCoordinator;
+import org.onap.policy.api.main.service.WriteCoordinator.WriteOperation;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.base.PfModelRuntimeException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the write paths of {@link org.onap.policy.api.main.service.ToscaServiceTemplateService} against a
+ * service template already holding the policies and node templates of {@link ServiceTemplateState}. Each operation
+ * creates an entity and deletes it again, so the size of the service template stays the same throughout the run; the
+ * split between the create and the delete is in the phase timers of the service.
+ *
+ * <p>The concurrent variants run several writers at once, either through the {@link WriteCoordinator} as the REST API
+ * does or straight against the service. Writes that fail, and creates whose entity is already gone when it is
+ * deleted, are reported as the failedWrites and lostCreates counters. Deleted policies that reappear in the service
+ * template by the end of each iteration are reported as the resurrectedPolicies counter.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ServiceWriteBenchmark {
+    private static final int CONCURRENT_WRITERS = 8;
+
+    // the group of the policy creations of the REST API, so they are committed together in the same way
+    private static final String CREATE_POLICIES_GROUP = "createPolicies";
+
+    /**
+     * Hands out the names of the entities written and finds, after each iteration, the deleted policies that are left
+     * in the service template.
+     */
+    @State(Scope.Benchmark)
+    public static class WriteTracker {
+        static final String POLICY_PREFIX = "bench.write.policy.";
+        static final String POLICY_TYPE_PREFIX = "bench.write.policytype.";
+        static final String NODE_TEMPLATE_PREFIX = "bench.write.nodetemplate.";
+
+        private final AtomicLong sequence = new AtomicLong();
+        private final Set<String> deletedPolicies = ConcurrentHashMap.newKeySet();
+
+        String nextName(final String prefix) {
+            return prefix + sequence.incrementAndGet();
+        }
+
+        void policyDeleted(final String name) {
+            deletedPolicies.add(name);
+        }
+
+        /**
+         * Count the deleted policies that are back in the service template, then delete them and the policies left
+         * by failed writes, so that the next iteration starts from the same service template. Only the first call
+         * after the writes finds any.
+         *
+         * @param state the populated API
+         * @return the number of deleted policies found in the service template
+         * @throws PfModelException on errors fetching the policies
+         */
+        synchronized long removeWrittenPolicies(final ServiceTemplateState state) throws PfModelException {
+            final var service = state.getService();
+            final var policies = service.fetchPolicies(null, null, null, null, PolicyFetchMode.BARE)
+                .getToscaTopologyTemplate().getPolicies();
+
+            long resurrected = 0;
+            for (final var policyMap : policies) {
+                for (final var name : policyMap.keySet()) {
+                    if (!name.startsWith(POLICY_PREFIX)) {
+                        continue;
+                    }
+                    if (deletedPolicies.contains(name)) {
+                        resurrected++;
+                    }
+                    service.deletePolicy(name, ServiceTemplateState.VERSION);
+                }
+            }
+            deletedPolicies.clear();
+            return resurrected;
+        }
+    }
+
+    /**
+     * Counts, for each thread, the writes that did not behave as they would have one at a time.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WriteCounters {
+        public long failedWrites;
+        public long lostCreates;
+        public long resurrectedPolicies;
+
+        /**
+         * Clear the counters.
+         */
+        @Setup(Level.Iteration)
+        public void clear() {
+            failedWrites = 0;
+            lostCreates = 0;
+            resurrectedPolicies = 0;
+        }
+
+        /**
+         * Count the deleted policies that reappeared during the iteration. The writers of all the threads are done by
+         * then, so the first thread to get here counts them all.
+         *
+         * @param state the populated API
+         * @param tracker the names of the policies written
+         * @throws PfModelException on errors fetching the policies
+         */
+        @TearDown(Level.Iteration)
+        public void checkLostUpdates(final ServiceTemplateState state, final WriteTracker tracker)
+            throws PfModelException {
+            resurrectedPolicies = tracker.removeWrittenPolicies(state);
+        }
+    }
+
+    /**
+     * Create a policy and delete it. Of the counters, only the resurrected policies apply to a single writer.
+     */
+    @Benchmark
+    public ToscaServiceTemplate createThenDeletePolicy(final ServiceTemplateState state, final WriteTracker tracker,
+                                                      final WriteCounters counters) throws PfModelException {
+        final var name = tracker.nextName(WriteTracker.POLICY_PREFIX);
+        state.getService().createPolicies(state.policies(List.of(name)));
+        final var deleted = state.getService().deletePolicy(name, ServiceTemplateState.VERSION);
+        tracker.policyDeleted(name);
+        return deleted;
+    }
+
+    /**
+     * Create a policy type and delete it.
+     */
+    @Benchmark
+    public ToscaServiceTemplate createThenDeletePolicyType(final ServiceTemplateState state,
+                                                          final WriteTracker tracker) {
+        final var name = tracker.nextName(WriteTracker.POLICY_TYPE_PREFIX);
+        state.getService().createPolicyType(ServiceTemplateState.policyType(name));
+        return state.getService().deletePolicyType(name, ServiceTemplateState.VERSION);
+    }
+
+    /**
+     * Create a node template and delete it.
+     */
+    @Benchmark
+    public ToscaServiceTemplate createThenDeleteNodeTemplate(final ServiceTemplateState state,
+                                                            final WriteTracker tracker) throws PfModelException {
+        final var name = tracker.nextName(WriteTracker.NODE_TEMPLATE_PREFIX);
+        state.getService().createToscaNodeTemplates(ServiceTemplateState.nodeTemplates(List.of(name)));
+        return state.getService().deleteToscaNodeTemplate(name, ServiceTemplateState.VERSION);
+    }
+
+    /**
+     * Create a policy and delete it from several threads, through the write coordinator as the REST API does.
+     */
+    @Benchmark
+    @Threads(CONCURRENT_WRITERS)
+    public void coordinatedCreateThenDeletePolicy(final ServiceTemplateState state, final WriteTracker tracker,
+                                                  final WriteCounters counters) {
+        final var service = state.getService();
+        final var coordinator = state.getBean(WriteCoordinator.class);
+        final var name = tracker.nextName(WriteTracker.POLICY_PREFIX);
+        createThenDelete(
+            () -> coordinator.executeGrouped(CREATE_POLICIES_GROUP, service::createPoliciesBatch,
+                state.policies(List.of(name))),
+            () -> coordinator.execute(() -> service.deletePolicy(name, ServiceTemplateState.VERSION)),
+            name, tracker, counters);
+    }
+
+    /**
+     * Create a policy and delete it from several threads, straight against the service, so that the writes contend
+     * for the service template in the database.
+     */
+    @Benchmark
+    @Threads(CONCURRENT_WRITERS)
+    public void uncoordinatedCreateThenDeletePolicy(final ServiceTemplateState state, final WriteTracker tracker,
+                                                    final WriteCounters counters) {
+        final var service = state.getService();
+        final var name = tracker.nextName(WriteTracker.POLICY_PREFIX);
+        createThenDelete(
+            () -> service.createPolicies(state.policies(List.of(name))),
+            () -> service.deletePolicy(name, ServiceTemplateState.VERSION),
+            name, tracker, counters);
+    }
+
+    private static void createThenDelete(final WriteOperation<ToscaServiceTemplate> create,
+                                         final WriteOperation<ToscaServiceTemplate> delete, final String name,
+                                         final WriteTracker tracker, final WriteCounters counters) {
+        try {
+            create.apply();
+        } catch (PfModelException | RuntimeException exception) {
+            counters.failedWrites++;
+            return;
+        }
+
+        try {
+            delete.apply();
+            tracker.policyDeleted(name);
+        } catch (PfModelRuntimeException exception) {
+            if (Response.Status.NOT_FOUND.equals(exception.getErrorResponse().getResponseCode())) {
+                counters.lostCreates++;
+            } else {
+                counters.failedWrites++;
+            }
+        } catch (PfModelException | RuntimeException exception) {
+            counters.failedWrites++;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the readiness check of the API.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties("policy-api.health-check")
+public class HealthCheckConfig {
+
+    /**
+     * How long the result of a readiness check is reused before the database is checked again. Zero or negative
+     * checks the database on every probe.
+     */
+    private Duration cacheInterval = Duration.ofSeconds(5);
+
+    /**
+     * How long the validation of a database connection may take before the database is considered unreachable.
+     */
+    private Duration validationTimeout = Duration.ofSeconds(2);
+}
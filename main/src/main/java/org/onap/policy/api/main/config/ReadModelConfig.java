@@ -0,0 +1,52 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the in-memory read model of the default TOSCA service template.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties("policy-api.read-model")
+public class ReadModelConfig {
+
+    /**
+     * When disabled, every read goes to the database as before. Disabled by default: a snapshot only sees the writes
+     * of its own instance, so when several API instances share the database, the writes made through the others stay
+     * invisible for up to the maximum age, and conditional reads and the response cache can answer with the stale
+     * snapshot. Enable it for a single instance, or where that staleness is acceptable.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum age of a snapshot before it is reloaded from the database, so that writes made by other
+     * API instances sharing the database become visible; this bounds how stale their writes can be. Zero or negative
+     * disables expiry.
+     */
+    private Duration maxAge = Duration.ofSeconds(30);
+}
@@ -0,0 +1,74 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the read replica that read-only transactions are routed to.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties("policy-api.read-replica")
+public class ReadReplicaConfig {
+
+    /**
+     * When disabled, every transaction goes to the primary database as before.
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC URL of the replica, using the driver of the primary database.
+     */
+    private String url;
+
+    /**
+     * User name on the replica, the user name of the primary database if not set.
+     */
+    private String username;
+
+    /**
+     * Password on the replica, the password of the primary database if not set.
+     */
+    private String password;
+
+    /**
+     * Longest wait for a connection to the replica before falling back to the primary database.
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Time read-only transactions stay on the primary database after the replica failed to give a connection.
+     */
+    private Duration retryInterval = Duration.ofSeconds(30);
+
+    /**
+     * Time read-only transactions stay on the primary database after a write, so that reads issued after a write
+     * do not miss it while the replica catches up.
+     */
+    private Duration primaryAfterWrite = Duration.ofSeconds(5);
+}
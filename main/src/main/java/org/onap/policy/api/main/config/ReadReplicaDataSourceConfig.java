@@ -0,0 +1,81 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Objects;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Replaces the data source of the primary database with one that routes read-only transactions to the read replica,
+ * when a read replica is enabled.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+@ConditionalOnProperty(prefix = "policy-api.read-replica", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    /**
+     * Create the data source routing between the primary database and the replica.
+     *
+     * @param properties the settings of the primary database
+     * @param config the read replica settings
+     * @return the routing data source
+     */
+    @Bean(destroyMethod = "close")
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(final DataSourceProperties properties,
+                                                                     final ReadReplicaConfig config) {
+        final var primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("policy-api-primary");
+
+        final var replica = DataSourceBuilder.create().type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(Objects.requireNonNull(config.getUrl(), "policy-api.read-replica.url must be set"))
+            .username(Objects.requireNonNullElse(config.getUsername(), properties.determineUsername()))
+            .password(Objects.requireNonNullElse(config.getPassword(), properties.determinePassword()))
+            .build();
+        replica.setPoolName("policy-api-replica");
+        replica.setConnectionTimeout(config.getConnectionTimeout().toMillis());
+
+        return new ReadReplicaRoutingDataSource(primary, replica, config);
+    }
+
+    /**
+     * Create the data source used by JPA, which fetches each connection once its transaction has begun.
+     *
+     * @param routingDataSource the routing data source
+     * @return the data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(final ReadReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
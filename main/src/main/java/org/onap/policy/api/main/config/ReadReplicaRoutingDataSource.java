@@ -0,0 +1,240 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.config;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Gives the connections of read-only transactions from the read replica and all other connections from the primary
+ * database. Read-only transactions fall back to the primary database for a while when the replica cannot give a
+ * connection, and stay on it for a while after each write so that they see the write. That while starts when the
+ * transaction that wrote commits, read-write transactions that only read do not start it.
+ *
+ * <p>The transaction is only known to be read-only once it has begun, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which fetches the connection when the
+ * first statement runs.
+ *
+ * <p>The replica may lag behind the primary database. Reads whose result is kept beyond their transaction, such as the
+ * snapshots of the read model, are run with {@link #readFromPrimary(Supplier)}, and are only kept when the transaction
+ * is not already reading from the replica, see {@link #isReadingFromReplica()}.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    // set on the thread while its reads must go to the primary database
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    // the key of the resource bound to a transaction once it has a connection of the replica
+    private static final Object REPLICA_READS = new Object();
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long retryIntervalNanos;
+    private final long primaryAfterWriteNanos;
+
+    private final AtomicLong replicaRetryNanos;
+    private final AtomicLong lastWriteNanos;
+
+    /**
+     * Create the data source.
+     *
+     * @param primary the primary database
+     * @param replica the read replica
+     * @param config the read replica settings
+     */
+    public ReadReplicaRoutingDataSource(@NonNull final DataSource primary, @NonNull final DataSource replica,
+                                        @NonNull final ReadReplicaConfig config) {
+        this.primary = primary;
+        this.replica = replica;
+        this.retryIntervalNanos = config.getRetryInterval().toNanos();
+        this.primaryAfterWriteNanos = config.getPrimaryAfterWrite().toNanos();
+
+        final var now = System.nanoTime();
+        this.replicaRetryNanos = new AtomicLong(now);
+        this.lastWriteNanos = new AtomicLong(now - primaryAfterWriteNanos);
+    }
+
+    /**
+     * Run a read on the primary database, even in a read-only transaction: a transaction that fetches its connection
+     * during the read fetches it from the primary database. A transaction that already has a connection of the replica
+     * keeps it.
+     *
+     * @param read the read
+     * @param <T> the type of the result of the read
+     * @return the result of the read
+     */
+    public static <T> T readFromPrimary(@NonNull final Supplier<T> read) {
+        if (Boolean.TRUE.equals(PRIMARY_REQUIRED.get())) {
+            return read.get();
+        }
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    /**
+     * Check whether the current transaction has a connection of the replica, so that what it reads may be older than
+     * the latest writes.
+     *
+     * @return true if the current transaction reads from the replica
+     */
+    public static boolean isReadingFromReplica() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_READS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        return getConnection(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection getConnection(final ConnectionSupplier supplier) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return trackWrites(supplier.get(primary));
+        }
+
+        final var now = System.nanoTime();
+
+        if (!Boolean.TRUE.equals(PRIMARY_REQUIRED.get()) && now - lastWriteNanos.get() >= primaryAfterWriteNanos
+            && now - replicaRetryNanos.get() >= 0) {
+            try {
+                final var connection = supplier.get(replica);
+                markReplicaReads();
+                return connection;
+            } catch (SQLException exception) {
+                replicaRetryNanos.set(now + retryIntervalNanos);
+                LOGGER.warn("read replica unavailable, reading from the primary database for {} ms",
+                    retryIntervalNanos / 1_000_000, exception);
+            }
+        }
+        return supplier.get(primary);
+    }
+
+    // Record that the current transaction reads from the replica, until it completes
+    private static void markReplicaReads() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+            || TransactionSynchronizationManager.hasResource(REPLICA_READS)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_READS, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_READS);
+            }
+        });
+    }
+
+    /**
+     * Wrap a connection of the primary database to record when the writes made through it are committed: once the
+     * transaction commits, or once the connection is closed outside a transaction, where each statement commits on
+     * its own.
+     *
+     * @param connection the connection
+     * @return the wrapped connection
+     */
+    private Connection trackWrites(final Connection connection) {
+        final var written = new AtomicBoolean();
+        final var inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        if (inTransaction) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    if (written.get()) {
+                        lastWriteNanos.set(System.nanoTime());
+                    }
+                }
+            });
+        }
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                if (isWrite(method, args)) {
+                    written.set(true);
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException exception) {
+                    throw exception.getCause();
+                } finally {
+                    if (!inTransaction && "close".equals(method.getName()) && written.get()) {
+                        lastWriteNanos.set(System.nanoTime());
+                    }
+                }
+            });
+    }
+
+    // Statements are prepared from their SQL, any statement other than a query may write
+    private static boolean isWrite(final Method method, final Object[] args) {
+        return switch (method.getName()) {
+            case "createStatement" -> true;
+            case "prepareStatement", "prepareCall" -> !(args[0] instanceof String sql)
+                || !sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+            default -> false;
+        };
+    }
+
+    /**
+     * Close the connection pools of the primary database and the replica.
+     */
+    @Override
+    public void close() {
+        for (final var dataSource : new DataSource[] {primary, replica}) {
+            if (dataSource instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception exception) {
+                    LOGGER.warn("failed to close data source {}", dataSource, exception);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+}
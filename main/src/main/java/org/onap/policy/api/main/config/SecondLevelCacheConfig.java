@@ -0,0 +1,60 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the Hibernate second-level cache of the TOSCA entities.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties("policy-api.second-level-cache")
+public class SecondLevelCacheConfig {
+
+    /**
+     * When disabled, every entity is loaded from the database as before.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of entities held in the region of each TOSCA entity, and of results in the query region.
+     */
+    private long maxEntriesPerRegion = 10_000;
+
+    /**
+     * When enabled, the results of the policy and policy type finder queries are cached too.
+     */
+    private boolean queryCacheEnabled = true;
+
+    /**
+     * Time after which an entity or a query result is dropped from its region, so that writes made by other API
+     * instances sharing the database become visible. It is capped at the maximum age of the read model snapshot.
+     * Zero or negative disables expiry.
+     */
+    private Duration expireAfterWrite = Duration.ofSeconds(30);
+}
@@ -0,0 +1,161 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaDataType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaDataTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaNodeTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaNodeTemplates;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaNodeType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaNodeTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicies;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaTopologyTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the Hibernate second-level cache of the TOSCA entities, when it is enabled. The entities are mapped in the
+ * policy models, so they are marked cacheable here through Hibernate properties rather than annotations. Each entity
+ * has a region of its own in a local Caffeine JCache, bounded in size, and the hits and misses of each region are
+ * exported as {@code cache.gets} metrics tagged with the region name. Entries expire no later than the read model
+ * snapshot, so that neither serves the writes of other instances later than the other.
+ *
+ * <p>The read-write strategy keeps the regions consistent with the writes made through Hibernate; the regions are
+ * also evicted when the service template is saved or entities are deleted, see
+ * {@code org.onap.policy.api.main.service.ToscaEntityCache}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "policy-api.second-level-cache", name = "enabled", havingValue = "true")
+public class SecondLevelCacheHibernateConfig {
+
+    /**
+     * The TOSCA entities held in the second-level cache.
+     */
+    public static final List<Class<?>> CACHED_ENTITIES = List.of(JpaToscaServiceTemplate.class,
+        JpaToscaTopologyTemplate.class, JpaToscaPolicyTypes.class, JpaToscaPolicyType.class,
+        JpaToscaDataTypes.class, JpaToscaDataType.class, JpaToscaPolicies.class, JpaToscaPolicy.class,
+        JpaToscaNodeTypes.class, JpaToscaNodeType.class, JpaToscaNodeTemplates.class, JpaToscaNodeTemplate.class);
+
+    static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private static final URI CACHE_MANAGER_URI = URI.create("policy-api-second-level-cache");
+    private static final String READ_WRITE = "read-write";
+
+    /**
+     * Create the cache manager holding the regions of the second-level cache and register their metrics.
+     *
+     * @param config the second-level cache settings
+     * @param readModelConfig the read model settings, whose maximum age caps the expiry of the regions
+     * @param meterRegistry the registry of the metrics
+     * @return the cache manager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(final SecondLevelCacheConfig config,
+                                                final ReadModelConfig readModelConfig,
+                                                final MeterRegistry meterRegistry) {
+        final var cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(CACHE_MANAGER_URI, SecondLevelCacheHibernateConfig.class.getClassLoader());
+
+        final var boundedRegions = new ArrayList<String>();
+        CACHED_ENTITIES.forEach(entity -> boundedRegions.add(entity.getName()));
+        if (config.isQueryCacheEnabled()) {
+            boundedRegions.add(QUERY_RESULTS_REGION);
+        }
+        final var expireAfterWrite = getExpireAfterWrite(config, readModelConfig);
+        for (final var region : boundedRegions) {
+            createRegion(cacheManager, region, OptionalLong.of(config.getMaxEntriesPerRegion()), expireAfterWrite,
+                meterRegistry);
+        }
+
+        // the update timestamps hold one entry per table and must not be evicted or expire before the query results
+        if (config.isQueryCacheEnabled()) {
+            createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, OptionalLong.empty(), OptionalLong.empty(),
+                meterRegistry);
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Create the customizer that turns on the second-level cache of the TOSCA entities.
+     *
+     * @param config the second-level cache settings
+     * @param secondLevelCacheManager the cache manager holding the regions
+     * @return the customizer of the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(final SecondLevelCacheConfig config,
+                                                                   final CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, "true");
+            properties.put(AvailableSettings.USE_QUERY_CACHE, Boolean.toString(config.isQueryCacheEnabled()));
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+            for (final var entity : CACHED_ENTITIES) {
+                properties.put(AvailableSettings.CLASS_CACHE_PREFIX + "." + entity.getName(), READ_WRITE);
+            }
+        };
+    }
+
+    // The expiry of the regions in nanoseconds, the shorter of the configured one and the read model maximum age
+    static OptionalLong getExpireAfterWrite(final SecondLevelCacheConfig config,
+                                            final ReadModelConfig readModelConfig) {
+        final var expiries = new ArrayList<Duration>();
+        for (final var expiry : new Duration[] {config.getExpireAfterWrite(), readModelConfig.getMaxAge()}) {
+            if (expiry != null && !expiry.isZero() && !expiry.isNegative()) {
+                expiries.add(expiry);
+            }
+        }
+        return expiries.stream().min(Duration::compareTo).map(expiry -> OptionalLong.of(expiry.toNanos()))
+            .orElse(OptionalLong.empty());
+    }
+
+    private static void createRegion(final CacheManager cacheManager, final String region,
+                                     final OptionalLong maximumSize, final OptionalLong expireAfterWrite,
+                                     final MeterRegistry meterRegistry) {
+        final var configuration = new CaffeineConfiguration<Object, Object>();
+        configuration.setMaximumSize(maximumSize);
+        configuration.setExpireAfterWrite(expireAfterWrite);
+        configuration.setStatisticsEnabled(true);
+        JCacheMetrics.monitor(meterRegistry, cacheManager.createCache(region, configuration));
+    }
+}
@@ -0,0 +1,48 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the SQL metrics of the REST operations.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties("policy-api.sql-metrics")
+public class SqlMetricsConfig {
+
+    /**
+     * When enabled, the statements, entities and flush time of each REST operation are recorded. Each statement,
+     * entity and flush is then counted, so it is off by default.
+     */
+    private boolean enabled = false;
+
+    /**
+     * When enabled, the SQL work of each request is also returned in a response header, meant for test environments.
+     */
+    private boolean debugHeaderEnabled = false;
+}
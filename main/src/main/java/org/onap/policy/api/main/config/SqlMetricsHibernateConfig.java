@@ -0,0 +1,106 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.onap.policy.api.main.service.SqlStatementRecorder;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks the SQL metrics of the REST operations into Hibernate, when they are enabled. The statements prepared and the
+ * flushes of each session are reported by a session event listener, the entities loaded by a post-load event
+ * listener; all of them are recorded against the counters bound to the thread by {@link SqlStatementRecorder}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "policy-api.sql-metrics", name = "enabled", havingValue = "true")
+public class SqlMetricsHibernateConfig {
+
+    /**
+     * Records the statements prepared and the flushes of a session, one instance is created per session.
+     */
+    public static class RecordingSessionEventListener implements SessionEventListener {
+        private static final long serialVersionUID = 1L;
+
+        private long flushStartNanos;
+
+        @Override
+        public void jdbcPrepareStatementStart() {
+            SqlStatementRecorder.statementPrepared();
+        }
+
+        @Override
+        public void flushStart() {
+            flushStartNanos = System.nanoTime();
+        }
+
+        @Override
+        public void flushEnd(final int numberOfEntities, final int numberOfCollections) {
+            SqlStatementRecorder.flushed(System.nanoTime() - flushStartNanos);
+        }
+    }
+
+    /**
+     * Records the entities loaded, whether by a query, a lookup or the initialization of a collection.
+     */
+    static class RecordingPostLoadListener implements PostLoadEventListener {
+
+        @Override
+        public void onPostLoad(final PostLoadEvent event) {
+            SqlStatementRecorder.entityLoaded();
+        }
+    }
+
+    /**
+     * Create the customizer that hooks the SQL metrics into Hibernate.
+     *
+     * @return the customizer of the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlMetricsCustomizer() {
+        return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+            RecordingSessionEventListener.class.getName());
+    }
+
+    /**
+     * Create the initializer that registers the listener of the entities loaded, once the session factory is built.
+     *
+     * @param entityManagerFactory the entity manager factory
+     * @return the initializer
+     */
+    @Bean
+    public SmartInitializingSingleton sqlMetricsEventListeners(final EntityManagerFactory entityManagerFactory) {
+        return () -> entityManagerFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry()
+            .getService(EventListenerRegistry.class)
+            .appendListeners(EventType.POST_LOAD, new RecordingPostLoadListener());
+    }
+}
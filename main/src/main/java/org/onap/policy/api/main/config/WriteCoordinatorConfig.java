@@ -0,0 +1,63 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the coordinator that serializes writes to the default TOSCA service template.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties("policy-api.write-coordinator")
+public class WriteCoordinatorConfig {
+
+    /**
+     * Maximum number of writes waiting for the writer; further writes are rejected as unavailable.
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * How long a caller waits for its write to be applied before it is answered as unavailable; the write itself is
+     * not cancelled and may still be applied.
+     */
+    private Duration writeTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Whether concurrent policy creations are grouped into one merge, validation and save.
+     */
+    private boolean groupCommitEnabled = true;
+
+    /**
+     * How long a group stays open for more writes to join it, counted from its first write.
+     */
+    private Duration groupCommitWindow = Duration.ofMillis(5);
+
+    /**
+     * Maximum number of writes in a group.
+     */
+    private int groupCommitMaxItems = 50;
+}
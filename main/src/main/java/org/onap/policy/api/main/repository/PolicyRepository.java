@@ -20,12 +20,44 @@
 
 package org.onap.policy.api.main.repository;
 
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.onap.policy.models.base.PfConceptKey;
 import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PolicyRepository extends JpaRepository<JpaToscaPolicy, PfConceptKey> {
 
+    /**
+     * Find all versions of the policy with the given name.
+     *
+     * @param name the name of the policy
+     * @return the policies found
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<JpaToscaPolicy> findByKeyName(String name);
+
+    /**
+     * Find all policies of any version of the policy type with the given name.
+     *
+     * @param typeName the name of the policy type
+     * @return the policies found
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<JpaToscaPolicy> findByTypeName(String typeName);
+
+    /**
+     * Find the first policy, in key order, of the given policy type.
+     *
+     * @param typeName the name of the policy type
+     * @param typeVersion the version of the policy type
+     * @return the policy found, if any
+     */
+    Optional<JpaToscaPolicy> findFirstByTypeNameAndTypeVersionOrderByKeyNameAscKeyVersionAsc(String typeName,
+                                                                                              String typeVersion);
 }
\ No newline at end of file
@@ -20,12 +20,35 @@
 
 package org.onap.policy.api.main.repository;
 
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.onap.policy.models.base.PfConceptKey;
 import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PolicyTypeRepository extends JpaRepository<JpaToscaPolicyType, PfConceptKey> {
 
+    /**
+     * Find all versions of the policy type with the given name.
+     *
+     * @param name the name of the policy type
+     * @return the policy types found
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<JpaToscaPolicyType> findByKeyName(String name);
+
+    /**
+     * Find the first policy type, in key order, that is derived from the given policy type.
+     *
+     * @param name the name of the parent policy type
+     * @param version the version of the parent policy type
+     * @return the policy type found, if any
+     */
+    Optional<JpaToscaPolicyType> findFirstByDerivedFromNameAndDerivedFromVersionOrderByKeyNameAscKeyVersionAsc(
+        String name, String version);
 }
\ No newline at end of file
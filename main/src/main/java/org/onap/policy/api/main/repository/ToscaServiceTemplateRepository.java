@@ -20,12 +20,45 @@
 
 package org.onap.policy.api.main.repository;
 
+import java.util.Optional;
 import org.onap.policy.models.base.PfConceptKey;
 import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+/**
+ * Repository of the TOSCA service templates. Besides loading a whole service template, a service template can be
+ * loaded with the fetch plan of a use case: the entities the use case works on are fetched with the service template
+ * in one query, and the other parts of the service template are only loaded if they are used.
+ */
 @Repository
 public interface ToscaServiceTemplateRepository extends JpaRepository<JpaToscaServiceTemplate, PfConceptKey> {
 
+    /**
+     * Find a service template, fetching its policy types.
+     *
+     * @param key the key of the service template
+     * @return the service template found
+     */
+    @EntityGraph(attributePaths = {"policyTypes.conceptMap", "dataTypes"})
+    Optional<JpaToscaServiceTemplate> findWithPolicyTypesByKey(PfConceptKey key);
+
+    /**
+     * Find a service template, fetching its policies.
+     *
+     * @param key the key of the service template
+     * @return the service template found
+     */
+    @EntityGraph(attributePaths = {"topologyTemplate.policies.conceptMap", "policyTypes", "dataTypes"})
+    Optional<JpaToscaServiceTemplate> findWithPoliciesByKey(PfConceptKey key);
+
+    /**
+     * Find a service template, fetching its node templates.
+     *
+     * @param key the key of the service template
+     * @return the service template found
+     */
+    @EntityGraph(attributePaths = {"topologyTemplate.nodeTemplates.conceptMap", "nodeTypes", "dataTypes"})
+    Optional<JpaToscaServiceTemplate> findWithNodeTemplatesByKey(PfConceptKey key);
 }
\ No newline at end of file
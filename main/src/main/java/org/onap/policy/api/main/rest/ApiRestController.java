@@ -27,20 +27,31 @@ package org.onap.policy.api.main.rest;
 
 import jakarta.ws.rs.core.Response.Status;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.onap.policy.api.main.exception.PolicyApiRuntimeException;
 import org.onap.policy.api.main.rest.genapi.PolicyDesignApi;
 import org.onap.policy.api.main.rest.provider.healthcheck.HealthCheckProvider;
+import org.onap.policy.api.main.service.ToscaServiceTemplateReadModel;
+import org.onap.policy.api.main.service.ToscaServiceTemplatePage;
 import org.onap.policy.api.main.service.ToscaServiceTemplateService;
+import org.onap.policy.api.main.service.WriteCoordinator;
 import org.onap.policy.common.endpoints.event.comm.Topic.CommInfrastructure;
 import org.onap.policy.common.endpoints.report.HealthCheckReport;
 import org.onap.policy.common.endpoints.utils.NetLoggerUtil;
 import org.onap.policy.common.endpoints.utils.NetLoggerUtil.EventType;
 import org.onap.policy.models.base.PfModelException;
 import org.onap.policy.models.base.PfModelRuntimeException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaEntityFilter;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaTypedEntityFilter;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -54,7 +65,13 @@ import org.springframework.web.bind.annotation.RestController;
 @Profile("default")
 public class ApiRestController extends CommonRestController implements PolicyDesignApi {
 
+    // policy creations are committed together when they arrive at the same time
+    private static final String CREATE_POLICIES_GROUP = "createPolicies";
+
     private final ToscaServiceTemplateService toscaServiceTemplateService;
+    private final WriteCoordinator writeCoordinator;
+    private final ToscaServiceTemplateReadModel readModel;
+    private final ToscaResponseCache responseCache;
     private final HealthCheckProvider healthCheckProvider;
 
     /**
@@ -74,16 +91,40 @@ public class ApiRestController extends CommonRestController implements PolicyDes
      * @return the Response object containing the results of the API operation
      */
     @Override
-    public ResponseEntity<ToscaServiceTemplate> getAllPolicyTypes(UUID requestId) {
+    public ResponseEntity<ToscaServiceTemplate> getAllPolicyTypes(
+        Integer limit,
+        String cursor,
+        UUID requestId) {
         try {
-            ToscaServiceTemplate serviceTemplate = toscaServiceTemplateService.fetchPolicyTypes(null, null);
-            return makeOkResponse(requestId, serviceTemplate);
+            if (limit != null || cursor != null) {
+                return makePageResponse(requestId, toscaServiceTemplateService
+                    .fetchPolicyTypePage(PageCursor.decode(cursor), PageCursor.checkLimit(limit)));
+            }
+            // unfiltered lists are streamed as they are encoded, buffering them for the cache would hold them whole
+            return makeTaggedOkResponse(requestId, revisionTag(),
+                () -> toscaServiceTemplateService.fetchPolicyTypes(null, null));
         } catch (PfModelException | PfModelRuntimeException pfme) {
             final var msg = "GET /policytypes";
             throw new PolicyApiRuntimeException(msg, pfme.getCause(), pfme.getErrorResponse(), requestId);
         }
     }
 
+    /**
+     * Retrieves the name, version and parent type of all policy types.
+     *
+     * @return the Response object containing the results of the API operation
+     */
+    @Override
+    public ResponseEntity<List<ToscaEntitySummary>> getPolicyTypeSummaries(UUID requestId) {
+        try {
+            return makeTaggedOkResponse(requestId, revisionTag(),
+                toscaServiceTemplateService::fetchPolicyTypeSummaries);
+        } catch (PfModelException | PfModelRuntimeException pfme) {
+            final var msg = "GET /policytypes/summary";
+            throw new PolicyApiRuntimeException(msg, pfme.getCause(), pfme.getErrorResponse(), requestId);
+        }
+    }
+
     /**
      * Retrieves all versions of a particular policy type.
      *
@@ -95,8 +136,8 @@ public class ApiRestController extends CommonRestController implements PolicyDes
         String policyTypeId,
         UUID requestId) {
         try {
-            ToscaServiceTemplate serviceTemplate = toscaServiceTemplateService.fetchPolicyTypes(policyTypeId, null);
-            return makeOkResponse(requestId, serviceTemplate);
+            return makeCachedOkResponse(requestId, policyTypeFilter(policyTypeId, null), null,
+                () -> toscaServiceTemplateService.fetchPolicyTypes(policyTypeId, null));
         } catch (PfModelException | PfModelRuntimeException pfme) {
             var msg = String.format("GET /policytypes/%s", policyTypeId);
             throw new PolicyApiRuntimeException(msg, pfme.getCause(), pfme.getErrorResponse(), requestId);
@@ -116,9 +157,8 @@ public class ApiRestController extends CommonRestController implements PolicyDes
         String versionId,
         UUID requestId) {
         try {
-            ToscaServiceTemplate serviceTemplate =
-                toscaServiceTemplateService.fetchPolicyTypes(policyTypeId, versionId);
-            return makeOkResponse(requestId, serviceTemplate);
+            return makeCachedOkResponse(requestId, policyTypeFilter(policyTypeId, versionId), null,
+                () -> toscaServiceTemplateService.fetchPolicyTypes(policyTypeId, versionId));
         } catch (PfModelException | PfModelRuntimeException pfme) {
             var msg = String.format("GET /policytypes/%s/versions/%s", policyTypeId, versionId);
             throw new PolicyApiRuntimeException(msg, pfme.getCause(), pfme.getErrorResponse(), requestId);
@@ -136,8 +176,9 @@ public class ApiRestController extends CommonRestController implements PolicyDes
         String policyTypeId,
         UUID requestId) {
         try {
-            ToscaServiceTemplate serviceTemplate = toscaServiceTemplateService.fetchLatestPolicyTypes(policyTypeId);
-            return makeOkResponse(requestId, serviceTemplate);
+            return makeCachedOkResponse(requestId,
+                policyTypeFilter(policyTypeId, ToscaEntityFilter.LATEST_VERSION), null,
+                () -> toscaServiceTemplateService.fetchLatestPolicyTypes(policyTypeId));
         } catch (PfModelException | PfModelRuntimeException pfme) {
             var msg = String.format("GET /policytypes/%s/versions/latest", policyTypeId);
             throw new PolicyApiRuntimeException(msg, pfme.getCause(), pfme.getErrorResponse(), requestId);
@@ -158,10 +199,10 @@ public class ApiRestController extends CommonRestController implements PolicyDes
             NetLoggerUtil.log(EventType.IN, CommInfrastructure.REST, "/policytypes", toJson(body));
         }
         try {
-            lock();
-            ToscaServiceTemplate serviceTemplate = toscaServiceTemplateService.createPolicyType(body);
+            ToscaServiceTemplate serviceTemplate =
+                writeCoordinator.execute(() -> toscaServiceTemplateService.createPolicyType(body));
             return makeCreatedResponse(requestId, serviceTemplate);
-        } catch (PfModelRuntimeException pfme) {
+        } catch (PfModelException | PfModelRuntimeException pfme) {
             final var msg = "POST /policytypes";
             throw new PolicyApiRuntimeException(msg, pfme.getCause(), pfme.getErrorResponse(), requestId);
         }
@@ -180,11 +221,10 @@ public class ApiRestController extends CommonRestController implements PolicyDes
         String versionId,
         UUID requestId) {
         try {
-            lock();
             ToscaServiceTemplate serviceTemplate =
-                toscaServiceTemplateService.deletePolicyType(policyTypeId, versionId);
+                writeCoordinator.execute(() -> toscaServiceTemplateService.deletePolicyType(policyTypeId, versionId));
             return makeOkResponse(requestId, serviceTemplate);
-        } catch (PfModelRuntimeException pfme) {
+        } catch (PfModelException | PfModelRuntimeException pfme) {
             var msg = String.format("DELETE /policytypes/%s/versions/%s", policyTypeId, versionId);
             throw new PolicyApiRuntimeException(msg, pfme.getCause(), pfme.getErrorResponse(), requestId);
         }
@@ -204,9 +244,8 @@ public class ApiRestController extends CommonRestController implements PolicyDes
         PolicyFetchMode mode,
         UUID requestId) {
         try {
-            ToscaServiceTemplate serviceTemplate =
-                toscaServiceTemplateService.fetchPolicies(policyTypeId, policyTypeVersion, null, null, mode);
-            return makeOkResponse(requestId, serviceTemplate);
+            return makeCachedOkResponse(requestId, policyFilter(policyTypeId, policyTypeVersion, null, null), mode,
+                () -> toscaServiceTemplateService.fetchPolicies(policyTypeId, policyTypeVersion, null, null, mode));
         } catch (PfModelException | PfModelRuntimeException pfme) {
             var msg = String.format("GET /policytypes/%s/versions/%s/policies", policyTypeId, policyTypeVersion);
             throw new PolicyApiRuntimeException(msg, pfme.getCause(), pfme.getErrorResponse(), requestId);
@@ -229,9 +268,8 @@ public class ApiRestController extends CommonRestController implements PolicyDes
         PolicyFetchMode mode,
         UUID requestId) {
         try {
-            ToscaServiceTemplate serviceTemplate =
-                toscaServiceTemplateService.fetchPolicies(policyTypeId, policyTypeVersion, policyId, null, mode);
-            return makeOkResponse(requestId, serviceTemplate);
+            return makeCachedOkResponse(requestId, policyFilter(policyTypeId, policyTypeVersion, policyId, null), mode,
+                () -> toscaServiceTemplateService.fetchPolicies(policyTypeId, policyTypeVersion, policyId, null, mode));
         } catch (PfModelException | PfModelRuntimeException pfme) {
             var msg = String.format("/policytypes/%s/versions/%s/policies/%s",
                 policyTypeId, policyTypeVersion, policyId);
@@ -257,9 +295,10 @@ public class ApiRestController extends CommonRestController implements PolicyDes
         PolicyFetchMode mode,
         UUID requestId) {
         try {
-            ToscaServiceTemplate serviceTemplate = toscaServiceTemplateService
-                .fetchPolicies(policyTypeId, policyTypeVersion, policyId, policyVersion, mode);
-            return makeOkResponse(requestId, serviceTemplate);
+            return makeCachedOkResponse(requestId,
+                policyFilter(policyTypeId, policyTypeVersion, policyId, policyVersion), mode,
+                () -> toscaServiceTemplateService
+                    .fetchPolicies(policyTypeId, policyTypeVersion, policyId, policyVersion, mode));
         } catch (PfModelException | PfModelRuntimeException pfme) {
             var msg = String.format("GET /policytypes/%s/versions/%s/policies/%s/versions/%s",
                 policyTypeId, policyTypeVersion, policyId, policyVersion);
@@ -283,9 +322,10 @@ public class ApiRestController extends CommonRestController implements PolicyDes
         PolicyFetchMode mode,
         UUID requestId) {
         try {
-            ToscaServiceTemplate serviceTemplate =
-                toscaServiceTemplateService.fetchLatestPolicies(policyTypeId, policyTypeVersion, policyId, mode);
-            return makeOkResponse(requestId, serviceTemplate);
+            return makeCachedOkResponse(requestId,
+                policyFilter(policyTypeId, policyTypeVersion, policyId, ToscaTypedEntityFilter.LATEST_VERSION), mode,
+                () -> toscaServiceTemplateService
+                    .fetchLatestPolicies(policyTypeId, policyTypeVersion, policyId, mode));
         } catch (PfModelException | PfModelRuntimeException pfme) {
             var msg = String.format("GET /policytypes/%s/versions/%s/policies/%s/versions/latest",
                 policyTypeId, policyTypeVersion, policyId);
@@ -312,10 +352,11 @@ public class ApiRestController extends CommonRestController implements PolicyDes
                 "/policytypes/" + policyTypeId + "/versions/" + policyTypeVersion + "/policies", toJson(body));
         }
         try {
-            lock();
-            ToscaServiceTemplate serviceTemplate = toscaServiceTemplateService.createPolicy(body);
+            ToscaServiceTemplate serviceTemplate =
+                writeCoordinator.executeGrouped(CREATE_POLICIES_GROUP,
+                    toscaServiceTemplateService::createPoliciesBatch, body);
             return makeCreatedResponse(requestId, serviceTemplate);
-        } catch (PfModelRuntimeException pfme) {
+        } catch (PfModelException | PfModelRuntimeException pfme) {
             var msg = String.format("POST /policytypes/%s/versions/%s/policies", policyTypeId, policyTypeVersion);
             throw new PolicyApiRuntimeException(msg, pfme.getCause(), pfme.getErrorResponse(), requestId);
         }
@@ -338,11 +379,10 @@ public class ApiRestController extends CommonRestController implements PolicyDes
         String policyVersion,
         UUID requestId) {
         try {
-            lock();
             ToscaServiceTemplate serviceTemplate =
-                toscaServiceTemplateService.deletePolicy(policyId, policyVersion);
+                writeCoordinator.execute(() -> toscaServiceTemplateService.deletePolicy(policyId, policyVersion));
             return makeOkResponse(requestId, serviceTemplate);
-        } catch (PfModelRuntimeException pfme) {
+        } catch (PfModelException | PfModelRuntimeException pfme) {
             var msg = String.format("DELETE /policytypes/%s/versions/%s/policies/%s/versions/%s",
                 policyTypeId, policyTypeVersion, policyId, policyVersion);
             throw new PolicyApiRuntimeException(msg, pfme.getCause(), pfme.getErrorResponse(), requestId);
@@ -357,11 +397,17 @@ public class ApiRestController extends CommonRestController implements PolicyDes
     @Override
     public ResponseEntity<ToscaServiceTemplate> getPolicies(
         PolicyFetchMode mode,
+        Integer limit,
+        String cursor,
         UUID requestId) {
         try {
-            ToscaServiceTemplate serviceTemplate =
-                toscaServiceTemplateService.fetchPolicies(null, null, null, null, mode);
-            return makeOkResponse(requestId, serviceTemplate);
+            if (limit != null || cursor != null) {
+                return makePageResponse(requestId, toscaServiceTemplateService
+                    .fetchPolicyPage(PageCursor.decode(cursor), PageCursor.checkLimit(limit), mode));
+            }
+            // unfiltered lists are streamed as they are encoded, buffering them for the cache would hold them whole
+            return makeTaggedOkResponse(requestId, revisionTag(),
+                () -> toscaServiceTemplateService.fetchPolicies(null, null, null, null, mode));
         } catch (PfModelException | PfModelRuntimeException pfme) {
             final var msg = "GET /policies/ --";
             if (pfme.getErrorResponse().getResponseCode().equals(Status.NOT_FOUND)) {
@@ -372,6 +418,21 @@ public class ApiRestController extends CommonRestController implements PolicyDes
         }
     }
 
+    /**
+     * Retrieves the name, version, type and type version of all policies.
+     *
+     * @return the Response object containing the results of the API operation
+     */
+    @Override
+    public ResponseEntity<List<ToscaEntitySummary>> getPolicySummaries(UUID requestId) {
+        try {
+            return makeTaggedOkResponse(requestId, revisionTag(), toscaServiceTemplateService::fetchPolicySummaries);
+        } catch (PfModelException | PfModelRuntimeException pfme) {
+            final var msg = "GET /policies/summary";
+            throw new PolicyApiRuntimeException(msg, pfme.getCause(), pfme.getErrorResponse(), requestId);
+        }
+    }
+
     /**
      * Retrieves the specified version of a particular policy.
      *
@@ -386,9 +447,8 @@ public class ApiRestController extends CommonRestController implements PolicyDes
         PolicyFetchMode mode,
         UUID requestId) {
         try {
-            ToscaServiceTemplate serviceTemplate =
-                toscaServiceTemplateService.fetchPolicies(null, null, policyId, policyVersion, mode);
-            return makeOkResponse(requestId, serviceTemplate);
+            return makeCachedOkResponse(requestId, policyFilter(null, null, policyId, policyVersion), mode,
+                () -> toscaServiceTemplateService.fetchPolicies(null, null, policyId, policyVersion, mode));
         } catch (PfModelException | PfModelRuntimeException pfme) {
             var msg = String.format("GET /policies/%s/versions/%s", policyId, policyVersion);
             throw new PolicyApiRuntimeException(msg, pfme.getCause(), pfme.getErrorResponse(), requestId);
@@ -409,15 +469,36 @@ public class ApiRestController extends CommonRestController implements PolicyDes
             NetLoggerUtil.log(EventType.IN, CommInfrastructure.REST, "/policies", toJson(body));
         }
         try {
-            lock();
-            ToscaServiceTemplate serviceTemplate = toscaServiceTemplateService.createPolicies(body);
+            ToscaServiceTemplate serviceTemplate =
+                writeCoordinator.executeGrouped(CREATE_POLICIES_GROUP,
+                    toscaServiceTemplateService::createPoliciesBatch, body);
             return makeCreatedResponse(requestId, serviceTemplate);
-        } catch (PfModelRuntimeException pfme) {
+        } catch (PfModelException | PfModelRuntimeException pfme) {
             final var msg = "POST /policies";
             throw new PolicyApiRuntimeException(msg, pfme.getCause(), pfme.getErrorResponse(), requestId);
         }
     }
 
+    /**
+     * Retrieves many policies by name and version in one call.
+     *
+     * @param body the name and version of each policy
+     * @param mode the fetch mode for policies
+     * @return the Response object containing the results of the API operation
+     */
+    @Override
+    public ResponseEntity<ToscaPolicyBatch> batchGetPolicies(
+        List<ToscaConceptIdentifier> body,
+        PolicyFetchMode mode,
+        UUID requestId) {
+        try {
+            return makeOkResponse(requestId, toscaServiceTemplateService.fetchPolicyBatch(body, mode));
+        } catch (PfModelException | PfModelRuntimeException pfme) {
+            final var msg = "POST /policies/batch-get";
+            throw new PolicyApiRuntimeException(msg, pfme.getCause(), pfme.getErrorResponse(), requestId);
+        }
+    }
+
     /**
      * Deletes the specified version of a particular policy.
      *
@@ -431,13 +512,75 @@ public class ApiRestController extends CommonRestController implements PolicyDes
         String policyVersion,
         UUID requestId) {
         try {
-            lock();
             ToscaServiceTemplate serviceTemplate =
-                toscaServiceTemplateService.deletePolicy(policyId, policyVersion);
+                writeCoordinator.execute(() -> toscaServiceTemplateService.deletePolicy(policyId, policyVersion));
             return makeOkResponse(requestId, serviceTemplate);
-        } catch (PfModelRuntimeException pfme) {
+        } catch (PfModelException | PfModelRuntimeException pfme) {
             var msg = String.format("DELETE /policies/%s/versions/%s", policyId, policyVersion);
             throw new PolicyApiRuntimeException(msg, pfme.getCause(), pfme.getErrorResponse(), requestId);
         }
     }
+
+
+    /**
+     * Makes the OK response of a read of policies or policy types, tagged like
+     * {@link #makeTaggedOkResponse(UUID, String, TaggedRead)}. Encoded responses are cached per revision of the
+     * service template, a cached response is written without performing the read. Only filtered reads are cached,
+     * their responses are small enough to be buffered.
+     *
+     * @param requestId the request ID
+     * @param filter the normalized entity filter of the read
+     * @param mode the fetch mode of the read, null for policy types
+     * @param read the read
+     * @return the response, null if it was written from the cache
+     * @throws PfModelException on errors reading
+     */
+    private ResponseEntity<ToscaServiceTemplate> makeCachedOkResponse(UUID requestId, Object filter,
+                                                                      PolicyFetchMode mode,
+                                                                      TaggedRead<ToscaServiceTemplate> read)
+        throws PfModelException {
+        final var revisionTag = revisionTag();
+        final var request = getCurrentRequest();
+        if (revisionTag == null || request == null || !responseCache.isEnabled()) {
+            return makeTaggedOkResponse(requestId, revisionTag, read);
+        }
+        final var mediaType = responseCache.selectMediaType(request.getHeader(HttpHeaders.ACCEPT));
+        if (mediaType.isEmpty()) {
+            return makeTaggedOkResponse(requestId, revisionTag, read);
+        }
+
+        final var entityTag = makeEntityTag(request, revisionTag);
+        if (isNotModified(request, entityTag)) {
+            return makeResponse(requestId, null, HttpStatus.NOT_MODIFIED.value(), entityTag);
+        }
+
+        final var key = new ToscaResponseCache.Key(filter, Objects.requireNonNullElse(mode, PolicyFetchMode.BARE),
+            mediaType.get(), revisionTag);
+        final var cached = responseCache.get(key);
+        final var response = cached.isPresent() ? cached.get() : responseCache.put(key, read.read());
+        return writeEncodedOkResponse(requestId, entityTag, response.getContentType(), response.getBody());
+    }
+
+    private ResponseEntity<ToscaServiceTemplate> makePageResponse(UUID requestId, ToscaServiceTemplatePage page) {
+        final var respBuilder =
+            addLoggingHeaders(addVersionControlHeaders(ResponseEntity.status(HttpStatus.OK)), requestId);
+        if (page.getLastKey() != null) {
+            respBuilder.header(NEXT_CURSOR_NAME, PageCursor.encode(page.getLastKey()));
+        }
+        return respBuilder.body(page.getServiceTemplate());
+    }
+
+    private static ToscaEntityFilter<ToscaPolicyType> policyTypeFilter(String name, String version) {
+        return ToscaEntityFilter.<ToscaPolicyType>builder().name(name).version(version).build();
+    }
+
+    private static ToscaTypedEntityFilter<ToscaPolicy> policyFilter(String policyTypeName, String policyTypeVersion,
+                                                                    String name, String version) {
+        return ToscaTypedEntityFilter.<ToscaPolicy>builder()
+            .name(name).version(version).type(policyTypeName).typeVersion(policyTypeVersion).build();
+    }
+
+    private String revisionTag() {
+        return readModel.getRevisionTag().orElse(null);
+    }
 }
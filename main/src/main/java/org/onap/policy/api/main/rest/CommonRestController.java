@@ -24,20 +24,27 @@
 
 package org.onap.policy.api.main.rest;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.Semaphore;
 import org.onap.policy.api.main.exception.PolicyApiRuntimeException;
 import org.onap.policy.common.utils.coder.Coder;
 import org.onap.policy.common.utils.coder.CoderException;
 import org.onap.policy.common.utils.coder.StandardCoder;
-import org.onap.policy.models.errors.concepts.ErrorResponse;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.base.PfModelRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.context.request.WebRequest;
 
 /**
@@ -45,8 +52,6 @@ import org.springframework.web.context.request.WebRequest;
  */
 public class CommonRestController {
 
-    protected static Semaphore mutex = new Semaphore(1);
-
     private static final Logger LOGGER = LoggerFactory.getLogger(CommonRestController.class);
 
     protected static final String API_VERSION = "1.0.0";
@@ -54,10 +59,28 @@ public class CommonRestController {
     protected static final String VERSION_PATCH_NAME = "X-PatchVersion";
     protected static final String VERSION_LATEST_NAME = "X-LatestVersion";
     public static final String REQUEST_ID_NAME = "X-ONAP-RequestID";
+    public static final String NEXT_CURSOR_NAME = "X-NextCursor";
     protected static final String ERROR_MESSAGE_NO_POLICIES_FOUND = "No policies found";
 
     protected final Coder coder = new StandardCoder();
 
+    /**
+     * A read whose response can carry an entity tag.
+     *
+     * @param <T> the type of the response entity
+     */
+    @FunctionalInterface
+    protected interface TaggedRead<T> {
+
+        /**
+         * Perform the read.
+         *
+         * @return the response entity
+         * @throws PfModelException on errors reading
+         */
+        T read() throws PfModelException;
+    }
+
     protected <T> ResponseEntity<T> makeOkResponse(UUID requestId, T respEntity) {
         return makeResponse(requestId, respEntity, HttpStatus.OK.value());
     }
@@ -67,9 +90,97 @@ public class CommonRestController {
     }
 
     protected <T> ResponseEntity<T> makeResponse(UUID requestId, T respEntity, int status) {
-        return CommonRestController
-            .addLoggingHeaders(addVersionControlHeaders(ResponseEntity.status(status)), requestId)
-            .body(respEntity);
+        return makeResponse(requestId, respEntity, status, null);
+    }
+
+    protected <T> ResponseEntity<T> makeResponse(UUID requestId, T respEntity, int status, String entityTag) {
+        final var respBuilder =
+            CommonRestController.addLoggingHeaders(addVersionControlHeaders(ResponseEntity.status(status)), requestId);
+        if (entityTag != null) {
+            respBuilder.eTag(entityTag);
+        }
+        return status == HttpStatus.NOT_MODIFIED.value() ? respBuilder.build() : respBuilder.body(respEntity);
+    }
+
+    /**
+     * Makes the OK response of a read of the service template, tagged with the revision it is served from and the
+     * request it answers. If the request's If-None-Match header holds that tag, the read is not performed and the
+     * response is 304 Not Modified.
+     *
+     * @param requestId the request ID
+     * @param revisionTag the tag of the service template revision, taken before the read, null if there is none
+     * @param read the read
+     * @return the response
+     * @throws PfModelException on errors reading
+     */
+    protected <T> ResponseEntity<T> makeTaggedOkResponse(UUID requestId, String revisionTag, TaggedRead<T> read)
+        throws PfModelException {
+        final var request = getCurrentRequest();
+        if (revisionTag == null || request == null) {
+            return makeOkResponse(requestId, read.read());
+        }
+
+        final var entityTag = makeEntityTag(request, revisionTag);
+        if (isNotModified(request, entityTag)) {
+            return makeResponse(requestId, null, HttpStatus.NOT_MODIFIED.value(), entityTag);
+        }
+        return makeResponse(requestId, read.read(), HttpStatus.OK.value(), entityTag);
+    }
+
+    /**
+     * Writes an already encoded OK response straight to the servlet response.
+     *
+     * @param requestId the request ID
+     * @param entityTag the entity tag of the response, null if there is none
+     * @param contentType the content type of the encoded response
+     * @param body the encoded response
+     * @return null, as the response is written
+     */
+    protected <T> ResponseEntity<T> writeEncodedOkResponse(UUID requestId, String entityTag, MediaType contentType,
+                                                         byte[] body) {
+        final var response = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getResponse();
+        if (response == null) {
+            throw new PfModelRuntimeException(Response.Status.INTERNAL_SERVER_ERROR, "no response to write to");
+        }
+
+        final var headers = makeResponse(requestId, null, HttpStatus.OK.value(), entityTag).getHeaders();
+        headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(contentType.toString());
+        response.setContentLength(body.length);
+        try {
+            response.getOutputStream().write(body);
+        } catch (IOException exception) {
+            throw new PfModelRuntimeException(Response.Status.INTERNAL_SERVER_ERROR, "response write failed",
+                exception);
+        }
+        return null;
+    }
+
+    protected static HttpServletRequest getCurrentRequest() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest();
+        }
+        return null;
+    }
+
+    // the same revision gives the same entities for the same path, query and representation
+    protected static String makeEntityTag(HttpServletRequest request, String revisionTag) {
+        final var requestKey = request.getRequestURI() + '?' + request.getQueryString() + ' '
+            + request.getHeader(HttpHeaders.ACCEPT);
+        return "W/\"" + revisionTag + "-" + Integer.toHexString(requestKey.hashCode()) + "\"";
+    }
+
+    // If-None-Match uses the weak comparison, which ignores the W/ prefix
+    protected static boolean isNotModified(HttpServletRequest request, String entityTag) {
+        final var ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        final var opaqueTag = entityTag.substring(2);
+        return Arrays.stream(ifNoneMatch.split(",")).map(String::trim)
+            .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+            .anyMatch(tag -> "*".equals(tag) || opaqueTag.equals(tag));
     }
 
     /**
@@ -116,20 +227,6 @@ public class CommonRestController {
         }
     }
 
-    protected void lock() throws PolicyApiRuntimeException {
-        try {
-            mutex.acquire();
-        } catch (InterruptedException exception) {
-            Thread.currentThread().interrupt();
-            final var errorResponse = new ErrorResponse();
-            errorResponse.setResponseCode(Response.Status.INTERNAL_SERVER_ERROR);
-            errorResponse.setErrorMessage(exception.getMessage());
-            throw new PolicyApiRuntimeException(exception.getMessage(), exception.getCause(), errorResponse, null);
-        } finally {
-            mutex.release();
-        }
-    }
-
     @ExceptionHandler(value = {PolicyApiRuntimeException.class})
     protected ResponseEntity<Object> handleException(PolicyApiRuntimeException ex, WebRequest req) {
         LOGGER.warn(ex.getMessage(), ex.getCause());
@@ -28,6 +28,7 @@ import lombok.RequiredArgsConstructor;
 import org.onap.policy.api.main.exception.PolicyApiRuntimeException;
 import org.onap.policy.api.main.rest.genapi.ToscaNodeTemplateDesignApi;
 import org.onap.policy.api.main.service.ToscaServiceTemplateService;
+import org.onap.policy.api.main.service.WriteCoordinator;
 import org.onap.policy.common.endpoints.event.comm.Topic;
 import org.onap.policy.common.endpoints.utils.NetLoggerUtil;
 import org.onap.policy.models.base.PfModelException;
@@ -47,6 +48,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class NodeTemplateController extends CommonRestController implements ToscaNodeTemplateDesignApi {
 
     private final ToscaServiceTemplateService toscaServiceTemplateService;
+    private final WriteCoordinator writeCoordinator;
 
     /**
      * Creates one or more new tosca node templates in one call.
@@ -63,8 +65,8 @@ public class NodeTemplateController extends CommonRestController implements Tosc
                 toJson(body));
         }
         try {
-            lock();
-            ToscaServiceTemplate nodeTemplates = toscaServiceTemplateService.createToscaNodeTemplates(body);
+            ToscaServiceTemplate nodeTemplates =
+                writeCoordinator.execute(() -> toscaServiceTemplateService.createToscaNodeTemplates(body));
             return makeCreatedResponse(requestId, nodeTemplates);
         } catch (PfModelException | PfModelRuntimeException pfme) {
             final var msg = "POST /nodetemplates";
@@ -87,8 +89,8 @@ public class NodeTemplateController extends CommonRestController implements Tosc
                 toJson(body));
         }
         try {
-            lock();
-            ToscaServiceTemplate nodeTemplates = toscaServiceTemplateService.updateToscaNodeTemplates(body);
+            ToscaServiceTemplate nodeTemplates =
+                writeCoordinator.execute(() -> toscaServiceTemplateService.updateToscaNodeTemplates(body));
             return makeOkResponse(requestId, nodeTemplates);
         } catch (PfModelException | PfModelRuntimeException pfme) {
             final var msg = "PUT /nodetemplates";
@@ -106,8 +108,8 @@ public class NodeTemplateController extends CommonRestController implements Tosc
     @Override
     public ResponseEntity<ToscaServiceTemplate> deleteToscaNodeTemplates(String name, String version, UUID requestId) {
         try {
-            lock();
-            ToscaServiceTemplate nodeTemplates = toscaServiceTemplateService.deleteToscaNodeTemplate(name, version);
+            ToscaServiceTemplate nodeTemplates =
+                writeCoordinator.execute(() -> toscaServiceTemplateService.deleteToscaNodeTemplate(name, version));
             return makeOkResponse(requestId, nodeTemplates);
         } catch (PfModelException | PfModelRuntimeException pfme) {
             final var msg = String.format("DELETE /nodetemplates/%s/versions/%s", name, version);
@@ -0,0 +1,98 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.rest;
+
+import jakarta.ws.rs.core.Response;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.base.PfModelRuntimeException;
+
+/**
+ * Cursors of the pages of the policy and policy type lists. A cursor is the opaque form of the key of the last entity
+ * of a page; the next page holds the entities whose keys follow it, so a write between two pages shows in the later
+ * pages instead of shifting them.
+ */
+public final class PageCursor {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private static final char KEY_SEPARATOR = ':';
+
+    private PageCursor() {
+        // only static methods
+    }
+
+    /**
+     * Encode the cursor of the page after an entity.
+     *
+     * @param lastKey the key of the last entity of a page
+     * @return the cursor of the next page
+     */
+    public static String encode(final PfConceptKey lastKey) {
+        final var key = lastKey.getName() + KEY_SEPARATOR + lastKey.getVersion();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor.
+     *
+     * @param cursor the cursor, null for the first page
+     * @return the key of the last entity of the previous page, null for the first page
+     * @throws PfModelRuntimeException if the cursor is invalid
+     */
+    public static PfConceptKey decode(final String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            final var key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final var separator = key.lastIndexOf(KEY_SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("no version in cursor key " + key);
+            }
+            return new PfConceptKey(key.substring(0, separator), key.substring(separator + 1));
+        } catch (IllegalArgumentException exception) {
+            throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, "invalid page cursor " + cursor,
+                exception);
+        }
+    }
+
+    /**
+     * Check the requested size of a page.
+     *
+     * @param limit the requested size, null for the default size
+     * @return the size of the page
+     * @throws PfModelRuntimeException if the size is out of range
+     */
+    public static int checkLimit(final Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new PfModelRuntimeException(Response.Status.BAD_REQUEST,
+                "page limit " + limit + " is not from 1 to " + MAX_LIMIT);
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,133 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.rest;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import org.onap.policy.api.main.config.SqlMetricsConfig;
+import org.onap.policy.api.main.rest.genapi.PolicyDesignApi;
+import org.onap.policy.api.main.rest.genapi.ToscaNodeTemplateDesignApi;
+import org.onap.policy.api.main.service.SqlStatementRecorder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Records the SQL work of each REST operation: the statements prepared, the entities loaded and the time spent
+ * flushing, including the work done while encoding the response and the work done for the
+ * request on the writer thread. Each is published as a histogram tagged with the operationId of the operation, the
+ * name of the method of {@link PolicyDesignApi} or {@link ToscaNodeTemplateDesignApi} that served it; requests served
+ * by anything else are not recorded.
+ *
+ * <p>When the debug header is enabled, the SQL work of each request is also returned in the {@value #SQL_BUDGET_NAME}
+ * header. The response is then buffered until the request is done, so the header is meant for test environments.
+ */
+@Component
+@ConditionalOnProperty(prefix = "policy-api.sql-metrics", name = "enabled", havingValue = "true")
+public class SqlMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_METRIC = "policy.api.sql.statements";
+    public static final String ENTITIES_METRIC = "policy.api.sql.entities";
+    public static final String FLUSH_METRIC = "policy.api.sql.flush";
+    public static final String OPERATION_TAG = "operation";
+
+    public static final String SQL_BUDGET_NAME = "X-SQL-Budget";
+
+    // bounds of the histograms, which keep the number of buckets published for each operation small
+    private static final double MAX_STATEMENTS = 1_000;
+    private static final double MAX_ENTITIES = 100_000;
+    private static final Duration MIN_FLUSH = Duration.ofMillis(1);
+    private static final Duration MAX_FLUSH = Duration.ofSeconds(10);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean debugHeaderEnabled;
+
+    /**
+     * Create the filter.
+     *
+     * @param config the SQL metrics settings
+     * @param meterRegistry the registry of the metrics
+     */
+    public SqlMetricsFilter(@NonNull final SqlMetricsConfig config, @NonNull final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.debugHeaderEnabled = config.isDebugHeaderEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final var counters = new SqlStatementRecorder.Counters();
+        final var bufferedResponse = debugHeaderEnabled ? new ContentCachingResponseWrapper(response) : null;
+        try (var scope = SqlStatementRecorder.bind(counters)) {
+            filterChain.doFilter(request, bufferedResponse == null ? response : bufferedResponse);
+        } finally {
+            getOperation(request).ifPresent(operation -> record(operation, counters));
+            if (bufferedResponse != null) {
+                bufferedResponse.setHeader(SQL_BUDGET_NAME, "statements=" + counters.getStatements()
+                    + ";entities=" + counters.getEntities()
+                    + ";flushMs=" + TimeUnit.NANOSECONDS.toMillis(counters.getFlushNanos()));
+                bufferedResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(final String operation, final SqlStatementRecorder.Counters counters) {
+        summary(STATEMENTS_METRIC, "Number of SQL statements prepared by a REST operation", operation,
+            MAX_STATEMENTS).record(counters.getStatements());
+        summary(ENTITIES_METRIC, "Number of entities loaded by a REST operation", operation, MAX_ENTITIES)
+            .record(counters.getEntities());
+        Timer.builder(FLUSH_METRIC).description("Time a REST operation spent flushing to the database")
+            .tag(OPERATION_TAG, operation).publishPercentileHistogram().minimumExpectedValue(MIN_FLUSH)
+            .maximumExpectedValue(MAX_FLUSH).register(meterRegistry)
+            .record(Duration.ofNanos(counters.getFlushNanos()));
+    }
+
+    private DistributionSummary summary(final String name, final String description, final String operation,
+                                        final double maximum) {
+        return DistributionSummary.builder(name).description(description).tag(OPERATION_TAG, operation)
+            .publishPercentileHistogram().minimumExpectedValue(1.0).maximumExpectedValue(maximum)
+            .register(meterRegistry);
+    }
+
+    private static Optional<String> getOperation(final HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler
+            && (PolicyDesignApi.class.isAssignableFrom(handler.getBeanType())
+                || ToscaNodeTemplateDesignApi.class.isAssignableFrom(handler.getBeanType()))) {
+            // the generated API methods are named after the operationIds
+            return Optional.of(handler.getMethod().getName());
+        }
+        return Optional.empty();
+    }
+}
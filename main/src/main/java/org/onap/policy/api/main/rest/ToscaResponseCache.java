@@ -0,0 +1,204 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.rest;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.gson.Gson;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import jakarta.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.onap.policy.api.main.config.ResponseCacheConfig;
+import org.onap.policy.common.spring.utils.YamlHttpMessageConverter;
+import org.onap.policy.models.base.PfModelRuntimeException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.GsonHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of encoded policy and policy type responses. Converting a service template to its authorative form and
+ * encoding it costs far more than the read itself, so the encoded bytes are kept, keyed by the entity filter, the
+ * fetch mode, the media type and the revision of the service template they were read from. The cache is bounded by
+ * the total size of the encoded responses; the responses of earlier revisions are dropped once a response of a new
+ * revision is cached.
+ *
+ * <p>Responses are encoded with the same converters, and the same {@link Gson} instance, as the ones the MVC layer
+ * uses, so a cached response is byte for byte the response that would otherwise be sent.
+ */
+@Component
+public class ToscaResponseCache {
+
+    public static final String CACHE_NAME = "policy.api.responses";
+
+    private static final MediaType APPLICATION_YAML = MediaType.parseMediaType("application/yaml");
+
+    private final boolean enabled;
+    private final Cache<Key, EncodedResponse> cache;
+    private final HttpMessageConverter<?> jsonConverter;
+    private final HttpMessageConverter<?> yamlConverter;
+
+    // the revision of the cached responses
+    private volatile String revisionTag;
+
+    /**
+     * The key of a cached response.
+     *
+     * @param filter the normalized entity filter of the read
+     * @param mode the fetch mode of the read, null for policy types
+     * @param mediaType the media type of the response
+     * @param revisionTag the tag of the revision of the service template read
+     */
+    public record Key(Object filter, PolicyFetchMode mode, MediaType mediaType, String revisionTag) {
+    }
+
+    /**
+     * An encoded response.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class EncodedResponse {
+        private final MediaType contentType;
+        private final byte[] body;
+    }
+
+    /**
+     * Create the cache and register its metrics.
+     *
+     * @param config the cache settings
+     * @param gson the Gson instance of the JSON message converter
+     * @param meterRegistry the registry of the metrics
+     */
+    public ToscaResponseCache(@NonNull final ResponseCacheConfig config, @NonNull final Gson gson,
+                              @NonNull final MeterRegistry meterRegistry) {
+        enabled = config.isEnabled();
+        cache = CacheBuilder.newBuilder().maximumWeight(config.getMaxSize().toBytes())
+            .weigher((Key key, EncodedResponse response) -> response.getBody().length)
+            .recordStats().build();
+        GuavaCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        jsonConverter = new GsonHttpMessageConverter(gson);
+        final var yamlMessageConverter = new YamlHttpMessageConverter();
+        yamlMessageConverter.setSupportedMediaTypes(List.of(APPLICATION_YAML));
+        yamlConverter = yamlMessageConverter;
+    }
+
+    /**
+     * Check if responses are cached.
+     *
+     * @return true if the cache is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Select the media type of a response the way content negotiation would, from the media types the API
+     * produces.
+     *
+     * @param accept the Accept header of the request, null if there is none
+     * @return the media type, or empty if none of the media types produced is acceptable
+     */
+    public Optional<MediaType> selectMediaType(final String accept) {
+        if (accept == null || accept.isBlank()) {
+            return Optional.of(MediaType.APPLICATION_JSON);
+        }
+
+        final List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException exception) {
+            return Optional.empty();
+        }
+        return acceptedTypes.stream().filter(acceptedType -> acceptedType.getQualityValue() > 0)
+            .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+            .flatMap(acceptedType -> List.of(MediaType.APPLICATION_JSON, APPLICATION_YAML).stream()
+                .filter(acceptedType::includes))
+            .findFirst();
+    }
+
+    /**
+     * Get a cached response.
+     *
+     * @param key the key of the response
+     * @return the response, or empty if it is not cached
+     */
+    public Optional<EncodedResponse> get(@NonNull final Key key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    /**
+     * Encode a response and cache it.
+     *
+     * @param key the key of the response
+     * @param serviceTemplate the service template to encode
+     * @return the encoded response
+     */
+    public EncodedResponse put(@NonNull final Key key, final ToscaServiceTemplate serviceTemplate) {
+        final var response = encode(serviceTemplate, key.mediaType());
+        if (!key.revisionTag().equals(revisionTag)) {
+            // responses of other revisions will not be asked for again
+            revisionTag = key.revisionTag();
+            cache.asMap().keySet().removeIf(cachedKey -> !cachedKey.revisionTag().equals(key.revisionTag()));
+        }
+        cache.put(key, response);
+        return response;
+    }
+
+    private EncodedResponse encode(final ToscaServiceTemplate serviceTemplate, final MediaType mediaType) {
+        @SuppressWarnings("unchecked")
+        final var converter = (HttpMessageConverter<Object>) (APPLICATION_YAML.includes(mediaType) ? yamlConverter
+            : jsonConverter);
+        final var body = new ByteArrayOutputStream();
+        final var headers = new HttpHeaders();
+        try {
+            converter.write(serviceTemplate, mediaType, new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return body;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+            });
+        } catch (IOException exception) {
+            throw new PfModelRuntimeException(Response.Status.INTERNAL_SERVER_ERROR, "response encoding failed",
+                exception);
+        }
+        return new EncodedResponse(headers.getContentType(), body.toByteArray());
+    }
+}
@@ -0,0 +1,47 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.rest.provider.healthcheck;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Contributes the readiness check of the API to the actuator health, so that it is part of the readiness probe at
+ * {@code /health/readiness}. The liveness probe at {@code /health/liveness} checks the process only.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApiDatabaseHealthIndicator implements HealthIndicator {
+
+    private final HealthCheckProvider healthCheckProvider;
+
+    @Override
+    public Health health() {
+        final var health = healthCheckProvider.isDatabaseReachable() ? Health.up() : Health.outOfService();
+        healthCheckProvider.getReadModelAge().ifPresentOrElse(
+            age -> health.withDetail("readModelAgeMillis", age.toMillis()),
+            () -> health.withDetail("readModelAgeMillis", "none"));
+        return health.build();
+    }
+}
@@ -25,20 +25,30 @@
 
 package org.onap.policy.api.main.rest.provider.healthcheck;
 
-import lombok.RequiredArgsConstructor;
-import org.onap.policy.api.main.service.ToscaServiceTemplateService;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.onap.policy.api.main.config.HealthCheckConfig;
+import org.onap.policy.api.main.service.ToscaServiceTemplateReadModel;
 import org.onap.policy.common.endpoints.report.HealthCheckReport;
 import org.onap.policy.common.utils.network.NetworkUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.stereotype.Service;
 
 /**
  * Class to fetch health check of api service.
  *
+ * <p>The health check is a readiness check: the API is ready when a pooled connection to the policy database is
+ * valid. The check does not read the policies, so it costs no more than a connection validation, and its result is
+ * reused for a short interval; concurrent probes arriving when the result has expired wait for a single validation
+ * rather than each running their own. The freshness of the read model is reported along with the result, it does not
+ * fail the check since reads fall back to the database when there is no up to date snapshot.
  */
 @Service
-@RequiredArgsConstructor
 public class HealthCheckProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(HealthCheckProvider.class);
@@ -47,7 +57,35 @@ public class HealthCheckProvider {
     private static final String NAME = "Policy API";
     private static final String DB_CONN_FAILURE = "unable to connect with database";
 
-    private final ToscaServiceTemplateService toscaServiceTemplateService;
+    private final DataSource dataSource;
+    private final ToscaServiceTemplateReadModel readModel;
+    private final long cacheIntervalNanos;
+    private final int validationTimeoutSeconds;
+
+    // the result of the last database check, replaced under the lock
+    private final Object checkLock = new Object();
+    private volatile DatabaseCheck lastCheck;
+
+    // the age of the read model is taken along with the database check, and reused with it
+    private record DatabaseCheck(boolean healthy, Duration readModelAge, long checkedNanos) {
+    }
+
+    /**
+     * Create the provider.
+     *
+     * @param dataSource the data source of the policy database
+     * @param readModel the read model of the service template
+     * @param config the health check settings
+     */
+    public HealthCheckProvider(final DataSource dataSource, final ToscaServiceTemplateReadModel readModel,
+                               final HealthCheckConfig config) {
+        // a lazy proxy hands out connections that are only opened when used, validate the pooled ones instead
+        this.dataSource = dataSource instanceof LazyConnectionDataSourceProxy lazyDataSource
+            ? Objects.requireNonNullElse(lazyDataSource.getTargetDataSource(), dataSource) : dataSource;
+        this.readModel = readModel;
+        this.cacheIntervalNanos = Math.max(0, config.getCacheInterval().toNanos());
+        this.validationTimeoutSeconds = (int) Math.max(1, config.getValidationTimeout().toSeconds());
+    }
 
     /**
      * Performs the health check of api service.
@@ -56,7 +94,7 @@ public class HealthCheckProvider {
      */
     public HealthCheckReport performHealthCheck() {
         final var report = new HealthCheckReport();
-        final var dbConnectionStatus = verifyApiDatabase();
+        final var dbConnectionStatus = isDatabaseReachable();
         report.setName(NAME);
         report.setUrl(URL);
         report.setHealthy(dbConnectionStatus);
@@ -65,16 +103,58 @@ public class HealthCheckProvider {
         return report;
     }
 
+    /**
+     * Checks that the policy database is reachable, reusing the result of a recent check.
+     *
+     * @return boolean signaling the check result
+     */
+    public boolean isDatabaseReachable() {
+        return getCheck().healthy();
+    }
+
+    /**
+     * Gets the age of the snapshot the reads are served from, as of the last check.
+     *
+     * @return the age, or empty if reads go to the database
+     */
+    public Optional<Duration> getReadModelAge() {
+        return Optional.ofNullable(getCheck().readModelAge());
+    }
+
+    private DatabaseCheck getCheck() {
+        var check = lastCheck;
+        if (isCurrent(check)) {
+            return check;
+        }
+        synchronized (checkLock) {
+            // another probe may have checked while this one waited
+            check = lastCheck;
+            if (!isCurrent(check)) {
+                check = new DatabaseCheck(verifyApiDatabase(), readModel.getSnapshotAge().orElse(null),
+                    System.nanoTime());
+                lastCheck = check;
+            }
+            return check;
+        }
+    }
+
+    private boolean isCurrent(final DatabaseCheck check) {
+        return check != null && System.nanoTime() - check.checkedNanos() < cacheIntervalNanos;
+    }
+
     /**
      * Verifies the connectivity between api component & policy database.
      *
      * @return boolean signaling the verification result
      */
     private boolean verifyApiDatabase() {
-        try {
-            toscaServiceTemplateService.getDefaultJpaToscaServiceTemplate();
-            return true;
-        } catch (Exception ex) {
+        try (var connection = dataSource.getConnection()) {
+            if (connection.isValid(validationTimeoutSeconds)) {
+                return true;
+            }
+            LOGGER.warn("Api to database connection check failed, connection not valid");
+            return false;
+        } catch (SQLException | RuntimeException ex) {
             LOGGER.warn("Api to database connection check failed. Details: ", ex);
             return false;
         }
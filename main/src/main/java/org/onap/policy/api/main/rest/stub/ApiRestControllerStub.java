@@ -22,12 +22,16 @@
 package org.onap.policy.api.main.rest.stub;
 
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.onap.policy.api.main.rest.CommonRestController;
 import org.onap.policy.api.main.rest.PolicyFetchMode;
+import org.onap.policy.api.main.rest.ToscaEntitySummary;
+import org.onap.policy.api.main.rest.ToscaPolicyBatch;
 import org.onap.policy.api.main.rest.genapi.PolicyDesignApi;
 import org.onap.policy.common.endpoints.report.HealthCheckReport;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
@@ -98,6 +102,8 @@ public class ApiRestControllerStub extends CommonRestController implements Polic
 
     @Override
     public ResponseEntity<ToscaServiceTemplate> getAllPolicyTypes(
+        Integer limit,
+        String cursor,
         UUID requestID) {
         return stubUtils.getOkStubbedResponse(ToscaServiceTemplate.class);
     }
@@ -142,10 +148,26 @@ public class ApiRestControllerStub extends CommonRestController implements Polic
 
     @Override
     public ResponseEntity<ToscaServiceTemplate> getPolicies(
-        @Valid PolicyFetchMode mode, UUID requestID) {
+        @Valid PolicyFetchMode mode, Integer limit, String cursor, UUID requestID) {
         return stubUtils.getOkStubbedResponse(ToscaServiceTemplate.class);
     }
 
+    @Override
+    public ResponseEntity<ToscaPolicyBatch> batchGetPolicies(
+        List<ToscaConceptIdentifier> body, @Valid PolicyFetchMode mode, UUID requestID) {
+        return stubUtils.getOkStubbedResponse(ToscaPolicyBatch.class);
+    }
+
+    @Override
+    public ResponseEntity<List<ToscaEntitySummary>> getPolicySummaries(UUID requestID) {
+        return stubUtils.getStubbedResponseList(ToscaEntitySummary.class);
+    }
+
+    @Override
+    public ResponseEntity<List<ToscaEntitySummary>> getPolicyTypeSummaries(UUID requestID) {
+        return stubUtils.getStubbedResponseList(ToscaEntitySummary.class);
+    }
+
     @Override
     public ResponseEntity<ToscaServiceTemplate> getSpecificPolicy(
         String policyId,
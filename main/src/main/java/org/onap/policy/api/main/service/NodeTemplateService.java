@@ -49,6 +49,7 @@ public class NodeTemplateService {
 
     private final NodeTemplateRepository nodeTemplateRepository;
     private final NodeTypeRepository nodeTypeRepository;
+    private final ToscaEntityCache toscaEntityCache;
 
     /**
      * Delete the specified node template.
@@ -57,6 +58,7 @@ public class NodeTemplateService {
      */
     public void deleteNodeTemplate(final PfConceptKey nodeTemplateKey) {
         nodeTemplateRepository.deleteById(nodeTemplateKey);
+        toscaEntityCache.evictAfterCommit();
     }
 
 
@@ -75,6 +77,7 @@ public class NodeTemplateService {
             Optional<JpaToscaNodeTemplate> dbNodeTemplate = nodeTemplateRepository.findById(nodeTemplate.getKey());
             if (dbNodeTemplate.isPresent()) {
                 nodeTemplateRepository.save(nodeTemplate);
+                toscaEntityCache.evictAfterCommit();
             } else {
                 throw new PfModelRuntimeException(Response.Status.NOT_ACCEPTABLE, "node template "
                     + nodeTemplate.getName() + " version " + nodeTemplate.getVersion() + " does not exist in database");
@@ -20,9 +20,11 @@
 
 package org.onap.policy.api.main.service;
 
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.onap.policy.api.main.repository.PolicyRepository;
 import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +34,18 @@ import org.springframework.transaction.annotation.Transactional;
 public class PolicyService {
 
     private final PolicyRepository policyRepository;
+    private final ToscaEntityCache toscaEntityCache;
+
+    /**
+     * Find a policy of the specified policyType.
+     *
+     * @param policyTypeKey the policy type key containing name and version
+     * @return the key of the first policy of the policy type in key order, if any
+     */
+    public Optional<PfConceptKey> findPolicyOfType(final PfConceptKey policyTypeKey) {
+        return policyRepository.findFirstByTypeNameAndTypeVersionOrderByKeyNameAscKeyVersionAsc(
+            policyTypeKey.getName(), policyTypeKey.getVersion()).map(JpaToscaPolicy::getKey);
+    }
 
     /**
      * Delete the specified policy.
@@ -40,5 +54,6 @@ public class PolicyService {
      */
     public void deletePolicy(final PfConceptKey policyKey) {
         policyRepository.deleteById(policyKey);
+        toscaEntityCache.evictAfterCommit();
     }
 }
\ No newline at end of file
@@ -20,9 +20,11 @@
 
 package org.onap.policy.api.main.service;
 
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.onap.policy.api.main.repository.PolicyTypeRepository;
 import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +34,18 @@ import org.springframework.transaction.annotation.Transactional;
 public class PolicyTypeService {
 
     private final PolicyTypeRepository policyTypeRepository;
+    private final ToscaEntityCache toscaEntityCache;
+
+    /**
+     * Find a policy type that is derived from the specified policyType.
+     *
+     * @param policyTypeKey the policy type key containing name and version
+     * @return the key of the first derived policy type in key order, if any
+     */
+    public Optional<PfConceptKey> findDerivedPolicyType(final PfConceptKey policyTypeKey) {
+        return policyTypeRepository.findFirstByDerivedFromNameAndDerivedFromVersionOrderByKeyNameAscKeyVersionAsc(
+            policyTypeKey.getName(), policyTypeKey.getVersion()).map(JpaToscaPolicyType::getKey);
+    }
 
     /**
      * Delete the specified policyType.
@@ -40,5 +54,6 @@ public class PolicyTypeService {
      */
     public void deletePolicyType(final PfConceptKey policyTypeKey) {
         policyTypeRepository.deleteById(policyTypeKey);
+        toscaEntityCache.evictAfterCommit();
     }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+
+/**
+ * Records the SQL work of the REST requests: the statements prepared, the entities loaded and the time spent
+ * flushing. The counters of a request are bound to the thread serving it; work done on
+ * its behalf on another thread, such as the writer thread of the {@link WriteCoordinator}, is recorded by binding the
+ * counters of the request to that thread while the work runs. Work done while no counters are bound is not recorded.
+ */
+public final class SqlStatementRecorder {
+
+    private static final ThreadLocal<List<Counters>> BOUND_COUNTERS = ThreadLocal.withInitial(List::of);
+
+    /**
+     * The SQL work recorded for a request. Counters may be updated from several threads.
+     */
+    public static final class Counters {
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder entities = new LongAdder();
+        private final LongAdder flushNanos = new LongAdder();
+
+        public long getStatements() {
+            return statements.sum();
+        }
+
+        public long getEntities() {
+            return entities.sum();
+        }
+
+        public long getFlushNanos() {
+            return flushNanos.sum();
+        }
+    }
+
+    /**
+     * The binding of counters to a thread, which restores the counters bound before when closed.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final List<Counters> previous;
+
+        private Scope(final List<Counters> previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous.isEmpty()) {
+                BOUND_COUNTERS.remove();
+            } else {
+                BOUND_COUNTERS.set(previous);
+            }
+        }
+    }
+
+    private SqlStatementRecorder() {
+        // static methods only
+    }
+
+    /**
+     * Bind new counters to the current thread, in addition to the counters already bound to it.
+     *
+     * @param counters the counters to bind
+     * @return the scope of the binding, to close when the work to record is done
+     */
+    public static Scope bind(@NonNull final Counters counters) {
+        return bind(List.of(counters));
+    }
+
+    /**
+     * Bind counters to the current thread, in addition to the counters already bound to it.
+     *
+     * @param counters the counters to bind
+     * @return the scope of the binding, to close when the work to record is done
+     */
+    public static Scope bind(@NonNull final Collection<Counters> counters) {
+        final var previous = BOUND_COUNTERS.get();
+        if (!counters.isEmpty()) {
+            final var bound = new ArrayList<Counters>(previous.size() + counters.size());
+            bound.addAll(previous);
+            counters.stream().filter(added -> !bound.contains(added)).forEach(bound::add);
+            BOUND_COUNTERS.set(List.copyOf(bound));
+        }
+        return new Scope(previous);
+    }
+
+    /**
+     * Get the counters bound to the current thread, to bind them to another thread doing work on its behalf.
+     *
+     * @return the counters, empty if none are bound
+     */
+    public static List<Counters> current() {
+        return BOUND_COUNTERS.get();
+    }
+
+    /**
+     * Record a statement being prepared.
+     */
+    public static void statementPrepared() {
+        BOUND_COUNTERS.get().forEach(counters -> counters.statements.increment());
+    }
+
+    /**
+     * Record an entity being loaded.
+     */
+    public static void entityLoaded() {
+        BOUND_COUNTERS.get().forEach(counters -> counters.entities.increment());
+    }
+
+    /**
+     * Record a flush.
+     *
+     * @param nanos the time the flush took
+     */
+    public static void flushed(final long nanos) {
+        BOUND_COUNTERS.get().forEach(counters -> counters.flushNanos.add(nanos));
+    }
+}
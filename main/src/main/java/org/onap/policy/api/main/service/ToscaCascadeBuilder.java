@@ -0,0 +1,258 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import lombok.NonNull;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaDataType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaDataTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicies;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaTopologyTemplate;
+
+/**
+ * Builds the cascaded service template of a set of policies or policy types in a single pass: the union of the
+ * policy types and data types they need is collected first and the result is assembled once, rather than cascading
+ * each entity separately and merging the fragments. The result holds the same entities as merging the cascade of
+ * each entity with {@code SimpleToscaProvider} and {@code ToscaServiceTemplateUtils.addFragment}.
+ *
+ * <p>Entities that cannot be found are skipped; use {@link #isComplete()} to detect dangling references.
+ */
+public class ToscaCascadeBuilder {
+
+    private static final String ROOT_TYPE_SUFFIX = ".Root";
+
+    private final JpaToscaServiceTemplate source;
+    private final ToscaTypeHierarchy typeHierarchy;
+
+    private final SortedSet<PfConceptKey> policyKeys = new TreeSet<>();
+    private final Set<PfConceptKey> policyTypeKeys = new HashSet<>();
+    private final Set<PfConceptKey> dataTypeKeys = new HashSet<>();
+
+    /**
+     * Create a builder over a service template, indexing its type hierarchy.
+     *
+     * @param source the service template to take the entities from, not modified
+     */
+    public ToscaCascadeBuilder(@NonNull final JpaToscaServiceTemplate source) {
+        this(source, new ToscaTypeHierarchy(source));
+    }
+
+    /**
+     * Create a builder over a service template whose type hierarchy is already indexed.
+     *
+     * @param source the service template to take the entities from, not modified
+     * @param typeHierarchy the type hierarchy index of the service template
+     */
+    public ToscaCascadeBuilder(@NonNull final JpaToscaServiceTemplate source,
+                               @NonNull final ToscaTypeHierarchy typeHierarchy) {
+        this.source = source;
+        this.typeHierarchy = typeHierarchy;
+    }
+
+    /**
+     * Add a policy, and so its policy type, to the cascade.
+     *
+     * @param policyKey the key of the policy
+     * @return this builder
+     */
+    public ToscaCascadeBuilder addPolicy(@NonNull final PfConceptKey policyKey) {
+        final var policy = getPolicies() == null ? null : getPolicies().get(policyKey);
+        if (policy != null) {
+            policyKeys.add(policyKey);
+            policyTypeKeys.add(policy.getType());
+        }
+        return this;
+    }
+
+    /**
+     * Add policies to the cascade.
+     *
+     * @param keys the keys of the policies
+     * @return this builder
+     */
+    public ToscaCascadeBuilder addPolicies(@NonNull final Collection<PfConceptKey> keys) {
+        keys.forEach(this::addPolicy);
+        return this;
+    }
+
+    /**
+     * Add a policy type to the cascade.
+     *
+     * @param policyTypeKey the key of the policy type
+     * @return this builder
+     */
+    public ToscaCascadeBuilder addPolicyType(@NonNull final PfConceptKey policyTypeKey) {
+        policyTypeKeys.add(policyTypeKey);
+        return this;
+    }
+
+    /**
+     * Add policy types to the cascade.
+     *
+     * @param keys the keys of the policy types
+     * @return this builder
+     */
+    public ToscaCascadeBuilder addPolicyTypes(@NonNull final Collection<PfConceptKey> keys) {
+        policyTypeKeys.addAll(keys);
+        return this;
+    }
+
+    /**
+     * Add data types to the cascade.
+     *
+     * @param keys the keys of the data types
+     * @return this builder
+     */
+    public ToscaCascadeBuilder addDataTypes(@NonNull final Collection<PfConceptKey> keys) {
+        dataTypeKeys.addAll(keys);
+        return this;
+    }
+
+    /**
+     * Check that everything the cascade needs is in the service template: the policy types and data types added or
+     * referenced by the added policies, the types they derive from and the data types they reference.
+     *
+     * @return true if there are no dangling references
+     */
+    public boolean isComplete() {
+        if (!policyTypeKeys.stream().allMatch(typeHierarchy::containsPolicyType)
+            || !dataTypeKeys.stream().allMatch(typeHierarchy::containsDataType)) {
+            return false;
+        }
+
+        final var policyTypeClosure = typeHierarchy.getPolicyTypeClosure(policyTypeKeys);
+        final var dataTypeClosure = typeHierarchy.getDataTypeClosure(policyTypeClosure, dataTypeKeys);
+        for (final var policyTypeKey : policyTypeClosure) {
+            final var policyType = source.getPolicyTypes().get(policyTypeKey);
+            if (!isResolved(policyType.getDerivedFrom(), policyTypeClosure)
+                || !dataTypeClosure.containsAll(policyType.getReferencedDataTypes())) {
+                return false;
+            }
+        }
+        for (final var dataTypeKey : dataTypeClosure) {
+            final var dataType = source.getDataTypes().get(dataTypeKey);
+            if (!isResolved(dataType.getDerivedFrom(), dataTypeClosure)
+                || !dataTypeClosure.containsAll(dataType.getReferencedDataTypes())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Build the cascaded service template, holding copies of the added policies, their policy types and the added
+     * policy types, the ancestors of those, the added data types and the data types they all reference.
+     *
+     * @return the cascaded service template
+     */
+    public JpaToscaServiceTemplate build() {
+        final var serviceTemplate = new JpaToscaServiceTemplate();
+
+        final var policyTypeClosure = typeHierarchy.getPolicyTypeClosure(policyTypeKeys);
+        if (!policyTypeClosure.isEmpty()) {
+            serviceTemplate.setPolicyTypes(new JpaToscaPolicyTypes());
+            for (final var policyTypeKey : policyTypeClosure) {
+                serviceTemplate.getPolicyTypes().getConceptMap().put(policyTypeKey,
+                    new JpaToscaPolicyType(source.getPolicyTypes().get(policyTypeKey)));
+            }
+        }
+
+        final var dataTypeClosure = typeHierarchy.getDataTypeClosure(policyTypeClosure, dataTypeKeys);
+        if (!dataTypeClosure.isEmpty()) {
+            serviceTemplate.setDataTypes(new JpaToscaDataTypes());
+            for (final var dataTypeKey : dataTypeClosure) {
+                serviceTemplate.getDataTypes().getConceptMap().put(dataTypeKey,
+                    new JpaToscaDataType(source.getDataTypes().get(dataTypeKey)));
+            }
+        }
+
+        if (!policyKeys.isEmpty()) {
+            serviceTemplate.setTopologyTemplate(new JpaToscaTopologyTemplate());
+            serviceTemplate.getTopologyTemplate().setPolicies(new JpaToscaPolicies());
+            for (final var policyKey : policyKeys) {
+                serviceTemplate.getTopologyTemplate().getPolicies().getConceptMap().put(policyKey,
+                    new JpaToscaPolicy(getPolicies().get(policyKey)));
+            }
+        }
+        return serviceTemplate;
+    }
+
+    /**
+     * Build the authorative form of the cascaded service template as a view over the service template: the policies
+     * and types in the cascade are converted one at a time as the result is read, rather than all being copied and
+     * converted up front. Encoded with Gson, the view gives the same output as the authorative form of
+     * {@link #build()}.
+     *
+     * @return the view of the cascaded service template, valid as long as the service template is not modified
+     */
+    public ToscaServiceTemplate buildView() {
+        final SortedSet<PfConceptKey> policyTypeClosure =
+            new TreeSet<>(typeHierarchy.getPolicyTypeClosure(policyTypeKeys));
+        final SortedSet<PfConceptKey> dataTypeClosure =
+            new TreeSet<>(typeHierarchy.getDataTypeClosure(policyTypeClosure, dataTypeKeys));
+
+        // the shell holds everything but the entities, the views are put in the place of its empty containers
+        final var shell = new JpaToscaServiceTemplate();
+        if (!policyTypeClosure.isEmpty()) {
+            shell.setPolicyTypes(new JpaToscaPolicyTypes());
+        }
+        if (!dataTypeClosure.isEmpty()) {
+            shell.setDataTypes(new JpaToscaDataTypes());
+        }
+        if (!policyKeys.isEmpty()) {
+            shell.setTopologyTemplate(new JpaToscaTopologyTemplate());
+            shell.getTopologyTemplate().setPolicies(new JpaToscaPolicies());
+        }
+
+        final var serviceTemplate = shell.toAuthorative();
+        if (!policyTypeClosure.isEmpty()) {
+            serviceTemplate.setPolicyTypes(ToscaEntityViews.mapOf(policyTypeClosure,
+                key -> source.getPolicyTypes().get(key).toAuthorative()));
+        }
+        if (!dataTypeClosure.isEmpty()) {
+            serviceTemplate.setDataTypes(ToscaEntityViews.mapOf(dataTypeClosure,
+                key -> source.getDataTypes().get(key).toAuthorative()));
+        }
+        if (!policyKeys.isEmpty()) {
+            serviceTemplate.getToscaTopologyTemplate().setPolicies(ToscaEntityViews.listOf(policyKeys,
+                key -> getPolicies().get(key).toAuthorative()));
+        }
+        return serviceTemplate;
+    }
+
+    private JpaToscaPolicies getPolicies() {
+        return source.getTopologyTemplate() == null ? null : source.getTopologyTemplate().getPolicies();
+    }
+
+    private static boolean isResolved(final PfConceptKey parentKey, final Set<PfConceptKey> closure) {
+        return parentKey == null || closure.contains(parentKey) || parentKey.getName().endsWith(ROOT_TYPE_SUFFIX);
+    }
+}
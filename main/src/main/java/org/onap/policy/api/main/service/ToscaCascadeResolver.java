@@ -0,0 +1,303 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.service;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.function.Function;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.onap.policy.api.main.repository.DataTypeRepository;
+import org.onap.policy.api.main.repository.PolicyRepository;
+import org.onap.policy.api.main.repository.PolicyTypeRepository;
+import org.onap.policy.models.base.PfConcept;
+import org.onap.policy.models.base.PfConceptContainer;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.base.PfKey;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaEntityFilter;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaDataType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaDataTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicies;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaTopologyTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Resolves policies or policy types together with the closure of the policy types and data types they reference,
+ * without reading the whole service template. The result is a service template holding only that closure, on which
+ * the usual cascade and filter logic gives the same answer as on the full service template. Snapshots are resolved
+ * through their type hierarchy index, so the cost follows the size of the closure.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ToscaCascadeResolver {
+
+    private final PolicyRepository policyRepository;
+    private final PolicyTypeRepository policyTypeRepository;
+    private final DataTypeRepository dataTypeRepository;
+
+    /**
+     * Resolve policies and their referenced types from the database.
+     *
+     * @param name the name of the policies
+     * @param version the version of the policies, null or latest for all versions
+     * @return the service template holding the closure, empty if no policy or policy type was found
+     */
+    public Optional<JpaToscaServiceTemplate> resolvePolicies(@NonNull final String name, final String version) {
+        final var policies = policyRepository.findByKeyName(name).stream()
+            .filter(policy -> versionMatches(policy.getKey(), version)).toList();
+        return buildPolicyClosure(policies, key -> policyTypeRepository.findById(key).orElse(null),
+            key -> dataTypeRepository.findById(key).orElse(null));
+    }
+
+    /**
+     * Resolve policies and their referenced types from a read model snapshot, using its type hierarchy index.
+     *
+     * @param source the snapshot to resolve from, not modified
+     * @param name the name of the policies
+     * @param version the version of the policies, null or latest for all versions
+     * @return the service template holding the closure, empty if no policy or policy type was found
+     */
+    public Optional<JpaToscaServiceTemplate> resolvePolicies(@NonNull final ToscaServiceTemplateSnapshot source,
+                                                             @NonNull final String name, final String version) {
+        final var serviceTemplate = source.getServiceTemplate();
+        final var policies = findInContainer(
+            serviceTemplate.getTopologyTemplate() == null ? null : serviceTemplate.getTopologyTemplate().getPolicies(),
+            name, version);
+        return buildIndexedPolicyClosure(source, policies);
+    }
+
+    /**
+     * Resolve the policies of a policy type and their referenced types from the database.
+     *
+     * @param typeName the name of the policy type
+     * @param typeVersion the version of the policy type, null for all versions
+     * @return the service template holding the closure, empty if no policy or policy type was found
+     */
+    public Optional<JpaToscaServiceTemplate> resolvePoliciesByType(@NonNull final String typeName,
+                                                                   final String typeVersion) {
+        final var policies = policyRepository.findByTypeName(typeName).stream()
+            .filter(policy -> versionMatches(policy.getType(), typeVersion)).toList();
+        return buildPolicyClosure(policies, key -> policyTypeRepository.findById(key).orElse(null),
+            key -> dataTypeRepository.findById(key).orElse(null));
+    }
+
+    /**
+     * Resolve the policies of a policy type and their referenced types from a read model snapshot, using its policy
+     * reference index.
+     *
+     * @param source the snapshot to resolve from, not modified
+     * @param typeName the name of the policy type
+     * @param typeVersion the version of the policy type, null for all versions
+     * @return the service template holding the closure, empty if no policy or policy type was found
+     */
+    public Optional<JpaToscaServiceTemplate> resolvePoliciesByType(@NonNull final ToscaServiceTemplateSnapshot source,
+                                                                   @NonNull final String typeName,
+                                                                   final String typeVersion) {
+        final var policyKeys = source.getPolicyReferences().getPolicies(typeName);
+        if (policyKeys.isEmpty()) {
+            return Optional.empty();
+        }
+        final var policies = source.getServiceTemplate().getTopologyTemplate().getPolicies();
+        return buildIndexedPolicyClosure(source, policyKeys.stream().map(policies::get)
+            .filter(policy -> versionMatches(policy.getType(), typeVersion)).toList());
+    }
+
+    /**
+     * Resolve policy types and their ancestors and data types from the database.
+     *
+     * @param name the name of the policy types
+     * @param version the version of the policy types, null or latest for all versions
+     * @return the service template holding the closure, empty if no policy type was found
+     */
+    public Optional<JpaToscaServiceTemplate> resolvePolicyTypes(@NonNull final String name, final String version) {
+        final var policyTypes = policyTypeRepository.findByKeyName(name).stream()
+            .filter(policyType -> versionMatches(policyType.getKey(), version)).toList();
+        return buildPolicyTypeClosure(policyTypes, key -> policyTypeRepository.findById(key).orElse(null),
+            key -> dataTypeRepository.findById(key).orElse(null));
+    }
+
+    /**
+     * Resolve policy types and their ancestors and data types from a read model snapshot, using its type hierarchy
+     * index.
+     *
+     * @param source the snapshot to resolve from, not modified
+     * @param name the name of the policy types
+     * @param version the version of the policy types, null or latest for all versions
+     * @return the service template holding the closure, empty if no policy type was found
+     */
+    public Optional<JpaToscaServiceTemplate> resolvePolicyTypes(@NonNull final ToscaServiceTemplateSnapshot source,
+                                                                @NonNull final String name, final String version) {
+        final var policyTypes = findInContainer(source.getServiceTemplate().getPolicyTypes(), name, version);
+        if (policyTypes.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(buildIndexedPolicyTypeClosure(source,
+            policyTypes.stream().map(JpaToscaPolicyType::getKey).toList()));
+    }
+
+    private Optional<JpaToscaServiceTemplate> buildPolicyClosure(final List<JpaToscaPolicy> policies,
+            final Function<PfConceptKey, JpaToscaPolicyType> policyTypeLookup,
+            final Function<PfConceptKey, JpaToscaDataType> dataTypeLookup) {
+        if (policies.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final var policyTypes = policies.stream().map(JpaToscaPolicy::getType).distinct()
+            .map(policyTypeLookup).toList();
+        if (policyTypes.contains(null)) {
+            // let the full service template path report the dangling reference
+            return Optional.empty();
+        }
+
+        final var serviceTemplate = buildPolicyTypeClosure(policyTypes, policyTypeLookup, dataTypeLookup)
+            .orElseGet(JpaToscaServiceTemplate::new);
+        addPolicies(serviceTemplate, policies);
+        return Optional.of(serviceTemplate);
+    }
+
+    private Optional<JpaToscaServiceTemplate> buildPolicyTypeClosure(final List<JpaToscaPolicyType> policyTypes,
+            final Function<PfConceptKey, JpaToscaPolicyType> policyTypeLookup,
+            final Function<PfConceptKey, JpaToscaDataType> dataTypeLookup) {
+        if (policyTypes.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final var policyTypeClosure = new JpaToscaPolicyTypes();
+        final var dataTypeClosure = new JpaToscaDataTypes();
+        for (final var policyType : policyTypes) {
+            var ancestor = policyType;
+            while (ancestor != null && !policyTypeClosure.getConceptMap().containsKey(ancestor.getKey())) {
+                policyTypeClosure.getConceptMap().put(ancestor.getKey(), new JpaToscaPolicyType(ancestor));
+                addDataTypeClosure(dataTypeClosure, ancestor.getReferencedDataTypes(), dataTypeLookup);
+                ancestor = ancestor.getDerivedFrom() == null ? null : policyTypeLookup.apply(ancestor.getDerivedFrom());
+            }
+        }
+
+        final var serviceTemplate = new JpaToscaServiceTemplate();
+        serviceTemplate.setPolicyTypes(policyTypeClosure);
+        if (!dataTypeClosure.getConceptMap().isEmpty()) {
+            serviceTemplate.setDataTypes(dataTypeClosure);
+        }
+        return Optional.of(serviceTemplate);
+    }
+
+    private Optional<JpaToscaServiceTemplate> buildIndexedPolicyClosure(final ToscaServiceTemplateSnapshot source,
+                                                                        final List<JpaToscaPolicy> policies) {
+        if (policies.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final var policyTypeKeys = policies.stream().map(JpaToscaPolicy::getType).distinct().toList();
+        if (!policyTypeKeys.stream().allMatch(source.getTypeHierarchy()::containsPolicyType)) {
+            // let the full service template path report the dangling reference
+            return Optional.empty();
+        }
+
+        final var closure = buildIndexedPolicyTypeClosure(source, policyTypeKeys);
+        addPolicies(closure, policies);
+        return Optional.of(closure);
+    }
+
+    private JpaToscaServiceTemplate buildIndexedPolicyTypeClosure(final ToscaServiceTemplateSnapshot source,
+                                                                  final Collection<PfConceptKey> policyTypeKeys) {
+        final var hierarchy = source.getTypeHierarchy();
+        final var policyTypeKeyClosure = hierarchy.getPolicyTypeClosure(policyTypeKeys);
+
+        final var policyTypeClosure = new JpaToscaPolicyTypes();
+        for (final var policyTypeKey : policyTypeKeyClosure) {
+            policyTypeClosure.getConceptMap().put(policyTypeKey,
+                new JpaToscaPolicyType(source.getServiceTemplate().getPolicyTypes().get(policyTypeKey)));
+        }
+
+        final var serviceTemplate = new JpaToscaServiceTemplate();
+        serviceTemplate.setPolicyTypes(policyTypeClosure);
+        final var dataTypeKeyClosure = hierarchy.getDataTypeClosure(policyTypeKeyClosure);
+        if (!dataTypeKeyClosure.isEmpty()) {
+            serviceTemplate.setDataTypes(new JpaToscaDataTypes());
+            for (final var dataTypeKey : dataTypeKeyClosure) {
+                serviceTemplate.getDataTypes().getConceptMap().put(dataTypeKey,
+                    new JpaToscaDataType(source.getServiceTemplate().getDataTypes().get(dataTypeKey)));
+            }
+        }
+        return serviceTemplate;
+    }
+
+    private void addPolicies(final JpaToscaServiceTemplate serviceTemplate, final List<JpaToscaPolicy> policies) {
+        serviceTemplate.setTopologyTemplate(new JpaToscaTopologyTemplate());
+        serviceTemplate.getTopologyTemplate().setPolicies(new JpaToscaPolicies());
+        for (final var policy : policies) {
+            serviceTemplate.getTopologyTemplate().getPolicies().getConceptMap()
+                .put(policy.getKey(), new JpaToscaPolicy(policy));
+        }
+    }
+
+    private void addDataTypeClosure(final JpaToscaDataTypes dataTypeClosure,
+                                    final Collection<PfConceptKey> dataTypeKeys,
+                                    final Function<PfConceptKey, JpaToscaDataType> dataTypeLookup) {
+        final var pending = new ArrayDeque<>(dataTypeKeys);
+        while (!pending.isEmpty()) {
+            final var dataTypeKey = pending.pop();
+            if (dataTypeClosure.getConceptMap().containsKey(dataTypeKey)) {
+                continue;
+            }
+            // predefined and root types are not stored, the cascade logic skips them the same way
+            final var dataType = dataTypeLookup.apply(dataTypeKey);
+            if (dataType == null) {
+                continue;
+            }
+            dataTypeClosure.getConceptMap().put(dataTypeKey, new JpaToscaDataType(dataType));
+            pending.addAll(dataType.getReferencedDataTypes());
+            if (dataType.getDerivedFrom() != null) {
+                pending.add(dataType.getDerivedFrom());
+            }
+        }
+    }
+
+    private static <C extends PfConcept> List<C> findInContainer(final PfConceptContainer<C, ?> container,
+                                                                 final String name, final String version) {
+        if (container == null) {
+            return List.of();
+        }
+        if (container.getConceptMap() instanceof NavigableMap<PfConceptKey, C> sortedMap) {
+            // containers built in memory are sorted by name then version, the versions of a name are read off the map
+            return sortedMap.tailMap(new PfConceptKey(name, PfKey.NULL_KEY_VERSION), true).entrySet().stream()
+                .takeWhile(entry -> name.equals(entry.getKey().getName()))
+                .filter(entry -> versionMatches(entry.getKey(), version)).map(Map.Entry::getValue).toList();
+        }
+        return container.getConceptMap().entrySet().stream()
+            .filter(entry -> name.equals(entry.getKey().getName()) && versionMatches(entry.getKey(), version))
+            .map(Map.Entry::getValue).toList();
+    }
+
+    private static boolean versionMatches(final PfConceptKey key, final String version) {
+        return version == null || ToscaEntityFilter.LATEST_VERSION.equals(version) || version.equals(key.getVersion());
+    }
+}
@@ -0,0 +1,74 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.onap.policy.api.main.config.SecondLevelCacheConfig;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts the TOSCA entities and query results from the Hibernate second-level cache after writes. Evicting once the
+ * transaction has committed keeps a read that races the write from putting back the entities it is replacing.
+ */
+@Component
+@RequiredArgsConstructor
+public class ToscaEntityCache {
+
+    private final SecondLevelCacheConfig config;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Evict the second-level cache once the current transaction commits, or now if there is no transaction. The
+     * cache is evicted once per transaction however many writes it makes. Does nothing when the second-level cache
+     * is disabled.
+     */
+    public void evictAfterCommit() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ToscaEntityCache.this);
+                if (status == STATUS_COMMITTED) {
+                    evict();
+                }
+            }
+        });
+    }
+
+    private void evict() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+}
@@ -0,0 +1,162 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.function.Function;
+import org.onap.policy.models.base.PfConceptKey;
+
+/**
+ * Read-only views of the authorative form of TOSCA entities, converting each entity only when it is accessed. Handed
+ * to the message converter, a view is encoded one entity at a time straight to the response, so the authorative form
+ * of the whole result is never held in memory at once.
+ *
+ * <p>The views are named classes: Gson encodes instances of anonymous classes as null.
+ */
+final class ToscaEntityViews {
+
+    private ToscaEntityViews() {
+        // only static methods
+    }
+
+    /**
+     * Create a view of entities keyed by name, the form of data types and policy types in the authorative service
+     * template. As when a concept container is converted, each name is in the position of its first key and maps to
+     * the entity of its last key.
+     *
+     * @param keys the keys of the entities, in the order of the concept container
+     * @param converter the conversion of the entity with a key to its authorative form
+     * @return the view
+     */
+    static <A> Map<String, A> mapOf(final SortedSet<PfConceptKey> keys, final Function<PfConceptKey, A> converter) {
+        final var keysByName = new LinkedHashMap<String, PfConceptKey>();
+        keys.forEach(key -> keysByName.put(key.getName(), key));
+        return new EntityMapView<>(keysByName, converter);
+    }
+
+    /**
+     * Create a view of entities as a list of single entry maps, the form of policies in the authorative service
+     * template.
+     *
+     * @param keys the keys of the entities, in the order of the concept container
+     * @param converter the conversion of the entity with a key to its authorative form
+     * @return the view
+     */
+    static <A> List<Map<String, A>> listOf(final SortedSet<PfConceptKey> keys,
+                                           final Function<PfConceptKey, A> converter) {
+        return new EntityListView<>(new ArrayList<>(keys), converter);
+    }
+
+    /**
+     * Count the entities in a list of single entry maps, the form of policies in the authorative service template,
+     * without converting the entities of a view.
+     *
+     * @param entityMaps the list of entity maps
+     * @return the number of entities in the list
+     */
+    static long countEntities(final List<? extends Map<String, ?>> entityMaps) {
+        if (entityMaps instanceof EntityListView<?> view) {
+            return view.size();
+        }
+        return entityMaps.stream().mapToLong(Map::size).sum();
+    }
+
+    private static final class EntityMapView<A> extends AbstractMap<String, A> {
+        private final Map<String, PfConceptKey> keysByName;
+        private final Function<PfConceptKey, A> converter;
+
+        private EntityMapView(final Map<String, PfConceptKey> keysByName, final Function<PfConceptKey, A> converter) {
+            this.keysByName = keysByName;
+            this.converter = converter;
+        }
+
+        @Override
+        public boolean containsKey(final Object name) {
+            return keysByName.containsKey(name);
+        }
+
+        @Override
+        public A get(final Object name) {
+            final var key = keysByName.get(name);
+            return key == null ? null : converter.apply(key);
+        }
+
+        @Override
+        public Set<Entry<String, A>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, A>> iterator() {
+                    final var keyIterator = keysByName.entrySet().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return keyIterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, A> next() {
+                            final var entry = keyIterator.next();
+                            return new SimpleImmutableEntry<>(entry.getKey(), converter.apply(entry.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keysByName.size();
+                }
+            };
+        }
+    }
+
+    private static final class EntityListView<A> extends AbstractList<Map<String, A>> {
+        private final List<PfConceptKey> keys;
+        private final Function<PfConceptKey, A> converter;
+
+        private EntityListView(final List<PfConceptKey> keys, final Function<PfConceptKey, A> converter) {
+            this.keys = keys;
+            this.converter = converter;
+        }
+
+        @Override
+        public Map<String, A> get(final int index) {
+            final var key = keys.get(index);
+            final var entityMap = new LinkedHashMap<String, A>();
+            entityMap.put(key.getName(), converter.apply(key));
+            return entityMap;
+        }
+
+        @Override
+        public int size() {
+            return keys.size();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import org.onap.policy.common.parameters.BeanValidationResult;
+import org.onap.policy.models.base.PfConceptContainer;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+
+/**
+ * Validates a service template after a fragment is appended to it, checking only the entities of the fragment
+ * together with the policy types and data types they reference rather than every entity of the service template.
+ *
+ * <p>The service template the fragment was appended to must have been valid, as the DB service template is, since
+ * every write validates it; appending a fragment cannot then invalidate the existing entities, so the fragment and
+ * what it references decide the result. Only the acceptance is decided incrementally: when the incremental check
+ * fails, or the fragment holds entities other than policies, policy types and data types, the whole service template
+ * is validated, so a rejected write reports exactly the errors of the full validation.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ToscaFragmentValidator {
+
+    /**
+     * Validate a service template to which a fragment was appended.
+     *
+     * @param serviceTemplate the service template with the fragment appended
+     * @param fragment the fragment that was appended
+     * @param fieldName the name of the service template in the validation result
+     * @return the validation result
+     */
+    public static BeanValidationResult validate(@NonNull final JpaToscaServiceTemplate serviceTemplate,
+                                                @NonNull final JpaToscaServiceTemplate fragment,
+                                                @NonNull final String fieldName) {
+        if (serviceTemplate != fragment && holdsOnlyPoliciesAndTypes(fragment)) {
+            final var builder = new ToscaCascadeBuilder(serviceTemplate)
+                .addDataTypes(keys(fragment.getDataTypes()))
+                .addPolicyTypes(keys(fragment.getPolicyTypes()));
+            if (fragment.getTopologyTemplate() != null) {
+                builder.addPolicies(keys(fragment.getTopologyTemplate().getPolicies()));
+            }
+
+            if (builder.isComplete()) {
+                final var result = builder.build().validate(fieldName);
+                if (result.isValid()) {
+                    return result;
+                }
+            }
+        }
+        return serviceTemplate.validate(fieldName);
+    }
+
+    /**
+     * Check whether a fragment holds only policies, policy types and data types.
+     *
+     * @param fragment the fragment
+     * @return true if the fragment holds nothing else
+     */
+    static boolean holdsOnlyPoliciesAndTypes(final JpaToscaServiceTemplate fragment) {
+        return fragment.getCapabilityTypes() == null && fragment.getNodeTypes() == null
+            && fragment.getRelationshipTypes() == null
+            && (fragment.getTopologyTemplate() == null || fragment.getTopologyTemplate().getNodeTemplates() == null);
+    }
+
+    private static Set<PfConceptKey> keys(final PfConceptContainer<?, ?> container) {
+        return container == null ? Set.of() : container.getConceptMap().keySet();
+    }
+}
@@ -0,0 +1,187 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the phases of the service template operations, so that the time spent in an operation can be broken down:
+ * loading the service template, constructing JPA concepts, merging fragments, validating, saving, resolving the
+ * cascade and converting to the authorative form. Each phase of each operation is published as a timer with a
+ * percentile histogram, tagged with the operation and the phase; both come from fixed sets, so the number of series
+ * stays small. The number of entities each operation received or returned is published alongside, as a distribution
+ * summary tagged with the operation, to tell the operations on large service templates from the slow ones.
+ */
+@Component
+public class ToscaPhaseTimer {
+
+    public static final String PHASE_METRIC = "policy.api.service.phase";
+    public static final String OPERATION_TAG = "operation";
+    public static final String PHASE_TAG = "phase";
+    public static final String ENTITIES_METRIC = "policy.api.service.entities";
+
+    // bound of the entity count histogram, which keeps the number of buckets published for each operation small
+    private static final double MAX_ENTITIES = 100_000;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> entityCounts = new ConcurrentHashMap<>();
+
+    /**
+     * A phase of a service template operation.
+     */
+    public enum Phase {
+        LOAD,
+        CONSTRUCT,
+        MERGE,
+        VALIDATE,
+        SAVE,
+        CASCADE,
+        CONVERT;
+
+        String getTag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * The work of a phase.
+     *
+     * @param <T> the type of the result of the phase
+     * @param <E> the type of the exception the phase may throw
+     */
+    @FunctionalInterface
+    public interface PhaseWork<T, E extends Exception> {
+
+        /**
+         * Do the work of the phase.
+         *
+         * @return the result of the phase
+         * @throws E on errors in the phase
+         */
+        T apply() throws E;
+    }
+
+    /**
+     * The work of a phase that has no result.
+     *
+     * @param <E> the type of the exception the phase may throw
+     */
+    @FunctionalInterface
+    public interface VoidPhaseWork<E extends Exception> {
+
+        /**
+         * Do the work of the phase.
+         *
+         * @throws E on errors in the phase
+         */
+        void apply() throws E;
+    }
+
+    /**
+     * Create the timer.
+     *
+     * @param meterRegistry the registry of the metrics
+     */
+    public ToscaPhaseTimer(@NonNull final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Time a phase of an operation. The time is recorded whether the phase completes or fails.
+     *
+     * @param operation the name of the operation
+     * @param phase the phase
+     * @param work the work of the phase
+     * @param <T> the type of the result of the phase
+     * @param <E> the type of the exception the phase may throw
+     * @return the result of the phase
+     * @throws E on errors in the phase
+     */
+    public <T, E extends Exception> T time(@NonNull final String operation, @NonNull final Phase phase,
+                                           @NonNull final PhaseWork<T, E> work) throws E {
+        final var startNanos = System.nanoTime();
+        try {
+            return work.apply();
+        } finally {
+            getTimer(operation, phase).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Time a phase of an operation that has no result. The time is recorded whether the phase completes or fails.
+     *
+     * @param operation the name of the operation
+     * @param phase the phase
+     * @param work the work of the phase
+     * @param <E> the type of the exception the phase may throw
+     * @throws E on errors in the phase
+     */
+    public <E extends Exception> void run(@NonNull final String operation, @NonNull final Phase phase,
+                                          @NonNull final VoidPhaseWork<E> work) throws E {
+        time(operation, phase, () -> {
+            work.apply();
+            return null;
+        });
+    }
+
+    /**
+     * Record the number of policy types, data types and policies in the service template an operation received or
+     * returned.
+     *
+     * @param operation the name of the operation
+     * @param serviceTemplate the service template
+     */
+    public void recordEntities(@NonNull final String operation, @NonNull final ToscaServiceTemplate serviceTemplate) {
+        long entities = 0;
+        if (serviceTemplate.getPolicyTypes() != null) {
+            entities += serviceTemplate.getPolicyTypes().size();
+        }
+        if (serviceTemplate.getDataTypes() != null) {
+            entities += serviceTemplate.getDataTypes().size();
+        }
+        final var topologyTemplate = serviceTemplate.getToscaTopologyTemplate();
+        if (topologyTemplate != null && topologyTemplate.getPolicies() != null) {
+            entities += ToscaEntityViews.countEntities(topologyTemplate.getPolicies());
+        }
+        entityCounts.computeIfAbsent(operation, key -> DistributionSummary.builder(ENTITIES_METRIC)
+            .description("Number of policy types, data types and policies a service template operation handled")
+            .tag(OPERATION_TAG, operation).publishPercentileHistogram().minimumExpectedValue(1.0)
+            .maximumExpectedValue(MAX_ENTITIES).register(meterRegistry)).record(entities);
+    }
+
+    private Timer getTimer(final String operation, final Phase phase) {
+        return timers.computeIfAbsent(operation + '/' + phase.getTag(), key -> Timer.builder(PHASE_METRIC)
+            .description("Time spent in a phase of a service template operation")
+            .tag(OPERATION_TAG, operation).tag(PHASE_TAG, phase.getTag())
+            .publishPercentileHistogram().register(meterRegistry));
+    }
+}
@@ -0,0 +1,131 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import lombok.NonNull;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+
+/**
+ * Reverse index from policy types to the policies of a service template that instantiate them, so that finding the
+ * policies of a type does not depend on how many other policies exist. The index is immutable once built; the index
+ * of a changed service template is derived from it by indexing again only the policies the change touches.
+ */
+public class ToscaPolicyReferenceIndex {
+
+    private final Map<String, SortedSet<PfConceptKey>> policiesByTypeName;
+
+    /**
+     * Build the index of a service template.
+     *
+     * @param serviceTemplate the service template to index
+     */
+    public ToscaPolicyReferenceIndex(@NonNull final JpaToscaServiceTemplate serviceTemplate) {
+        this(new HashMap<>());
+        index(serviceTemplate);
+    }
+
+    private ToscaPolicyReferenceIndex(final Map<String, SortedSet<PfConceptKey>> policiesByTypeName) {
+        this.policiesByTypeName = policiesByTypeName;
+    }
+
+    /**
+     * Get the index of the service template with the changes of a write applied. Only the policy type names of the
+     * policies the write touches get sets of their own, the others are shared with this index, so a write without
+     * policies returns this index.
+     *
+     * @param displaced the entities the write removed or replaced, as they were in the indexed service template, or
+     *        null
+     * @param added the entities the write added, or null
+     * @return the index of the changed service template
+     */
+    ToscaPolicyReferenceIndex withChange(final JpaToscaServiceTemplate displaced,
+                                         final JpaToscaServiceTemplate added) {
+        if (policiesOf(displaced).isEmpty() && policiesOf(added).isEmpty()) {
+            return this;
+        }
+
+        final var index = new ToscaPolicyReferenceIndex(new HashMap<>(policiesByTypeName));
+        final var copied = new HashSet<String>();
+        for (final var policy : policiesOf(displaced)) {
+            if (policy.getType() != null) {
+                final var policies = index.copyOnWrite(policy.getType().getName(), copied);
+                policies.remove(policy.getKey());
+                if (policies.isEmpty()) {
+                    index.policiesByTypeName.remove(policy.getType().getName());
+                }
+            }
+        }
+        for (final var policy : policiesOf(added)) {
+            if (policy.getType() != null) {
+                index.copyOnWrite(policy.getType().getName(), copied).add(policy.getKey());
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Get the policies that instantiate any version of a policy type.
+     *
+     * @param policyTypeName the name of the policy type
+     * @return the keys of the policies, in key order
+     */
+    public SortedSet<PfConceptKey> getPolicies(final String policyTypeName) {
+        return Collections.unmodifiableSortedSet(
+            policiesByTypeName.getOrDefault(policyTypeName, Collections.emptySortedSet()));
+    }
+
+    private void index(final JpaToscaServiceTemplate serviceTemplate) {
+        for (final var policy : policiesOf(serviceTemplate)) {
+            if (policy.getType() != null) {
+                policiesByTypeName.computeIfAbsent(policy.getType().getName(), key -> new TreeSet<>())
+                    .add(policy.getKey());
+            }
+        }
+    }
+
+    // Get the set of a policy type name to change, copying it the first time it is changed
+    private SortedSet<PfConceptKey> copyOnWrite(final String policyTypeName, final Set<String> copied) {
+        if (copied.add(policyTypeName)) {
+            final var policies = policiesByTypeName.get(policyTypeName);
+            policiesByTypeName.put(policyTypeName, policies == null ? new TreeSet<>() : new TreeSet<>(policies));
+        }
+        return policiesByTypeName.get(policyTypeName);
+    }
+
+    private static Collection<JpaToscaPolicy> policiesOf(final JpaToscaServiceTemplate serviceTemplate) {
+        if (serviceTemplate == null || serviceTemplate.getTopologyTemplate() == null
+            || serviceTemplate.getTopologyTemplate().getPolicies() == null) {
+            return List.of();
+        }
+        return serviceTemplate.getTopologyTemplate().getPolicies().getConceptMap().values();
+    }
+}
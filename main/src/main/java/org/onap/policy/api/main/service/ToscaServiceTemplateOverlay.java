@@ -0,0 +1,284 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import jakarta.ws.rs.core.Response;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import org.onap.policy.common.parameters.BeanValidationResult;
+import org.onap.policy.common.parameters.ValidationStatus;
+import org.onap.policy.models.base.PfConcept;
+import org.onap.policy.models.base.PfConceptContainer;
+import org.onap.policy.models.base.PfModelRuntimeException;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaCapabilityTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaDataTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaNodeTemplates;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaNodeTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicies;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaRelationshipTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaTopologyTemplate;
+import org.onap.policy.models.tosca.utils.ToscaServiceTemplateUtils;
+
+/**
+ * Builds a service template with entities added or removed without copying the entities: the result has containers
+ * of its own but shares every entity with the service templates it was built from, so none of them is walked. The
+ * service templates it was built from are not modified, and the result must be treated as read only for as long as
+ * they are in use.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ToscaServiceTemplateOverlay {
+
+    /**
+     * Append a fragment to a service template, as {@code ToscaServiceTemplateUtils.addFragment} does, without copying
+     * the service template when the fragment holds only policies, policy types and data types: the fragment is
+     * rejected if it changes an entity of the service template, and its entities are then overlaid on the service
+     * template. Only the entities of the fragment are compared, so the cost of the append does not grow with the
+     * service template. Other fragments are appended with {@code addFragment}.
+     *
+     * @param serviceTemplate the service template, which is not modified
+     * @param fragment the fragment to append
+     * @return the service template with the fragment appended
+     * @throws PfModelRuntimeException if the fragment changes the service template or one of its entities
+     */
+    public static JpaToscaServiceTemplate appendFragment(@NonNull final JpaToscaServiceTemplate serviceTemplate,
+                                                         @NonNull final JpaToscaServiceTemplate fragment) {
+        if (!ToscaFragmentValidator.holdsOnlyPoliciesAndTypes(fragment)) {
+            return ToscaServiceTemplateUtils.addFragment(serviceTemplate, fragment);
+        }
+
+        final var result = new BeanValidationResult("incoming fragment", fragment);
+        if (serviceTemplate.compareToWithoutEntities(fragment) != 0) {
+            result.addResult("service template", serviceTemplate.getKey().getId(), ValidationStatus.INVALID,
+                "does not equal existing service template");
+        }
+        checkUnchanged(serviceTemplate.getDataTypes(), fragment.getDataTypes(), result);
+        checkUnchanged(serviceTemplate.getPolicyTypes(), fragment.getPolicyTypes(), result);
+
+        final var topologyTemplate = serviceTemplate.getTopologyTemplate();
+        final var fragmentTopologyTemplate = fragment.getTopologyTemplate();
+        if (topologyTemplate != null && fragmentTopologyTemplate != null) {
+            if (topologyTemplate.compareToWithoutEntities(fragmentTopologyTemplate) != 0) {
+                result.addResult("topology template", topologyTemplate.getKey().getId(), ValidationStatus.INVALID,
+                    "does not equal existing topology template");
+            }
+            checkUnchanged(topologyTemplate.getPolicies(), fragmentTopologyTemplate.getPolicies(), result);
+        }
+
+        if (!result.isValid()) {
+            throw new PfModelRuntimeException(Response.Status.BAD_REQUEST, result.getResult());
+        }
+        return append(serviceTemplate, fragment);
+    }
+
+    /**
+     * Build a service template holding the entities of a service template and of a fragment, the entities of the
+     * fragment replacing those with the same keys.
+     *
+     * @param serviceTemplate the service template
+     * @param fragment the fragment to add
+     * @return the service template with the fragment added
+     */
+    public static JpaToscaServiceTemplate append(@NonNull final JpaToscaServiceTemplate serviceTemplate,
+                                                 @NonNull final JpaToscaServiceTemplate fragment) {
+        return overlay(serviceTemplate, fragment, null);
+    }
+
+    /**
+     * Build a service template holding the entities of a service template but those with the keys of the entities of
+     * another service template.
+     *
+     * @param serviceTemplate the service template
+     * @param removed the service template holding the entities to leave out, only their keys are read
+     * @return the service template with the entities removed
+     */
+    public static JpaToscaServiceTemplate remove(@NonNull final JpaToscaServiceTemplate serviceTemplate,
+                                                 @NonNull final JpaToscaServiceTemplate removed) {
+        return overlay(serviceTemplate, null, removed);
+    }
+
+    /**
+     * Build a service template holding the entities of a service template that a write displaces, that is those with
+     * the keys of the entities the write adds or removes. Only the entities with those keys are looked up, so an
+     * index of the service template can be brought up to date by dropping the displaced entities and indexing the
+     * added ones, rather than by indexing the whole of the changed service template.
+     *
+     * @param serviceTemplate the service template the write applies to
+     * @param added the entities the write adds, only their keys are read, or null
+     * @param removed the entities the write removes, only their keys are read, or null
+     * @return the service template holding the displaced entities, containers without any are left null
+     */
+    public static JpaToscaServiceTemplate displaced(@NonNull final JpaToscaServiceTemplate serviceTemplate,
+                                                    final JpaToscaServiceTemplate added,
+                                                    final JpaToscaServiceTemplate removed) {
+        final var result = new JpaToscaServiceTemplate();
+        result.setDataTypes(displaced(serviceTemplate.getDataTypes(), added == null ? null : added.getDataTypes(),
+            removed == null ? null : removed.getDataTypes(), JpaToscaDataTypes::new));
+        result.setNodeTypes(displaced(serviceTemplate.getNodeTypes(), added == null ? null : added.getNodeTypes(),
+            removed == null ? null : removed.getNodeTypes(), JpaToscaNodeTypes::new));
+        result.setPolicyTypes(displaced(serviceTemplate.getPolicyTypes(),
+            added == null ? null : added.getPolicyTypes(), removed == null ? null : removed.getPolicyTypes(),
+            JpaToscaPolicyTypes::new));
+
+        final var topologyTemplate = serviceTemplate.getTopologyTemplate();
+        if (topologyTemplate != null) {
+            final var addedTopologyTemplate = added == null ? null : added.getTopologyTemplate();
+            final var removedTopologyTemplate = removed == null ? null : removed.getTopologyTemplate();
+            final var nodeTemplates = displaced(topologyTemplate.getNodeTemplates(),
+                addedTopologyTemplate == null ? null : addedTopologyTemplate.getNodeTemplates(),
+                removedTopologyTemplate == null ? null : removedTopologyTemplate.getNodeTemplates(),
+                JpaToscaNodeTemplates::new);
+            final var policies = displaced(topologyTemplate.getPolicies(),
+                addedTopologyTemplate == null ? null : addedTopologyTemplate.getPolicies(),
+                removedTopologyTemplate == null ? null : removedTopologyTemplate.getPolicies(),
+                JpaToscaPolicies::new);
+            if (nodeTemplates != null || policies != null) {
+                result.setTopologyTemplate(new JpaToscaTopologyTemplate());
+                result.getTopologyTemplate().setNodeTemplates(nodeTemplates);
+                result.getTopologyTemplate().setPolicies(policies);
+            }
+        }
+        return result;
+    }
+
+    // Report the entities of the fragment that differ from the entities with the same keys in the container
+    private static void checkUnchanged(final PfConceptContainer<?, ?> container,
+                                       final PfConceptContainer<?, ?> fragmentContainer,
+                                       final BeanValidationResult result) {
+        if (container == null || fragmentContainer == null) {
+            return;
+        }
+        final var containerResult = new BeanValidationResult("incoming fragment", fragmentContainer);
+        for (final var fragmentEntry : fragmentContainer.getConceptMap().entrySet()) {
+            final var existing = container.getConceptMap().get(fragmentEntry.getKey());
+            if (existing != null && !existing.equals(fragmentEntry.getValue())) {
+                containerResult.addResult("entity", fragmentEntry.getKey().getId(), ValidationStatus.INVALID,
+                    "does not equal existing entity");
+            }
+        }
+        if (!containerResult.isValid()) {
+            result.addResult(containerResult);
+        }
+    }
+
+    private static JpaToscaServiceTemplate overlay(final JpaToscaServiceTemplate base,
+                                                   final JpaToscaServiceTemplate added,
+                                                   final JpaToscaServiceTemplate removed) {
+        final var result = new JpaToscaServiceTemplate();
+        result.setKey(base.getKey());
+        result.setDerivedFrom(base.getDerivedFrom());
+        result.setMetadata(base.getMetadata());
+        result.setDescription(base.getDescription());
+        result.setToscaDefinitionsVersion(base.getToscaDefinitionsVersion());
+
+        result.setDataTypes(overlay(base.getDataTypes(), added == null ? null : added.getDataTypes(),
+            removed == null ? null : removed.getDataTypes(), JpaToscaDataTypes::new));
+        result.setCapabilityTypes(overlay(base.getCapabilityTypes(), added == null ? null : added.getCapabilityTypes(),
+            removed == null ? null : removed.getCapabilityTypes(), JpaToscaCapabilityTypes::new));
+        result.setNodeTypes(overlay(base.getNodeTypes(), added == null ? null : added.getNodeTypes(),
+            removed == null ? null : removed.getNodeTypes(), JpaToscaNodeTypes::new));
+        result.setRelationshipTypes(overlay(base.getRelationshipTypes(),
+            added == null ? null : added.getRelationshipTypes(),
+            removed == null ? null : removed.getRelationshipTypes(), JpaToscaRelationshipTypes::new));
+        result.setPolicyTypes(overlay(base.getPolicyTypes(), added == null ? null : added.getPolicyTypes(),
+            removed == null ? null : removed.getPolicyTypes(), JpaToscaPolicyTypes::new));
+
+        result.setTopologyTemplate(overlay(base.getTopologyTemplate(),
+            added == null ? null : added.getTopologyTemplate(),
+            removed == null ? null : removed.getTopologyTemplate()));
+        return result;
+    }
+
+    private static JpaToscaTopologyTemplate overlay(final JpaToscaTopologyTemplate base,
+                                                    final JpaToscaTopologyTemplate added,
+                                                    final JpaToscaTopologyTemplate removed) {
+        if (added == null && removed == null) {
+            return base;
+        }
+        final var source = base != null ? base : added;
+        if (source == null) {
+            return null;
+        }
+
+        final var result = new JpaToscaTopologyTemplate();
+        result.setKey(source.getKey());
+        result.setDescription(source.getDescription());
+        result.setInputs(source.getInputs());
+        result.setNodeTemplates(overlay(base == null ? null : base.getNodeTemplates(),
+            added == null ? null : added.getNodeTemplates(), removed == null ? null : removed.getNodeTemplates(),
+            JpaToscaNodeTemplates::new));
+        result.setPolicies(overlay(base == null ? null : base.getPolicies(),
+            added == null ? null : added.getPolicies(), removed == null ? null : removed.getPolicies(),
+            JpaToscaPolicies::new));
+        return result;
+    }
+
+    private static <C extends PfConcept, T extends PfConceptContainer<C, ?>> T overlay(final T base, final T added,
+                                                                                        final T removed,
+                                                                                        final Supplier<T> factory) {
+        if (added == null && (removed == null || base == null)) {
+            return base;
+        }
+
+        final var result = factory.get();
+        if (base != null) {
+            result.setKey(base.getKey());
+            result.getConceptMap().putAll(base.getConceptMap());
+        } else {
+            result.setKey(added.getKey());
+        }
+        if (removed != null) {
+            result.getConceptMap().keySet().removeAll(removed.getConceptMap().keySet());
+        }
+        if (added != null) {
+            result.getConceptMap().putAll(added.getConceptMap());
+        }
+        return result;
+    }
+
+    private static <C extends PfConcept, T extends PfConceptContainer<C, ?>> T displaced(final T base, final T added,
+                                                                                          final T removed,
+                                                                                          final Supplier<T> factory) {
+        if (base == null) {
+            return null;
+        }
+        T result = null;
+        for (final var changed : Stream.of(added, removed).filter(Objects::nonNull).toList()) {
+            for (final var key : changed.getConceptMap().keySet()) {
+                final var entity = base.getConceptMap().get(key);
+                if (entity != null) {
+                    if (result == null) {
+                        result = factory.get();
+                        result.setKey(base.getKey());
+                    }
+                    result.getConceptMap().put(key, entity);
+                }
+            }
+        }
+        return result;
+    }
+}
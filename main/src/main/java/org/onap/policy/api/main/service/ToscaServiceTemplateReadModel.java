@@ -0,0 +1,246 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.onap.policy.api.main.config.ReadModelConfig;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Holds the current {@link ToscaServiceTemplateSnapshot} used to serve read requests without going to the
+ * database. The snapshot is replaced as a whole (copy on write); readers holding an older snapshot keep a consistent
+ * view until they are done with it.
+ *
+ * <p>Every committed write bumps the revision of the read model. A snapshot is only handed out while its revision
+ * is the current one, so a snapshot loaded concurrently with a write can never hide that write. Writes only record
+ * the entities they added or removed when they commit; the snapshot of the new revision is derived from the previous
+ * one by the first read that asks for it, sharing the entities that did not change. A write that records no change
+ * leaves the next read to load the service template from the database.
+ *
+ * <p>Writes made through other API instances sharing the database are not recorded here; they only become visible
+ * when the snapshot expires, after the maximum age of the read model. Until then, reads, revision tags and cached
+ * responses reflect the stale snapshot, which is why the read model is disabled by default.
+ *
+ * <p>The shape of each snapshot is reported to the {@link ToscaTemplateGauges}. When the read model is disabled,
+ * that is the shape of the service template as last loaded by a read.
+ *
+ * <p>The revision tag identifies the snapshot reads are served from, so that clients can revalidate their copy of a
+ * read without it being served again.
+ */
+@Component
+@RequiredArgsConstructor
+public class ToscaServiceTemplateReadModel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ToscaServiceTemplateReadModel.class);
+
+    // beyond that, the changes are dropped and the next read loads the service template
+    private static final int MAX_PENDING_CHANGES = 256;
+
+    private final ReadModelConfig readModelConfig;
+    private final ToscaTemplateGauges templateGauges;
+
+    private final AtomicReference<ToscaServiceTemplateSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong revision = new AtomicLong();
+
+    // the changes of the revisions committed since the snapshot was built, by revision
+    private final ConcurrentNavigableMap<Long, PendingChange> pendingChanges = new ConcurrentSkipListMap<>();
+
+    // tells the revisions of this instance from those of other instances and earlier runs
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    private record PendingChange(JpaToscaServiceTemplate added, JpaToscaServiceTemplate removed) {
+    }
+
+    /**
+     * Get the current snapshot, deriving it from the previous one if writes committed since it was built.
+     *
+     * @return the snapshot, or empty if there is no up to date snapshot and the template must be loaded
+     */
+    public Optional<ToscaServiceTemplateSnapshot> current() {
+        if (!readModelConfig.isEnabled()) {
+            return Optional.empty();
+        }
+        final var currentSnapshot = snapshot.get();
+        if (currentSnapshot == null || isExpired(currentSnapshot)) {
+            return Optional.empty();
+        }
+        final var currentRevision = revision.get();
+        if (currentSnapshot.getRevision() == currentRevision) {
+            return Optional.of(currentSnapshot);
+        }
+        return Optional.ofNullable(applyPendingChanges(currentRevision));
+    }
+
+    /**
+     * Get the age of the latest snapshot, to report the freshness of the read model. The snapshot is taken as it is,
+     * the writes committed since it was derived are not applied to it, so that probes do not contend with the reads.
+     *
+     * @return the age, or empty if there is no snapshot that has not expired
+     */
+    public Optional<Duration> getSnapshotAge() {
+        final var currentSnapshot = snapshot.get();
+        if (!readModelConfig.isEnabled() || currentSnapshot == null || isExpired(currentSnapshot)) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofNanos(System.nanoTime() - currentSnapshot.getCreatedNanos()));
+    }
+
+    /**
+     * Get the current revision, to be captured before a snapshot is loaded from the database.
+     *
+     * @return the revision
+     */
+    public long getRevision() {
+        return revision.get();
+    }
+
+    /**
+     * Get the tag of the current snapshot. The tag changes whenever a write commits, and whenever the snapshot is
+     * reloaded from the database, which also picks up writes made through other instances.
+     *
+     * @return the tag, or empty if there is no up to date snapshot
+     */
+    public Optional<String> getRevisionTag() {
+        return current().map(currentSnapshot -> epoch + "-" + currentSnapshot.getRevision() + "-"
+            + Long.toHexString(currentSnapshot.getCreatedNanos()));
+    }
+
+    /**
+     * Publish a snapshot that was loaded from the database. The snapshot is ignored if a write committed after
+     * its revision was captured.
+     *
+     * @param loadedSnapshot the snapshot loaded from the database
+     */
+    public void publish(@NonNull final ToscaServiceTemplateSnapshot loadedSnapshot) {
+        templateGauges.update(loadedSnapshot.getShape());
+        if (readModelConfig.isEnabled() && loadedSnapshot.getRevision() == revision.get()) {
+            snapshot.set(loadedSnapshot);
+            pendingChanges.headMap(loadedSnapshot.getRevision(), true).clear();
+        }
+    }
+
+    /**
+     * Record, once the current transaction commits, that a fragment was appended to the service template. Nothing is
+     * recorded if the transaction rolls back. Outside a transaction, the change is recorded immediately.
+     *
+     * @param fragment the policies, types and node templates appended, copied now
+     */
+    public void appendAfterCommit(@NonNull final JpaToscaServiceTemplate fragment) {
+        // copy now, the entities may be changed by the persistence context after commit; the copy is the size of the
+        // fragment, the service template it was appended to is not walked
+        final var added = readModelConfig.isEnabled() ? new JpaToscaServiceTemplate(fragment) : null;
+        recordAfterCommit(added == null ? null : new PendingChange(added, null));
+    }
+
+    /**
+     * Record, once the current transaction commits, that entities were removed from the service template. Nothing is
+     * recorded if the transaction rolls back. Outside a transaction, the change is recorded immediately.
+     *
+     * @param removed the entities removed, only their keys are read
+     */
+    public void removeAfterCommit(@NonNull final JpaToscaServiceTemplate removed) {
+        recordAfterCommit(readModelConfig.isEnabled() ? new PendingChange(null, removed) : null);
+    }
+
+    /**
+     * Discard the snapshot once the current transaction commits, for writes whose changes are not recorded. The next
+     * read loads the template from the database.
+     */
+    public void invalidateAfterCommit() {
+        recordAfterCommit(null);
+    }
+
+    private void recordAfterCommit(final PendingChange change) {
+        runAfterCommit(() -> {
+            final var newRevision = revision.incrementAndGet();
+            if (change != null && pendingChanges.size() < MAX_PENDING_CHANGES) {
+                pendingChanges.put(newRevision, change);
+            } else {
+                pendingChanges.clear();
+            }
+            LOGGER.debug("service template revision now {}, change recorded {}", newRevision,
+                pendingChanges.containsKey(newRevision));
+        });
+    }
+
+    // Derive the snapshot of the revision from the current snapshot and the changes committed since, if all known
+    private synchronized ToscaServiceTemplateSnapshot applyPendingChanges(final long targetRevision) {
+        final var baseSnapshot = snapshot.get();
+        if (baseSnapshot == null || baseSnapshot.getRevision() > targetRevision) {
+            return null;
+        }
+        if (baseSnapshot.getRevision() == targetRevision) {
+            return baseSnapshot;
+        }
+
+        var derivedSnapshot = baseSnapshot;
+        for (var nextRevision = baseSnapshot.getRevision() + 1; nextRevision <= targetRevision; nextRevision++) {
+            final var change = pendingChanges.get(nextRevision);
+            if (change == null) {
+                // a write recorded no change, or it is not recorded yet
+                return null;
+            }
+            derivedSnapshot = derivedSnapshot.withChange(nextRevision, change.added(), change.removed());
+        }
+
+        snapshot.set(derivedSnapshot);
+        pendingChanges.headMap(targetRevision, true).clear();
+        templateGauges.update(derivedSnapshot.getShape());
+        LOGGER.debug("derived service template snapshot revision {} from revision {}", targetRevision,
+            baseSnapshot.getRevision());
+        return derivedSnapshot;
+    }
+
+    private boolean isExpired(final ToscaServiceTemplateSnapshot currentSnapshot) {
+        final var maxAge = readModelConfig.getMaxAge();
+        if (maxAge == null || maxAge.isZero() || maxAge.isNegative()) {
+            return false;
+        }
+        return System.nanoTime() - currentSnapshot.getCreatedNanos() > maxAge.toNanos();
+    }
+
+    private void runAfterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -24,16 +24,26 @@ package org.onap.policy.api.main.service;
 import jakarta.ws.rs.core.Response;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.function.Function;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.collections4.CollectionUtils;
+import org.onap.policy.api.main.config.ReadReplicaRoutingDataSource;
 import org.onap.policy.api.main.repository.ToscaServiceTemplateRepository;
 import org.onap.policy.api.main.rest.PolicyFetchMode;
-import org.onap.policy.common.parameters.BeanValidationResult;
+import org.onap.policy.api.main.rest.ToscaEntitySummary;
+import org.onap.policy.api.main.rest.ToscaPolicyBatch;
+import org.onap.policy.api.main.service.ToscaPhaseTimer.Phase;
+import org.onap.policy.models.base.PfConcept;
+import org.onap.policy.models.base.PfConceptContainer;
 import org.onap.policy.models.base.PfConceptKey;
 import org.onap.policy.models.base.PfModelException;
 import org.onap.policy.models.base.PfModelRuntimeException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaEntity;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaEntityFilter;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaNodeTemplate;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
@@ -44,6 +54,8 @@ import org.onap.policy.models.tosca.simple.concepts.JpaToscaNodeTemplate;
 import org.onap.policy.models.tosca.simple.concepts.JpaToscaNodeTemplates;
 import org.onap.policy.models.tosca.simple.concepts.JpaToscaNodeTypes;
 import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicies;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
 import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyTypes;
 import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
 import org.onap.policy.models.tosca.simple.concepts.JpaToscaTopologyTemplate;
@@ -55,6 +67,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Reads and writes the policies, policy types and node templates of the default TOSCA service template. The fetch
+ * methods run in read-only transactions, which Hibernate neither snapshots nor flushes and which are routed to the
+ * read replica when one is configured.
+ */
 @Service
 @Transactional
 @RequiredArgsConstructor
@@ -67,12 +84,26 @@ public class ToscaServiceTemplateService {
     private static final String NOT_FOUND = " not found";
     public static final String SERVICE_TEMPLATE_NOT_FOUND_MSG = "service template not found in database";
     public static final String DO_NOT_EXIST_MSG = " do not exist";
+    public static final int MAX_BATCH_GET_SIZE = 1000;
+
+    // the operations whose phases are timed
+    private static final String CREATE_POLICY_TYPE = "createPolicyType";
+    private static final String DELETE_POLICY_TYPE = "deletePolicyType";
+    private static final String CREATE_POLICIES = "createPolicies";
+    private static final String DELETE_POLICY = "deletePolicy";
+    private static final String GET_FILTERED_POLICY_TYPES = "getFilteredPolicyTypes";
+    private static final String GET_FILTERED_POLICIES = "getFilteredPolicies";
 
     private final ToscaServiceTemplateRepository toscaServiceTemplateRepository;
+    private final ToscaServiceTemplateWriter serviceTemplateWriter;
     private final NodeTemplateService nodeTemplateService;
     private final PdpGroupService pdpGroupService;
     private final PolicyTypeService policyTypeService;
     private final PolicyService policyService;
+    private final ToscaServiceTemplateReadModel readModel;
+    private final ToscaCascadeResolver cascadeResolver;
+    private final ToscaEntityCache toscaEntityCache;
+    private final ToscaPhaseTimer phaseTimer;
 
     /**
      * Retrieves a list of policy types matching specified policy type name and version.
@@ -81,6 +112,7 @@ public class ToscaServiceTemplateService {
      * @param policyTypeVersion the version of policy type
      * @return the ToscaServiceTemplate object
      */
+    @Transactional(readOnly = true)
     public ToscaServiceTemplate fetchPolicyTypes(final String policyTypeName, final String policyTypeVersion)
         throws PfModelException {
         final var policyTypeFilter =
@@ -89,17 +121,68 @@ public class ToscaServiceTemplateService {
     }
 
     /**
-     * Retrieves a list of policy types with the latest versions.
+     * Retrieves a list of policy types with the latest versions. The latest version is looked up in the version index
+     * of the read model when it is up to date.
      *
      * @param policyTypeName the name of policy type
      * @return the ToscaServiceTemplate object
      */
+    @Transactional(readOnly = true)
     public ToscaServiceTemplate fetchLatestPolicyTypes(final String policyTypeName) throws PfModelException {
+        final var currentSnapshot = readModel.current();
+        if (policyTypeName != null && currentSnapshot.isPresent()) {
+            final var snapshot = currentSnapshot.get();
+            final var latestKey = snapshot.getPolicyTypeVersions().getLatest(policyTypeName);
+            if (latestKey.isPresent()) {
+                final var cascadeBuilder = new ToscaCascadeBuilder(snapshot.getServiceTemplate(),
+                    snapshot.getTypeHierarchy()).addPolicyType(latestKey.get());
+                if (cascadeBuilder.isComplete()) {
+                    return cascadeBuilder.build().toAuthorative();
+                }
+            }
+        }
+
+        // not indexed, or missing or dangling, the filter gives the result or the proper error
         final var policyTypeFilter = ToscaEntityFilter.<ToscaPolicyType>builder()
             .name(policyTypeName).version(ToscaEntityFilter.LATEST_VERSION).build();
         return getFilteredPolicyTypes(policyTypeFilter);
     }
 
+    /**
+     * Retrieves a page of the policy types, in key order, from a single snapshot of the service template.
+     *
+     * @param afterKey the key of the last policy type of the previous page, null for the first page
+     * @param limit    the maximum number of policy types in the page
+     * @return the page, with the policy types of the page and the types they derive from and reference
+     * @throws PfModelException on errors getting the policy types
+     */
+    @Transactional(readOnly = true)
+    public ToscaServiceTemplatePage fetchPolicyTypePage(final PfConceptKey afterKey, final int limit)
+        throws PfModelException {
+        final var snapshot = getServiceTemplateSnapshot();
+        final var serviceTemplate = snapshot.getServiceTemplate();
+        final var pageKeys = getPageKeys(serviceTemplate.getPolicyTypes(), afterKey, limit);
+        if (!ToscaUtils.doPolicyTypesExist(serviceTemplate) || (afterKey == null && pageKeys.isEmpty())) {
+            throw new PfModelRuntimeException(Response.Status.NOT_FOUND,
+                "policy types for filter " + ToscaEntityFilter.<ToscaPolicyType>builder().build() + DO_NOT_EXIST_MSG);
+        }
+
+        final var returnServiceTemplate = new ToscaCascadeBuilder(serviceTemplate, snapshot.getTypeHierarchy())
+            .addPolicyTypes(pageKeys.subList(0, Math.min(limit, pageKeys.size()))).build();
+        return new ToscaServiceTemplatePage(returnServiceTemplate.toAuthorative(),
+            pageKeys.size() > limit ? pageKeys.get(limit - 1) : null);
+    }
+
+    /**
+     * Retrieves the name, version and parent type of every policy type, without converting the policy types.
+     *
+     * @return the summaries of the policy types, in key order
+     */
+    @Transactional(readOnly = true)
+    public List<ToscaEntitySummary> fetchPolicyTypeSummaries() {
+        return getServiceTemplateSnapshot().getPolicyTypeSummaries();
+    }
+
     /**
      * Creates a new policy type.
      *
@@ -109,22 +192,27 @@ public class ToscaServiceTemplateService {
      */
     public ToscaServiceTemplate createPolicyType(@NonNull final ToscaServiceTemplate body)
         throws PfModelRuntimeException {
-        final var incomingServiceTemplate = new JpaToscaServiceTemplate(body);
+        phaseTimer.recordEntities(CREATE_POLICY_TYPE, body);
+        final var incomingServiceTemplate =
+            phaseTimer.time(CREATE_POLICY_TYPE, Phase.CONSTRUCT, () -> new JpaToscaServiceTemplate(body));
         LOGGER.debug("->createPolicyType: serviceTemplate={}", incomingServiceTemplate);
 
         // assert incoming body contains policyTypes
         ToscaUtils.assertPolicyTypesExist(incomingServiceTemplate);
 
         // append the incoming fragment to the DB TOSCA service template
-        var dbServiceTemplateOpt = getDefaultJpaToscaServiceTemplateOpt();
-        JpaToscaServiceTemplate serviceTemplateToWrite;
-        serviceTemplateToWrite = dbServiceTemplateOpt.map(
-            jpaToscaServiceTemplate -> ToscaServiceTemplateUtils.addFragment(jpaToscaServiceTemplate,
-                incomingServiceTemplate)).orElse(incomingServiceTemplate);
-
-        final var result = serviceTemplateToWrite.validate("service template");
+        final var dbServiceTemplateOpt = phaseTimer.time(CREATE_POLICY_TYPE, Phase.LOAD,
+            () -> getDefaultJpaToscaServiceTemplateOpt(toscaServiceTemplateRepository::findWithPolicyTypesByKey));
+        final var serviceTemplateToWrite = phaseTimer.time(CREATE_POLICY_TYPE, Phase.MERGE,
+            () -> dbServiceTemplateOpt.map(jpaToscaServiceTemplate -> ToscaServiceTemplateOverlay
+                .appendFragment(jpaToscaServiceTemplate, incomingServiceTemplate)).orElse(incomingServiceTemplate));
+
+        final var result = phaseTimer.time(CREATE_POLICY_TYPE, Phase.VALIDATE,
+            () -> ToscaFragmentValidator.validate(serviceTemplateToWrite, incomingServiceTemplate, "service template"));
         if (result.isValid()) {
-            toscaServiceTemplateRepository.save(serviceTemplateToWrite);
+            phaseTimer.run(CREATE_POLICY_TYPE, Phase.SAVE,
+                () -> serviceTemplateWriter.saveAppended(dbServiceTemplateOpt.orElse(null), serviceTemplateToWrite));
+            readModel.appendAfterCommit(incomingServiceTemplate);
             LOGGER.debug("<-createPolicyType: writtenServiceTemplate={}", serviceTemplateToWrite);
         } else {
             throw new PfModelRuntimeException(Response.Status.NOT_ACCEPTABLE, result.getResult());
@@ -149,7 +237,8 @@ public class ToscaServiceTemplateService {
         // terminate deletion if supported in a PdpGroup
         pdpGroupService.assertPolicyTypeNotSupportedInPdpGroup(policyTypeName, policyTypeVersion);
 
-        final var serviceTemplate = getDefaultJpaToscaServiceTemplate();
+        final var serviceTemplate = phaseTimer.time(DELETE_POLICY_TYPE, Phase.LOAD,
+            () -> getDefaultJpaToscaServiceTemplate(toscaServiceTemplateRepository::findWithPolicyTypesByKey));
 
         // terminate deletion if not found
         if (!ToscaUtils.doPolicyTypesExist(serviceTemplate)) {
@@ -162,41 +251,46 @@ public class ToscaServiceTemplateService {
                 POLICY_TYPE + policyTypeKey.getId() + NOT_FOUND);
         }
 
-        final var result = new BeanValidationResult("policy types", serviceTemplate);
-
-        for (final var policyType : serviceTemplate.getPolicyTypes().getAll(null)) {
-            final var ancestorList = ToscaUtils
-                .getEntityTypeAncestors(serviceTemplate.getPolicyTypes(), policyType, result);
-            // terminate deletion if referenced by another via derived_from property
-            if (ancestorList.contains(policyTypeForDeletion)) {
-                throw new PfModelRuntimeException(Response.Status.NOT_ACCEPTABLE, POLICY_TYPE + policyTypeKey.getId()
-                    + " is in use, it is referenced in policy type " + policyType.getId());
-            }
-        }
-        if (ToscaUtils.doPoliciesExist(serviceTemplate)) {
-            for (final var policy : serviceTemplate.getTopologyTemplate().getPolicies().getAll(null)) {
-                // terminate deletion if referenced by a policy
-                if (policyTypeKey.equals(policy.getType())) {
-                    throw new PfModelRuntimeException(Response.Status.NOT_ACCEPTABLE, POLICY_TYPE
-                        + policyTypeKey.getId() + " is in use, it is referenced in policy " + policy.getId());
-                }
-            }
-        }
+        // terminate deletion if the policy type is referenced
+        phaseTimer.run(DELETE_POLICY_TYPE, Phase.CASCADE, () -> assertPolicyTypeNotReferenced(policyTypeKey));
 
         // remove policyType from service template and write to DB
         serviceTemplate.getPolicyTypes().getConceptMap().remove(policyTypeKey);
-        toscaServiceTemplateRepository.save(serviceTemplate);
+        phaseTimer.run(DELETE_POLICY_TYPE, Phase.SAVE, () -> {
+            toscaServiceTemplateRepository.save(serviceTemplate);
+            toscaEntityCache.evictAfterCommit();
 
-        // remove the entry from the Policy table
-        policyTypeService.deletePolicyType(policyTypeKey);
+            // remove the entry from the Policy table
+            policyTypeService.deletePolicyType(policyTypeKey);
+        });
 
         // prepare return service template object
         var deletedServiceTemplate = new JpaToscaServiceTemplate();
         deletedServiceTemplate.setPolicyTypes(new JpaToscaPolicyTypes());
         deletedServiceTemplate.getPolicyTypes().getConceptMap().put(policyTypeKey, policyTypeForDeletion);
+        readModel.removeAfterCommit(deletedServiceTemplate);
 
         LOGGER.debug("<-deletePolicyType: key={}, serviceTemplate={}", policyTypeKey, deletedServiceTemplate);
-        return deletedServiceTemplate.toAuthorative();
+        final var returnServiceTemplate =
+            phaseTimer.time(DELETE_POLICY_TYPE, Phase.CONVERT, deletedServiceTemplate::toAuthorative);
+        phaseTimer.recordEntities(DELETE_POLICY_TYPE, returnServiceTemplate);
+        return returnServiceTemplate;
+    }
+
+    // Check that no policy type derives from the policy type and no policy is of the policy type
+    private void assertPolicyTypeNotReferenced(final PfConceptKey policyTypeKey) {
+        // terminate deletion if referenced by another via derived_from property
+        final var derivedPolicyType = policyTypeService.findDerivedPolicyType(policyTypeKey);
+        if (derivedPolicyType.isPresent()) {
+            throw new PfModelRuntimeException(Response.Status.NOT_ACCEPTABLE, POLICY_TYPE + policyTypeKey.getId()
+                + " is in use, it is referenced in policy type " + derivedPolicyType.get().getId());
+        }
+        // terminate deletion if referenced by a policy
+        final var referencingPolicy = policyService.findPolicyOfType(policyTypeKey);
+        if (referencingPolicy.isPresent()) {
+            throw new PfModelRuntimeException(Response.Status.NOT_ACCEPTABLE, POLICY_TYPE + policyTypeKey.getId()
+                + " is in use, it is referenced in policy " + referencingPolicy.get().getId());
+        }
     }
 
     /**
@@ -210,6 +304,7 @@ public class ToscaServiceTemplateService {
      * @return the ToscaServiceTemplate object with the policies found
      * @throws PfModelException on errors getting the policy
      */
+    @Transactional(readOnly = true)
     public ToscaServiceTemplate fetchPolicies(final String policyTypeName, final String policyTypeVersion,
                                               final String policyName, final String policyVersion,
                                               final PolicyFetchMode mode) throws PfModelException {
@@ -226,13 +321,125 @@ public class ToscaServiceTemplateService {
      * @return the ToscaServiceTemplate object with the policies found
      * @throws PfModelException on errors getting the policy
      */
+    @Transactional(readOnly = true)
     public ToscaServiceTemplate fetchLatestPolicies(final String policyTypeName, final String policyTypeVersion,
                                                     final String policyName, final PolicyFetchMode mode)
         throws PfModelException {
+        final var currentSnapshot = readModel.current();
+        if (policyName != null && currentSnapshot.isPresent()) {
+            final var latestPolicies = getIndexedLatestPolicy(currentSnapshot.get(), policyTypeName,
+                policyTypeVersion, policyName);
+            if (latestPolicies.isPresent()) {
+                if (mode == null || PolicyFetchMode.BARE.equals(mode)) {
+                    latestPolicies.get().setPolicyTypes(null);
+                    latestPolicies.get().setDataTypes(null);
+                }
+                return latestPolicies.get().toAuthorative();
+            }
+        }
+
+        // not indexed, or missing or dangling, the filter gives the result or the proper error
         return getFilteredPolicies(policyTypeName, policyTypeVersion, policyName, ToscaTypedEntityFilter.LATEST_VERSION,
             mode);
     }
 
+    /**
+     * Retrieves a page of the policies, in key order, from a single snapshot of the service template.
+     *
+     * @param afterKey the key of the last policy of the previous page, null for the first page
+     * @param limit    the maximum number of policies in the page
+     * @param mode     the fetch mode for policies
+     * @return the page
+     * @throws PfModelException on errors getting the policies
+     */
+    @Transactional(readOnly = true)
+    public ToscaServiceTemplatePage fetchPolicyPage(final PfConceptKey afterKey, final int limit,
+                                                    final PolicyFetchMode mode) throws PfModelException {
+        final var snapshot = getServiceTemplateSnapshot();
+        final var serviceTemplate = snapshot.getServiceTemplate();
+        final var topologyTemplate = serviceTemplate.getTopologyTemplate();
+        final var pageKeys =
+            getPageKeys(topologyTemplate == null ? null : topologyTemplate.getPolicies(), afterKey, limit);
+        if (!ToscaUtils.doPolicyTypesExist(serviceTemplate) || (afterKey == null && pageKeys.isEmpty())) {
+            throw new PfModelRuntimeException(Response.Status.NOT_FOUND,
+                "policies for filter " + ToscaTypedEntityFilter.<ToscaPolicy>builder().build() + DO_NOT_EXIST_MSG);
+        }
+
+        final var returnServiceTemplate = new ToscaCascadeBuilder(serviceTemplate, snapshot.getTypeHierarchy())
+            .addPolicies(pageKeys.subList(0, Math.min(limit, pageKeys.size()))).build();
+        if (mode == null || PolicyFetchMode.BARE.equals(mode)) {
+            returnServiceTemplate.setPolicyTypes(null);
+            returnServiceTemplate.setDataTypes(null);
+        }
+        return new ToscaServiceTemplatePage(returnServiceTemplate.toAuthorative(),
+            pageKeys.size() > limit ? pageKeys.get(limit - 1) : null);
+    }
+
+    /**
+     * Retrieves a batch of policies by name and version from a single snapshot of the service template, cascading
+     * the types of all the found policies at once.
+     *
+     * @param identifiers the name and version of each policy
+     * @param mode        the fetch mode for policies
+     * @return the service template of the found policies and the identifiers of the policies not found
+     * @throws PfModelException if a found policy has dangling references
+     * @throws PfModelRuntimeException if the identifiers are invalid
+     */
+    @Transactional(readOnly = true)
+    public ToscaPolicyBatch fetchPolicyBatch(final List<ToscaConceptIdentifier> identifiers,
+                                             final PolicyFetchMode mode) throws PfModelException {
+        if (CollectionUtils.isEmpty(identifiers) || identifiers.size() > MAX_BATCH_GET_SIZE) {
+            throw new PfModelRuntimeException(Response.Status.BAD_REQUEST,
+                "batch of policies must hold from 1 to " + MAX_BATCH_GET_SIZE + " identifiers");
+        }
+
+        final var snapshot = getServiceTemplateSnapshot();
+        final var serviceTemplate = snapshot.getServiceTemplate();
+        final var topologyTemplate = serviceTemplate.getTopologyTemplate();
+        final var policies = topologyTemplate == null ? null : topologyTemplate.getPolicies();
+        final var foundKeys = new ArrayList<PfConceptKey>();
+        final var missing = new ArrayList<ToscaConceptIdentifier>();
+        for (final var identifier : identifiers) {
+            if (identifier == null || identifier.getName() == null || identifier.getVersion() == null) {
+                throw new PfModelRuntimeException(Response.Status.BAD_REQUEST,
+                    "policy identifier " + identifier + " must have a name and a version");
+            }
+            final var key = new PfConceptKey(identifier.getName(), identifier.getVersion());
+            if (policies != null && policies.get(key) != null) {
+                foundKeys.add(key);
+            } else {
+                missing.add(identifier);
+            }
+        }
+
+        final var cascadeBuilder =
+            new ToscaCascadeBuilder(serviceTemplate, snapshot.getTypeHierarchy()).addPolicies(foundKeys);
+        if (!cascadeBuilder.isComplete()) {
+            // the cascade of each policy reports its dangling references as before
+            for (final var key : foundKeys) {
+                new SimpleToscaProvider().getCascadedPolicies(serviceTemplate, key.getName(), key.getVersion());
+            }
+        }
+
+        final var returnServiceTemplate = cascadeBuilder.buildView();
+        if (mode == null || PolicyFetchMode.BARE.equals(mode)) {
+            returnServiceTemplate.setPolicyTypes(null);
+            returnServiceTemplate.setDataTypes(null);
+        }
+        LOGGER.debug("<-fetchPolicyBatch: found={}, missing={}", foundKeys.size(), missing);
+        return new ToscaPolicyBatch(returnServiceTemplate, missing);
+    }
+
+    /**
+     * Retrieves the name, version, type and type version of every policy, without converting the policies.
+     *
+     * @return the summaries of the policies, in key order
+     */
+    @Transactional(readOnly = true)
+    public List<ToscaEntitySummary> fetchPolicySummaries() {
+        return getServiceTemplateSnapshot().getPolicySummaries();
+    }
+
     /**
      * Creates one or more new policies for the same policy type name and version.
      *
@@ -252,27 +459,111 @@ public class ToscaServiceTemplateService {
      * @throws PfModelRuntimeException on errors creating the policy
      */
     public ToscaServiceTemplate createPolicies(final ToscaServiceTemplate body) throws PfModelRuntimeException {
-        final var incomingServiceTemplate = new JpaToscaServiceTemplate(body);
+        phaseTimer.recordEntities(CREATE_POLICIES, body);
+        final var dbServiceTemplate = loadForPolicyCreation();
+        final var incomingServiceTemplate =
+            phaseTimer.time(CREATE_POLICIES, Phase.CONSTRUCT, () -> new JpaToscaServiceTemplate(body));
+        final var serviceTemplateToWrite = appendPolicies(dbServiceTemplate, incomingServiceTemplate);
+
+        phaseTimer.run(CREATE_POLICIES, Phase.SAVE,
+            () -> serviceTemplateWriter.saveAppended(dbServiceTemplate, serviceTemplateToWrite));
+        readModel.appendAfterCommit(incomingServiceTemplate);
+
+        LOGGER.debug("<-appendServiceTemplateFragment: returnServiceTemplate={}", serviceTemplateToWrite);
+        return body;
+    }
+
+    /**
+     * Creates the policies of several requests in one transaction. The fragments of all the requests are merged and
+     * the service template is validated and saved once; if that fails, the requests are applied one after the other
+     * so that each one that is rejected gets the same error it would get on its own and the others are still saved.
+     *
+     * @param bodies the entity bodies of the requests
+     * @return the outcome of each request, in the same order, holding its body or the error that rejected it
+     */
+    public List<WriteOutcome<ToscaServiceTemplate>> createPoliciesBatch(
+        @NonNull final List<ToscaServiceTemplate> bodies) {
+        if (bodies.isEmpty()) {
+            return List.of();
+        }
+        bodies.forEach(body -> phaseTimer.recordEntities(CREATE_POLICIES, body));
+        final var dbServiceTemplate = loadForPolicyCreation();
+
+        final var outcomes = new ArrayList<WriteOutcome<ToscaServiceTemplate>>(bodies.size());
+        JpaToscaServiceTemplate serviceTemplateToWrite = null;
+        JpaToscaServiceTemplate appendedFragment = null;
+        try {
+            final var mergedFragment = mergeFragments(bodies);
+            serviceTemplateToWrite = appendPolicies(dbServiceTemplate, mergedFragment);
+            appendedFragment = mergedFragment;
+            bodies.forEach(body -> outcomes.add(WriteOutcome.success(body)));
+        } catch (RuntimeException exception) {
+            LOGGER.debug("batch of {} policy creations rejected, applying them one by one", bodies.size(), exception);
+            var serviceTemplate = dbServiceTemplate;
+            for (final var body : bodies) {
+                try {
+                    final var incomingServiceTemplate =
+                        phaseTimer.time(CREATE_POLICIES, Phase.CONSTRUCT, () -> new JpaToscaServiceTemplate(body));
+                    serviceTemplate = appendPolicies(serviceTemplate, incomingServiceTemplate);
+                    serviceTemplateToWrite = serviceTemplate;
+                    appendedFragment = appendedFragment == null ? incomingServiceTemplate
+                        : ToscaServiceTemplateOverlay.append(appendedFragment, incomingServiceTemplate);
+                    outcomes.add(WriteOutcome.success(body));
+                } catch (RuntimeException bodyException) {
+                    outcomes.add(WriteOutcome.failure(bodyException));
+                }
+            }
+        }
+
+        if (serviceTemplateToWrite != null) {
+            final var writtenServiceTemplate = serviceTemplateToWrite;
+            phaseTimer.run(CREATE_POLICIES, Phase.SAVE,
+                () -> serviceTemplateWriter.saveAppended(dbServiceTemplate, writtenServiceTemplate));
+            readModel.appendAfterCommit(appendedFragment);
+            LOGGER.debug("<-createPolicies: {} of {} requests written", outcomes.stream()
+                .filter(WriteOutcome::isSuccess).count(), bodies.size());
+        }
+        return outcomes;
+    }
+
+    // Load the service template to append policies to
+    private JpaToscaServiceTemplate loadForPolicyCreation() {
+        return phaseTimer.time(CREATE_POLICIES, Phase.LOAD,
+            () -> getDefaultJpaToscaServiceTemplateOpt(toscaServiceTemplateRepository::findWithPoliciesByKey))
+            .orElse(null);
+    }
+
+    // Merge the policies of the requests into one fragment
+    private JpaToscaServiceTemplate mergeFragments(final List<ToscaServiceTemplate> bodies) {
+        JpaToscaServiceTemplate fragment = null;
+        for (final var body : bodies) {
+            final var incomingServiceTemplate =
+                phaseTimer.time(CREATE_POLICIES, Phase.CONSTRUCT, () -> new JpaToscaServiceTemplate(body));
+            ToscaUtils.assertPoliciesExist(incomingServiceTemplate);
+            final var mergedFragment = fragment;
+            fragment = fragment == null ? incomingServiceTemplate : phaseTimer.time(CREATE_POLICIES, Phase.MERGE,
+                () -> ToscaServiceTemplateOverlay.appendFragment(mergedFragment, incomingServiceTemplate));
+        }
+        return fragment;
+    }
 
+    // Append the policies of a request to a service template, which is not modified, and validate the result
+    private JpaToscaServiceTemplate appendPolicies(final JpaToscaServiceTemplate serviceTemplate,
+                                                   final JpaToscaServiceTemplate incomingServiceTemplate) {
         // assert incoming body contains policies
         ToscaUtils.assertPoliciesExist(incomingServiceTemplate);
 
         // append the incoming fragment to the DB TOSCA service template
-        var dbServiceTemplateOpt = getDefaultJpaToscaServiceTemplateOpt();
-        JpaToscaServiceTemplate serviceTemplateToWrite;
-        serviceTemplateToWrite = dbServiceTemplateOpt.map(
-            jpaToscaServiceTemplate -> ToscaServiceTemplateUtils.addFragment(jpaToscaServiceTemplate,
-                incomingServiceTemplate)).orElse(incomingServiceTemplate);
+        final var serviceTemplateToWrite = serviceTemplate == null ? incomingServiceTemplate
+            : phaseTimer.time(CREATE_POLICIES, Phase.MERGE,
+                () -> ToscaServiceTemplateOverlay.appendFragment(serviceTemplate, incomingServiceTemplate));
 
-        final var result = serviceTemplateToWrite.validate("Policies CRUD service template.");
+        final var result = phaseTimer.time(CREATE_POLICIES, Phase.VALIDATE, () -> ToscaFragmentValidator
+            .validate(serviceTemplateToWrite, incomingServiceTemplate, "Policies CRUD service template."));
         if (!result.isValid()) {
             throw new PfModelRuntimeException(Response.Status.NOT_ACCEPTABLE, result.getResult());
         }
-
-        toscaServiceTemplateRepository.save(serviceTemplateToWrite);
-
-        LOGGER.debug("<-appendServiceTemplateFragment: returnServiceTemplate={}", serviceTemplateToWrite);
-        return body;
+        return serviceTemplateToWrite;
     }
 
     /**
@@ -291,7 +582,8 @@ public class ToscaServiceTemplateService {
         // terminate if deployed in a PdpGroup
         pdpGroupService.assertPolicyNotDeployedInPdpGroup(policyName, policyVersion);
 
-        final var serviceTemplate = getDefaultJpaToscaServiceTemplate();
+        final var serviceTemplate = phaseTimer.time(DELETE_POLICY, Phase.LOAD,
+            () -> getDefaultJpaToscaServiceTemplate(toscaServiceTemplateRepository::findWithPoliciesByKey));
 
         // terminate deletion if not found
         if (!ToscaUtils.doPoliciesExist(serviceTemplate)) {
@@ -305,19 +597,26 @@ public class ToscaServiceTemplateService {
 
         // remove policy from service template and write to DB
         serviceTemplate.getTopologyTemplate().getPolicies().getConceptMap().remove(policyKey);
-        toscaServiceTemplateRepository.save(serviceTemplate);
+        phaseTimer.run(DELETE_POLICY, Phase.SAVE, () -> {
+            toscaServiceTemplateRepository.save(serviceTemplate);
+            toscaEntityCache.evictAfterCommit();
 
-        // remove the entry from the Policy table
-        policyService.deletePolicy(policyKey);
+            // remove the entry from the Policy table
+            policyService.deletePolicy(policyKey);
+        });
 
         // prepare return service template object
         var deletedServiceTemplate = new JpaToscaServiceTemplate();
         deletedServiceTemplate.setTopologyTemplate(new JpaToscaTopologyTemplate());
         deletedServiceTemplate.getTopologyTemplate().setPolicies(new JpaToscaPolicies());
         deletedServiceTemplate.getTopologyTemplate().getPolicies().getConceptMap().put(policyKey, policyForDeletion);
+        readModel.removeAfterCommit(deletedServiceTemplate);
 
         LOGGER.debug("<-deletePolicy: key={}, serviceTemplate={}", policyKey, deletedServiceTemplate);
-        return deletedServiceTemplate.toAuthorative();
+        final var returnServiceTemplate =
+            phaseTimer.time(DELETE_POLICY, Phase.CONVERT, deletedServiceTemplate::toAuthorative);
+        phaseTimer.recordEntities(DELETE_POLICY, returnServiceTemplate);
+        return returnServiceTemplate;
     }
 
     /**
@@ -329,7 +628,9 @@ public class ToscaServiceTemplateService {
      */
     public ToscaServiceTemplate getFilteredPolicyTypes(final ToscaEntityFilter<ToscaPolicyType> policyTypeFilter)
         throws PfModelException {
-        final var dbServiceTemplate = getDefaultJpaToscaServiceTemplate();
+        final var source = phaseTimer.time(GET_FILTERED_POLICY_TYPES, Phase.LOAD,
+            () -> getPolicyTypeSource(policyTypeFilter.getName(), policyTypeFilter.getVersion()));
+        final var dbServiceTemplate = source.serviceTemplate();
         LOGGER.debug("->getFilteredPolicyTypes: filter={}, serviceTemplate={}", policyTypeFilter, dbServiceTemplate);
 
         // validate that policyTypes exist in db
@@ -340,13 +641,37 @@ public class ToscaServiceTemplateService {
 
         var version = ToscaTypedEntityFilter.LATEST_VERSION
             .equals(policyTypeFilter.getVersion()) ? null : policyTypeFilter.getVersion();
-        // fetch all polices and filter by policyType, policy name and version
-        final var serviceTemplate = new SimpleToscaProvider()
-            .getCascadedPolicyTypes(dbServiceTemplate, policyTypeFilter.getName(), version);
-        var simpleToscaProvider = new SimpleToscaProvider();
+        // find the policy types by name and version, the cascade reports any missing ones as before
+        final var candidatePolicyTypes = findEntities(dbServiceTemplate.getPolicyTypes(), policyTypeFilter.getName(),
+            version);
+        final var typeHierarchy = source.typeHierarchy();
+        final var cascadeBuilder = phaseTimer.time(GET_FILTERED_POLICY_TYPES, Phase.CASCADE, () -> {
+            final var candidateCascade = new ToscaCascadeBuilder(dbServiceTemplate, typeHierarchy)
+                .addPolicyTypes(candidatePolicyTypes.stream().map(JpaToscaPolicyType::getKey).toList());
+            if (candidatePolicyTypes.isEmpty() || !candidateCascade.isComplete()) {
+                new SimpleToscaProvider().getCascadedPolicyTypes(dbServiceTemplate, policyTypeFilter.getName(),
+                    version);
+            }
+            return candidateCascade;
+        });
+        if (policyTypeFilter.getName() == null && policyTypeFilter.getVersion() == null
+            && !candidatePolicyTypes.isEmpty()) {
+            // nothing to filter, the policy types are converted as the result is encoded
+            LOGGER.debug("<-getFilteredPolicyTypes: filter={}, policyTypes={}", policyTypeFilter,
+                candidatePolicyTypes.size());
+            final var serviceTemplateView = cascadeBuilder.buildView();
+            phaseTimer.recordEntities(GET_FILTERED_POLICY_TYPES, serviceTemplateView);
+            return serviceTemplateView;
+        }
 
-        List<ToscaPolicyType> filteredPolicyTypes = serviceTemplate.getPolicyTypes().toAuthorativeList();
-        filteredPolicyTypes = policyTypeFilter.filter(filteredPolicyTypes);
+        List<ToscaPolicyType> filteredPolicyTypes = phaseTimer.time(GET_FILTERED_POLICY_TYPES, Phase.CONVERT,
+            () -> candidatePolicyTypes.stream().map(JpaToscaPolicyType::toAuthorative).toList());
+        if (ToscaTypedEntityFilter.LATEST_VERSION.equals(policyTypeFilter.getVersion())) {
+            filteredPolicyTypes = filterLatestVersions(ToscaEntityFilter.<ToscaPolicyType>builder()
+                .name(policyTypeFilter.getName()).build().filter(filteredPolicyTypes));
+        } else {
+            filteredPolicyTypes = policyTypeFilter.filter(filteredPolicyTypes);
+        }
 
         // validate that filtered policyTypes exist
         if (CollectionUtils.isEmpty(filteredPolicyTypes)) {
@@ -354,18 +679,18 @@ public class ToscaServiceTemplateService {
                 "policy types for filter " + policyTypeFilter + DO_NOT_EXIST_MSG);
         }
 
-        // prepare return service template object
-        var returnServiceTemplate = new JpaToscaServiceTemplate();
-        for (var policyType : filteredPolicyTypes) {
-            final var cascadedServiceTemplate = simpleToscaProvider
-                .getCascadedPolicyTypes(dbServiceTemplate, policyType.getName(), policyType.getVersion());
-            returnServiceTemplate =
-                ToscaServiceTemplateUtils.addFragment(returnServiceTemplate, cascadedServiceTemplate);
-        }
+        // prepare return service template object, cascading all filtered policy types at once
+        final var filteredKeys = filteredPolicyTypes.stream()
+            .map(policyType -> new PfConceptKey(policyType.getName(), policyType.getVersion())).toList();
+        final var returnServiceTemplate = phaseTimer.time(GET_FILTERED_POLICY_TYPES, Phase.CASCADE,
+            () -> new ToscaCascadeBuilder(dbServiceTemplate, typeHierarchy).addPolicyTypes(filteredKeys).build());
 
         LOGGER.debug("<-getFilteredPolicyTypes: filter={}, serviceTemplate={}", policyTypeFilter,
             returnServiceTemplate);
-        return returnServiceTemplate.toAuthorative();
+        final var authorativeServiceTemplate =
+            phaseTimer.time(GET_FILTERED_POLICY_TYPES, Phase.CONVERT, returnServiceTemplate::toAuthorative);
+        phaseTimer.recordEntities(GET_FILTERED_POLICY_TYPES, authorativeServiceTemplate);
+        return authorativeServiceTemplate;
 
     }
 
@@ -383,7 +708,9 @@ public class ToscaServiceTemplateService {
                                                      final PolicyFetchMode mode) throws PfModelException {
         final var policyFilter = ToscaTypedEntityFilter.<ToscaPolicy>builder()
             .name(policyName).version(policyVersion).type(policyTypeName).typeVersion(policyTypeVersion).build();
-        final var dbServiceTemplate = getDefaultJpaToscaServiceTemplate();
+        final var source = phaseTimer.time(GET_FILTERED_POLICIES, Phase.LOAD,
+            () -> getPolicySource(policyTypeName, policyTypeVersion, policyName, policyVersion));
+        final var dbServiceTemplate = source.serviceTemplate();
         LOGGER.debug("<-getFilteredPolicies: filter={}, serviceTemplate={}", policyFilter, dbServiceTemplate);
 
         // validate that policies exist in db
@@ -395,14 +722,41 @@ public class ToscaServiceTemplateService {
         final var version =
             ToscaTypedEntityFilter.LATEST_VERSION.equals(policyFilter.getVersion()) ? null : policyFilter.getVersion();
 
-        // fetch all polices and filter by policyType, policy name and version
-        final var simpleToscaProvider = new SimpleToscaProvider();
-        final var serviceTemplate =
-            simpleToscaProvider.getCascadedPolicies(dbServiceTemplate, policyFilter.getName(), version);
+        // find the policies by name and version, the cascade reports any missing ones as before
+        final var topologyTemplate = dbServiceTemplate.getTopologyTemplate();
+        final var candidatePolicies = findEntities(topologyTemplate == null ? null : topologyTemplate.getPolicies(),
+            policyFilter.getName(), version);
+        final var typeHierarchy = source.typeHierarchy();
+        final var cascadeBuilder = phaseTimer.time(GET_FILTERED_POLICIES, Phase.CASCADE, () -> {
+            final var candidateCascade = new ToscaCascadeBuilder(dbServiceTemplate, typeHierarchy)
+                .addPolicies(candidatePolicies.stream().map(JpaToscaPolicy::getKey).toList());
+            if (candidatePolicies.isEmpty() || !candidateCascade.isComplete()) {
+                new SimpleToscaProvider().getCascadedPolicies(dbServiceTemplate, policyFilter.getName(), version);
+            }
+            return candidateCascade;
+        });
+        if (policyTypeName == null && policyTypeVersion == null && policyName == null && policyVersion == null
+            && !candidatePolicies.isEmpty()) {
+            // nothing to filter, the policies are converted as the result is encoded
+            final var serviceTemplateView = cascadeBuilder.buildView();
+            if (mode == null || PolicyFetchMode.BARE.equals(mode)) {
+                serviceTemplateView.setPolicyTypes(null);
+                serviceTemplateView.setDataTypes(null);
+            }
+            LOGGER.debug("<-getFilteredPolicies: filter={}, policies={}", policyFilter, candidatePolicies.size());
+            phaseTimer.recordEntities(GET_FILTERED_POLICIES, serviceTemplateView);
+            return serviceTemplateView;
+        }
 
-        var filteredPolicies = serviceTemplate.getTopologyTemplate()
-            .getPolicies().toAuthorativeList();
-        filteredPolicies = policyFilter.filter(filteredPolicies);
+        // filter by policyType, policy name and version
+        List<ToscaPolicy> filteredPolicies = phaseTimer.time(GET_FILTERED_POLICIES, Phase.CONVERT,
+            () -> candidatePolicies.stream().map(JpaToscaPolicy::toAuthorative).toList());
+        if (ToscaTypedEntityFilter.LATEST_VERSION.equals(policyFilter.getVersion())) {
+            filteredPolicies = filterLatestVersions(ToscaTypedEntityFilter.<ToscaPolicy>builder().name(policyName)
+                .type(policyTypeName).typeVersion(policyTypeVersion).build().filter(filteredPolicies));
+        } else {
+            filteredPolicies = policyFilter.filter(filteredPolicies);
+        }
 
         // validate that filtered policies exist
         if (CollectionUtils.isEmpty(filteredPolicies)) {
@@ -410,21 +764,21 @@ public class ToscaServiceTemplateService {
                 "policies for filter " + policyFilter + DO_NOT_EXIST_MSG);
         }
 
-        // prepare return service template object
-        var returnServiceTemplate = new JpaToscaServiceTemplate();
-        for (var policy : filteredPolicies) {
-            final var cascadedServiceTemplate = simpleToscaProvider
-                .getCascadedPolicies(dbServiceTemplate, policy.getName(), policy.getVersion());
-            returnServiceTemplate =
-                ToscaServiceTemplateUtils.addFragment(returnServiceTemplate, cascadedServiceTemplate);
-        }
+        // prepare return service template object, cascading all filtered policies at once
+        final var filteredKeys = filteredPolicies.stream()
+            .map(policy -> new PfConceptKey(policy.getName(), policy.getVersion())).toList();
+        final var returnServiceTemplate = phaseTimer.time(GET_FILTERED_POLICIES, Phase.CASCADE,
+            () -> new ToscaCascadeBuilder(dbServiceTemplate, typeHierarchy).addPolicies(filteredKeys).build());
 
         if (mode == null || PolicyFetchMode.BARE.equals(mode)) {
             returnServiceTemplate.setPolicyTypes(null);
             returnServiceTemplate.setDataTypes(null);
         }
         LOGGER.debug("<-getFilteredPolicies: filter={}, , serviceTemplate={}", policyFilter, returnServiceTemplate);
-        return returnServiceTemplate.toAuthorative();
+        final var authorativeServiceTemplate =
+            phaseTimer.time(GET_FILTERED_POLICIES, Phase.CONVERT, returnServiceTemplate::toAuthorative);
+        phaseTimer.recordEntities(GET_FILTERED_POLICIES, authorativeServiceTemplate);
+        return authorativeServiceTemplate;
     }
 
     /**
@@ -451,14 +805,17 @@ public class ToscaServiceTemplateService {
             }
         }
         // append the incoming fragment to the DB TOSCA service template
-        final var serviceTemplateToWrite =
-            ToscaServiceTemplateUtils.addFragment(getDefaultJpaToscaServiceTemplate(), incomingServiceTemplate);
+        final var serviceTemplateToWrite = ToscaServiceTemplateUtils.addFragment(
+            getDefaultJpaToscaServiceTemplate(toscaServiceTemplateRepository::findWithNodeTemplatesByKey),
+            incomingServiceTemplate);
 
         final var result = serviceTemplateToWrite.validate("service template.");
         if (!result.isValid()) {
             throw new PfModelRuntimeException(Response.Status.NOT_ACCEPTABLE, result.getResult());
         }
         toscaServiceTemplateRepository.save(serviceTemplateToWrite);
+        toscaEntityCache.evictAfterCommit();
+        readModel.appendAfterCommit(incomingServiceTemplate);
         LOGGER.debug("<-createdToscaNodeTemplates: writtenServiceTemplate={}", serviceTemplateToWrite);
 
         return serviceTemplate;
@@ -478,6 +835,7 @@ public class ToscaServiceTemplateService {
 
         ToscaUtils.assertNodeTemplatesExist(incomingServiceTemplate);
         nodeTemplateService.updateToscaNodeTemplates(incomingServiceTemplate);
+        readModel.invalidateAfterCommit();
 
         LOGGER.debug("<-updatedToscaNodeTemplates: serviceTemplate={}", serviceTemplate);
         return incomingServiceTemplate.toAuthorative();
@@ -496,7 +854,8 @@ public class ToscaServiceTemplateService {
         throws PfModelException {
         LOGGER.debug("->deleteToscaNodeTemplate: name={}, version={}", name, version);
 
-        JpaToscaServiceTemplate dbServiceTemplate = getDefaultJpaToscaServiceTemplate();
+        JpaToscaServiceTemplate dbServiceTemplate =
+            getDefaultJpaToscaServiceTemplate(toscaServiceTemplateRepository::findWithNodeTemplatesByKey);
         final var nodeTemplateKey = new PfConceptKey(name, version);
 
         if (!ToscaUtils.doNodeTemplatesExist(dbServiceTemplate)) {
@@ -513,6 +872,7 @@ public class ToscaServiceTemplateService {
 
         dbServiceTemplate.getTopologyTemplate().getNodeTemplates().getConceptMap().remove(nodeTemplateKey);
         toscaServiceTemplateRepository.save(dbServiceTemplate);
+        toscaEntityCache.evictAfterCommit();
 
         // remove the entry from the tosca node template table
         nodeTemplateService.deleteNodeTemplate(nodeTemplateKey);
@@ -523,6 +883,7 @@ public class ToscaServiceTemplateService {
         deletedServiceTemplate.getTopologyTemplate().setNodeTemplates(new JpaToscaNodeTemplates());
         deletedServiceTemplate.getTopologyTemplate().getNodeTemplates().getConceptMap()
             .put(nodeTemplateKey, nodeTemplate4Deletion);
+        readModel.removeAfterCommit(deletedServiceTemplate);
 
         LOGGER.debug("<-deleteToscaNodeTemplate: key={}, serviceTemplate={}", nodeTemplateKey, deletedServiceTemplate);
         return deletedServiceTemplate.toAuthorative();
@@ -537,12 +898,13 @@ public class ToscaServiceTemplateService {
      * @return the node templates with the specified key
      * @throws PfModelException on errors getting node templates
      */
+    @Transactional(readOnly = true)
     public List<ToscaNodeTemplate> fetchToscaNodeTemplates(final String name, final String version)
         throws PfModelException {
         LOGGER.debug("->getNodeTemplate: name={}, version={}", name, version);
         List<ToscaNodeTemplate> nodeTemplates = new ArrayList<>();
 
-        var dbServiceTemplate = getDefaultJpaToscaServiceTemplate();
+        var dbServiceTemplate = getServiceTemplateSnapshot().getServiceTemplate();
         //Return empty if no nodeTemplates present in db
         if (!ToscaUtils.doNodeTemplatesExist(dbServiceTemplate)) {
             return nodeTemplates;
@@ -569,7 +931,19 @@ public class ToscaServiceTemplateService {
      * @throws PfModelRuntimeException if service template not found in database.
      */
     public JpaToscaServiceTemplate getDefaultJpaToscaServiceTemplate() throws PfModelRuntimeException {
-        final var defaultServiceTemplateOpt = getDefaultJpaToscaServiceTemplateOpt();
+        return getDefaultJpaToscaServiceTemplate(toscaServiceTemplateRepository::findById);
+    }
+
+    /**
+     * Get Service Template, loaded with the fetch plan of a use case.
+     *
+     * @param fetchPlan the repository finder of the fetch plan
+     * @return the Service Template read from the database
+     * @throws PfModelRuntimeException if service template not found in database.
+     */
+    private JpaToscaServiceTemplate getDefaultJpaToscaServiceTemplate(
+        final Function<PfConceptKey, Optional<JpaToscaServiceTemplate>> fetchPlan) throws PfModelRuntimeException {
+        final var defaultServiceTemplateOpt = getDefaultJpaToscaServiceTemplateOpt(fetchPlan);
         if (defaultServiceTemplateOpt.isEmpty()) {
             throw new PfModelRuntimeException(Response.Status.NOT_FOUND, SERVICE_TEMPLATE_NOT_FOUND_MSG);
         }
@@ -578,12 +952,196 @@ public class ToscaServiceTemplateService {
     }
 
     /**
-     * Get Service Template Optional object.
+     * Get the cascade of the latest version of a policy of a given type, using the version index of a snapshot: the
+     * versions are visited latest first until one of the given type is found.
+     *
+     * @param snapshot          the snapshot to look the policy up in
+     * @param policyTypeName    the name of the policy type, null for any policy type
+     * @param policyTypeVersion the version of the policy type, null for any version
+     * @param policyName        the name of the policy
+     * @return the cascaded service template of the latest version of the policy, empty if there is none or its
+     *         cascade is not complete
+     */
+    private static Optional<JpaToscaServiceTemplate> getIndexedLatestPolicy(final ToscaServiceTemplateSnapshot snapshot,
+                                                                             final String policyTypeName,
+                                                                             final String policyTypeVersion,
+                                                                             final String policyName) {
+        for (final var policyKey : snapshot.getPolicyVersions().getVersionsLatestFirst(policyName)) {
+            final var policyType =
+                snapshot.getServiceTemplate().getTopologyTemplate().getPolicies().get(policyKey).getType();
+            if (policyType == null) {
+                return Optional.empty();
+            }
+            if ((policyTypeName == null || policyTypeName.equals(policyType.getName()))
+                && (policyTypeVersion == null || policyTypeVersion.equals(policyType.getVersion()))) {
+                final var cascadeBuilder = new ToscaCascadeBuilder(snapshot.getServiceTemplate(),
+                    snapshot.getTypeHierarchy()).addPolicy(policyKey);
+                return cascadeBuilder.isComplete() ? Optional.of(cascadeBuilder.build()) : Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Keep the latest version of each entity, in the numeric order of the version index of the read model, so that
+     * the latest version is the same whether it is looked up in the index or filtered here; 1.10.0 is later than
+     * 1.9.0.
+     *
+     * @param entities the entities
+     * @return the latest version of each entity, in the order of the entities
+     */
+    private static <T extends ToscaEntity> List<T> filterLatestVersions(final List<T> entities) {
+        final var versionIndex = new ToscaVersionIndex(entities.stream()
+            .map(entity -> new PfConceptKey(entity.getName(), entity.getVersion())).toList());
+        return entities.stream().filter(entity -> versionIndex.getLatest(entity.getName())
+            .filter(latestKey -> latestKey.getVersion().equals(entity.getVersion())).isPresent()).toList();
+    }
+
+    /**
+     * Find the entities of a container with the given name and version.
+     *
+     * @param container the container to search, may be null
+     * @param name      the name of the entities, null for all names
+     * @param version   the version of the entities, null for all versions
+     * @return the entities found, in key order
+     */
+    private static <C extends PfConcept> List<C> findEntities(final PfConceptContainer<C, ?> container,
+                                                              final String name, final String version) {
+        if (container == null) {
+            return List.of();
+        }
+        return container.getConceptMap().entrySet().stream()
+            .filter(entry -> (name == null || name.equals(entry.getKey().getName()))
+                && (version == null || version.equals(entry.getKey().getVersion())))
+            .map(Map.Entry::getValue).toList();
+    }
+
+    /**
+     * Get the keys of a page of the entities of a container, plus the key of the first entity of the next page if
+     * there is one.
+     *
+     * @param container the container, may be null
+     * @param afterKey  the key the page starts after, null to start at the first entity
+     * @param limit     the maximum number of entities in the page
+     * @return the keys, in key order
+     */
+    private static List<PfConceptKey> getPageKeys(final PfConceptContainer<?, ?> container,
+                                                  final PfConceptKey afterKey, final int limit) {
+        if (container == null) {
+            return List.of();
+        }
+        if (container.getConceptMap() instanceof NavigableMap<PfConceptKey, ?> sortedMap) {
+            // containers built in memory are sorted already, the page is read straight off the map
+            final var tailMap = afterKey == null ? sortedMap : sortedMap.tailMap(afterKey, false);
+            return tailMap.keySet().stream().limit(limit + 1L).toList();
+        }
+        return container.getConceptMap().keySet().stream()
+            .filter(key -> afterKey == null || key.compareTo(afterKey) > 0)
+            .sorted().limit(limit + 1L).toList();
+    }
+
+    /**
+     * Get the service template to look up policies in. When a policy name or else a policy type name is given, only
+     * the matching policies and the types they reference are resolved, from the read model if it is up to date or
+     * from the database otherwise.
+     *
+     * @param policyTypeName    the name of the policy type, null for all policy types
+     * @param policyTypeVersion the version of the policy type, null for all versions
+     * @param policyName        the name of the policy, null for all policies
+     * @param policyVersion     the version of the policy, null or latest for all versions
+     * @return the service template to look up policies in, which must not be modified, and its type hierarchy
+     */
+    private LookupSource getPolicySource(final String policyTypeName, final String policyTypeVersion,
+                                         final String policyName, final String policyVersion) {
+        final var currentSnapshot = readModel.current();
+        Optional<JpaToscaServiceTemplate> closure = Optional.empty();
+        if (policyName != null) {
+            closure = currentSnapshot.isPresent()
+                ? cascadeResolver.resolvePolicies(currentSnapshot.get(), policyName, policyVersion)
+                : cascadeResolver.resolvePolicies(policyName, policyVersion);
+        } else if (policyTypeName != null) {
+            closure = currentSnapshot.isPresent()
+                ? cascadeResolver.resolvePoliciesByType(currentSnapshot.get(), policyTypeName, policyTypeVersion)
+                : cascadeResolver.resolvePoliciesByType(policyTypeName, policyTypeVersion);
+        }
+        if (closure.isPresent()) {
+            return LookupSource.of(closure.get());
+        }
+        // nothing resolved, the full service template gives the proper error
+        return LookupSource.of(getServiceTemplateSnapshot());
+    }
+
+    /**
+     * Get the service template to look up policy types in. When a policy type name is given, only the matching policy
+     * types and their ancestors and data types are resolved.
+     *
+     * @param policyTypeName    the name of the policy type, null for all policy types
+     * @param policyTypeVersion the version of the policy type, null or latest for all versions
+     * @return the service template to look up policy types in, which must not be modified, and its type hierarchy
+     */
+    private LookupSource getPolicyTypeSource(final String policyTypeName, final String policyTypeVersion) {
+        if (policyTypeName != null) {
+            final var currentSnapshot = readModel.current();
+            final var closure = currentSnapshot.isPresent()
+                ? cascadeResolver.resolvePolicyTypes(currentSnapshot.get(), policyTypeName, policyTypeVersion)
+                : cascadeResolver.resolvePolicyTypes(policyTypeName, policyTypeVersion);
+            if (closure.isPresent()) {
+                return LookupSource.of(closure.get());
+            }
+        }
+        return LookupSource.of(getServiceTemplateSnapshot());
+    }
+
+    /**
+     * A service template to look entities up in, with its type hierarchy. The hierarchy of a snapshot is the one the
+     * snapshot already holds; that of a resolved closure is built, the closure being small.
+     */
+    private record LookupSource(JpaToscaServiceTemplate serviceTemplate, ToscaTypeHierarchy typeHierarchy) {
+
+        static LookupSource of(final ToscaServiceTemplateSnapshot snapshot) {
+            return new LookupSource(snapshot.getServiceTemplate(), snapshot.getTypeHierarchy());
+        }
+
+        static LookupSource of(final JpaToscaServiceTemplate closure) {
+            return new LookupSource(closure, new ToscaTypeHierarchy(closure));
+        }
+    }
+
+    /**
+     * Get the snapshot of the service template used to serve reads, loading it from the database if the read model
+     * holds no up to date snapshot.
+     *
+     * @return the snapshot, whose service template must not be modified
+     * @throws PfModelRuntimeException if service template not found in database.
+     */
+    private ToscaServiceTemplateSnapshot getServiceTemplateSnapshot() throws PfModelRuntimeException {
+        final var currentSnapshot = readModel.current();
+        if (currentSnapshot.isPresent()) {
+            return currentSnapshot.get();
+        }
+
+        // capture the revision before loading, so a write committing during the load discards this snapshot
+        final var revision = readModel.getRevision();
+        if (ReadReplicaRoutingDataSource.isReadingFromReplica()) {
+            // the replica may not have the writes of the revision yet, the snapshot only serves this read
+            return new ToscaServiceTemplateSnapshot(revision, getDefaultJpaToscaServiceTemplate());
+        }
+        final var loadedSnapshot = new ToscaServiceTemplateSnapshot(revision,
+            ReadReplicaRoutingDataSource.readFromPrimary(this::getDefaultJpaToscaServiceTemplate));
+        readModel.publish(loadedSnapshot);
+        return loadedSnapshot;
+    }
+
+    /**
+     * Get Service Template Optional object, loaded with the fetch plan of a use case so that only the parts of the
+     * service template the use case works on are fetched up front.
      *
+     * @param fetchPlan the repository finder of the fetch plan
      * @return the Optional object for Service Template read from the database
      */
-    private Optional<JpaToscaServiceTemplate> getDefaultJpaToscaServiceTemplateOpt() {
-        return toscaServiceTemplateRepository
-            .findById(new PfConceptKey(JpaToscaServiceTemplate.DEFAULT_NAME, JpaToscaServiceTemplate.DEFAULT_VERSION));
+    private Optional<JpaToscaServiceTemplate> getDefaultJpaToscaServiceTemplateOpt(
+        final Function<PfConceptKey, Optional<JpaToscaServiceTemplate>> fetchPlan) {
+        return fetchPlan
+            .apply(new PfConceptKey(JpaToscaServiceTemplate.DEFAULT_NAME, JpaToscaServiceTemplate.DEFAULT_VERSION));
     }
 }
\ No newline at end of file
@@ -0,0 +1,181 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.service;
+
+import java.util.Collection;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import org.onap.policy.api.main.rest.ToscaEntitySummary;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+
+/**
+ * Detached, point-in-time copy of the default TOSCA service template. A snapshot is never modified once it has
+ * been built, so it can be shared between concurrent readers without locking; callers must treat the returned
+ * service template as read only. The snapshot also carries the type hierarchy and policy reference indexes of its
+ * service template, the version indexes of its policies and policy types, its shape, and the summaries of its
+ * policies and policy types once they have been asked for. A snapshot derived from another by applying a write
+ * shares the entities the write did not change with it.
+ */
+@Getter
+public class ToscaServiceTemplateSnapshot {
+
+    private final long revision;
+    private final long createdNanos;
+    private final JpaToscaServiceTemplate serviceTemplate;
+    private final ToscaTypeHierarchy typeHierarchy;
+    private final ToscaPolicyReferenceIndex policyReferences;
+    private final ToscaVersionIndex policyTypeVersions;
+    private final ToscaVersionIndex policyVersions;
+    private final ToscaTemplateShape shape;
+
+    // built on first use, readers racing to build them build the same lists
+    @Getter(AccessLevel.NONE)
+    private volatile List<ToscaEntitySummary> policySummaries;
+    @Getter(AccessLevel.NONE)
+    private volatile List<ToscaEntitySummary> policyTypeSummaries;
+
+    /**
+     * Build a snapshot from a service template, taking a deep copy of it.
+     *
+     * @param revision the read model revision the snapshot belongs to
+     * @param serviceTemplate the service template to copy
+     */
+    public ToscaServiceTemplateSnapshot(final long revision, @NonNull final JpaToscaServiceTemplate serviceTemplate) {
+        this(revision, System.nanoTime(), new JpaToscaServiceTemplate(serviceTemplate));
+    }
+
+    private ToscaServiceTemplateSnapshot(final long revision, final long createdNanos,
+                                         final JpaToscaServiceTemplate ownServiceTemplate) {
+        this(revision, createdNanos, ownServiceTemplate, new ToscaTypeHierarchy(ownServiceTemplate));
+    }
+
+    private ToscaServiceTemplateSnapshot(final long revision, final long createdNanos,
+                                         final JpaToscaServiceTemplate ownServiceTemplate,
+                                         final ToscaTypeHierarchy typeHierarchy) {
+        this(revision, createdNanos, ownServiceTemplate, typeHierarchy,
+            new ToscaPolicyReferenceIndex(ownServiceTemplate),
+            new ToscaVersionIndex(getPolicyTypeKeys(ownServiceTemplate)),
+            new ToscaVersionIndex(getPolicyKeys(ownServiceTemplate)),
+            new ToscaTemplateShape(ownServiceTemplate, typeHierarchy));
+    }
+
+    private ToscaServiceTemplateSnapshot(final long revision, final long createdNanos,
+                                         final JpaToscaServiceTemplate ownServiceTemplate,
+                                         final ToscaTypeHierarchy typeHierarchy,
+                                         final ToscaPolicyReferenceIndex policyReferences,
+                                         final ToscaVersionIndex policyTypeVersions,
+                                         final ToscaVersionIndex policyVersions,
+                                         final ToscaTemplateShape shape) {
+        this.revision = revision;
+        this.createdNanos = createdNanos;
+        this.serviceTemplate = ownServiceTemplate;
+        this.typeHierarchy = typeHierarchy;
+        this.policyReferences = policyReferences;
+        this.policyTypeVersions = policyTypeVersions;
+        this.policyVersions = policyVersions;
+        this.shape = shape;
+    }
+
+    /**
+     * Get the summaries of the policies, in key order. Only the keys and types of the policies are read.
+     *
+     * @return the unmodifiable list of summaries
+     */
+    public List<ToscaEntitySummary> getPolicySummaries() {
+        var summaries = policySummaries;
+        if (summaries == null) {
+            final var topologyTemplate = serviceTemplate.getTopologyTemplate();
+            summaries = topologyTemplate == null || topologyTemplate.getPolicies() == null ? List.of()
+                : topologyTemplate.getPolicies().getConceptMap().values().stream()
+                    .map(policy -> new ToscaEntitySummary(policy.getKey().getName(), policy.getKey().getVersion(),
+                        policy.getType().getName(), policy.getType().getVersion(), null))
+                    .toList();
+            policySummaries = summaries;
+        }
+        return summaries;
+    }
+
+    /**
+     * Get the summaries of the policy types, in key order. Only the keys and parent types of the policy types are
+     * read.
+     *
+     * @return the unmodifiable list of summaries
+     */
+    public List<ToscaEntitySummary> getPolicyTypeSummaries() {
+        var summaries = policyTypeSummaries;
+        if (summaries == null) {
+            summaries = serviceTemplate.getPolicyTypes() == null ? List.of()
+                : serviceTemplate.getPolicyTypes().getConceptMap().values().stream()
+                    .map(policyType -> new ToscaEntitySummary(policyType.getKey().getName(),
+                        policyType.getKey().getVersion(), null, null, getName(policyType.getDerivedFrom())))
+                    .toList();
+            policyTypeSummaries = summaries;
+        }
+        return summaries;
+    }
+
+    private static String getName(final PfConceptKey key) {
+        return key == null || key.isNullKey() ? null : key.getName();
+    }
+
+    /**
+     * Get the snapshot of a later revision, with the entities of a write added and removed. The entities that did not
+     * change are shared with this snapshot rather than copied, the indexes of the snapshot are derived from those of
+     * this one by indexing again only the entities the write touches, and the snapshot is as old as this one, since
+     * it only holds the writes made through this instance since this one was loaded.
+     *
+     * @param newRevision the revision of the returned snapshot
+     * @param added the entities added by the write, owned by the returned snapshot from now on, or null
+     * @param removed the entities removed by the write, only their keys are read, or null
+     * @return the snapshot
+     */
+    ToscaServiceTemplateSnapshot withChange(final long newRevision, final JpaToscaServiceTemplate added,
+                                            final JpaToscaServiceTemplate removed) {
+        final var displaced = ToscaServiceTemplateOverlay.displaced(serviceTemplate, added, removed);
+        var changedServiceTemplate = serviceTemplate;
+        if (removed != null) {
+            changedServiceTemplate = ToscaServiceTemplateOverlay.remove(changedServiceTemplate, removed);
+        }
+        if (added != null) {
+            changedServiceTemplate = ToscaServiceTemplateOverlay.append(changedServiceTemplate, added);
+        }
+        final var changedTypeHierarchy = typeHierarchy.withChange(displaced, added);
+        return new ToscaServiceTemplateSnapshot(newRevision, createdNanos, changedServiceTemplate,
+            changedTypeHierarchy, policyReferences.withChange(displaced, added),
+            policyTypeVersions.withChange(getPolicyTypeKeys(displaced), getPolicyTypeKeys(added)),
+            policyVersions.withChange(getPolicyKeys(displaced), getPolicyKeys(added)),
+            shape.withChange(displaced, added, changedServiceTemplate, changedTypeHierarchy));
+    }
+
+    private static Collection<PfConceptKey> getPolicyTypeKeys(final JpaToscaServiceTemplate serviceTemplate) {
+        return serviceTemplate == null || serviceTemplate.getPolicyTypes() == null ? List.of()
+            : serviceTemplate.getPolicyTypes().getConceptMap().keySet();
+    }
+
+    private static Collection<PfConceptKey> getPolicyKeys(final JpaToscaServiceTemplate serviceTemplate) {
+        final var topologyTemplate = serviceTemplate == null ? null : serviceTemplate.getTopologyTemplate();
+        return topologyTemplate == null || topologyTemplate.getPolicies() == null ? List.of()
+            : topologyTemplate.getPolicies().getConceptMap().keySet();
+    }
+}
@@ -0,0 +1,131 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.onap.policy.api.main.repository.ToscaServiceTemplateRepository;
+import org.onap.policy.models.base.PfConcept;
+import org.onap.policy.models.base.PfConceptContainer;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaDataTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicies;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaTopologyTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Saves the DB service template after fragments are appended to it. Saving the merged service template would merge
+ * every entity of the service template into the persistence context; when the fragments only add policies, policy
+ * types and data types, only the new entities are added to the service template loaded in the transaction, so that
+ * the flush inserts their rows and their links to the service template and nothing else.
+ */
+@Component
+@RequiredArgsConstructor
+public class ToscaServiceTemplateWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ToscaServiceTemplateWriter.class);
+
+    private final ToscaServiceTemplateRepository toscaServiceTemplateRepository;
+    private final ToscaEntityCache toscaEntityCache;
+
+    /**
+     * Save the DB service template with fragments appended to it.
+     *
+     * @param dbServiceTemplate the DB service template loaded in the current transaction, null if there is none yet
+     * @param serviceTemplateToWrite the DB service template with the fragments appended, as returned by
+     *        {@code ToscaServiceTemplateUtils.addFragment}
+     */
+    public void saveAppended(final JpaToscaServiceTemplate dbServiceTemplate,
+                             @NonNull final JpaToscaServiceTemplate serviceTemplateToWrite) {
+        toscaEntityCache.evictAfterCommit();
+        if (dbServiceTemplate == null || !isOnlyAddingPoliciesAndTypes(dbServiceTemplate, serviceTemplateToWrite)) {
+            toscaServiceTemplateRepository.save(serviceTemplateToWrite);
+            return;
+        }
+
+        var added = addNewConcepts(dbServiceTemplate.getDataTypes(), serviceTemplateToWrite.getDataTypes(),
+            dbServiceTemplate::setDataTypes, JpaToscaDataTypes::new);
+        added += addNewConcepts(dbServiceTemplate.getPolicyTypes(), serviceTemplateToWrite.getPolicyTypes(),
+            dbServiceTemplate::setPolicyTypes, JpaToscaPolicyTypes::new);
+
+        final var topologyTemplate = serviceTemplateToWrite.getTopologyTemplate();
+        if (topologyTemplate != null) {
+            if (dbServiceTemplate.getTopologyTemplate() == null) {
+                dbServiceTemplate.setTopologyTemplate(new JpaToscaTopologyTemplate(topologyTemplate));
+                added += size(topologyTemplate.getPolicies());
+            } else {
+                added += addNewConcepts(dbServiceTemplate.getTopologyTemplate().getPolicies(),
+                    topologyTemplate.getPolicies(), dbServiceTemplate.getTopologyTemplate()::setPolicies,
+                    JpaToscaPolicies::new);
+            }
+        }
+        LOGGER.debug("appended {} entities to service template {}", added, dbServiceTemplate.getKey().getId());
+    }
+
+    // Anything other than new policies, policy types and data types is saved with the whole service template
+    private static boolean isOnlyAddingPoliciesAndTypes(final JpaToscaServiceTemplate dbServiceTemplate,
+                                                        final JpaToscaServiceTemplate serviceTemplateToWrite) {
+        if (size(dbServiceTemplate.getCapabilityTypes()) != size(serviceTemplateToWrite.getCapabilityTypes())
+            || size(dbServiceTemplate.getNodeTypes()) != size(serviceTemplateToWrite.getNodeTypes())
+            || size(dbServiceTemplate.getRelationshipTypes()) != size(serviceTemplateToWrite.getRelationshipTypes())) {
+            return false;
+        }
+        final var dbTopologyTemplate = dbServiceTemplate.getTopologyTemplate();
+        final var topologyTemplate = serviceTemplateToWrite.getTopologyTemplate();
+        if (dbTopologyTemplate == null || topologyTemplate == null) {
+            return topologyTemplate == null || topologyTemplate.getNodeTemplates() == null;
+        }
+        return size(dbTopologyTemplate.getNodeTemplates()) == size(topologyTemplate.getNodeTemplates());
+    }
+
+    // Add the concepts that are not in the DB container yet, or the whole container if there is no DB container
+    private static <C extends PfConcept, T extends PfConceptContainer<C, ?>> int addNewConcepts(
+        final T dbContainer, final T containerToWrite, final Consumer<T> containerSetter,
+        final UnaryOperator<T> copier) {
+        if (containerToWrite == null) {
+            return 0;
+        }
+        if (dbContainer == null) {
+            containerSetter.accept(copier.apply(containerToWrite));
+            return containerToWrite.getConceptMap().size();
+        }
+
+        var added = 0;
+        final var dbConcepts = dbContainer.getConceptMap();
+        for (final var entry : containerToWrite.getConceptMap().entrySet()) {
+            if (!dbConcepts.containsKey(entry.getKey())) {
+                dbConcepts.put(entry.getKey(), entry.getValue());
+                added++;
+            }
+        }
+        return added;
+    }
+
+    private static int size(final PfConceptContainer<?, ?> container) {
+        return container == null ? 0 : container.getConceptMap().size();
+    }
+}
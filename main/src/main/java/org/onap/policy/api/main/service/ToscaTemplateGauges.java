@@ -0,0 +1,86 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToDoubleFunction;
+import lombok.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the size and shape of the default service template as gauges, so that latency can be correlated with
+ * the growth of the data. The gauges report the shape of the service template as of the last committed write, or of
+ * the last load from the database, whichever came last.
+ */
+@Component
+public class ToscaTemplateGauges {
+
+    public static final String POLICIES_METRIC = "policy.api.template.policies";
+    public static final String POLICY_TYPES_METRIC = "policy.api.template.policy.types";
+    public static final String DATA_TYPES_METRIC = "policy.api.template.data.types";
+    public static final String NODE_TYPES_METRIC = "policy.api.template.node.types";
+    public static final String NODE_TEMPLATES_METRIC = "policy.api.template.node.templates";
+    public static final String PROPERTIES_METRIC = "policy.api.template.properties";
+    public static final String DERIVED_FROM_DEPTH_METRIC = "policy.api.template.derived.from.depth";
+    public static final String ESTIMATED_SIZE_METRIC = "policy.api.template.estimated.size";
+
+    private final AtomicReference<ToscaTemplateShape> shape = new AtomicReference<>(ToscaTemplateShape.EMPTY);
+
+    /**
+     * Create the gauges.
+     *
+     * @param meterRegistry the registry of the metrics
+     */
+    public ToscaTemplateGauges(@NonNull final MeterRegistry meterRegistry) {
+        register(meterRegistry, POLICIES_METRIC, "Number of policies", ToscaTemplateShape::getPolicies);
+        register(meterRegistry, POLICY_TYPES_METRIC, "Number of policy types", ToscaTemplateShape::getPolicyTypes);
+        register(meterRegistry, DATA_TYPES_METRIC, "Number of data types", ToscaTemplateShape::getDataTypes);
+        register(meterRegistry, NODE_TYPES_METRIC, "Number of node types", ToscaTemplateShape::getNodeTypes);
+        register(meterRegistry, NODE_TEMPLATES_METRIC, "Number of node templates",
+            ToscaTemplateShape::getNodeTemplates);
+        register(meterRegistry, PROPERTIES_METRIC, "Number of properties defined by the types or set by the policies "
+            + "and node templates", ToscaTemplateShape::getProperties);
+        register(meterRegistry, DERIVED_FROM_DEPTH_METRIC, "Longest chain of derived_from links between the types",
+            ToscaTemplateShape::getMaxDerivedFromDepth);
+        Gauge.builder(ESTIMATED_SIZE_METRIC, shape, current -> current.get().getEstimatedBytes())
+            .description("Estimated heap retained by a copy of the service template").baseUnit(BaseUnits.BYTES)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Report the shape of the service template.
+     *
+     * @param newShape the shape of the service template
+     */
+    public void update(@NonNull final ToscaTemplateShape newShape) {
+        shape.set(newShape);
+    }
+
+    private void register(final MeterRegistry meterRegistry, final String name, final String description,
+                          final ToDoubleFunction<ToscaTemplateShape> value) {
+        Gauge.builder(name, shape, current -> value.applyAsDouble(current.get()))
+            .description(description + " in the default service template").register(meterRegistry);
+    }
+}
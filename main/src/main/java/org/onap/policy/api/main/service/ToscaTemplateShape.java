@@ -0,0 +1,178 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import java.util.Map;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.NonNull;
+import org.onap.policy.models.base.PfConceptContainer;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaDataType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaEntityType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaNodeTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaNodeType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+
+/**
+ * The size and shape of a service template: how many entities of each kind it holds, how many properties they
+ * define or set, how deep its type hierarchies are and roughly how much heap a copy of it retains. The byte estimate
+ * counts the strings of the entities and a fixed overhead per entity, property and property definition; it is meant
+ * to follow the growth of the template, not to match a heap dump.
+ */
+@Getter
+public class ToscaTemplateShape {
+
+    /**
+     * The shape of an empty service template.
+     */
+    public static final ToscaTemplateShape EMPTY = new ToscaTemplateShape(new JpaToscaServiceTemplate(),
+        new ToscaTypeHierarchy(new JpaToscaServiceTemplate()));
+
+    // rough heap cost of the objects around each entity, property and property definition, and of a string
+    private static final long ENTITY_BYTES = 512;
+    private static final long PROPERTY_BYTES = 96;
+    private static final long PROPERTY_DEFINITION_BYTES = 384;
+    private static final long STRING_BYTES = 40;
+
+    private final int policies;
+    private final int policyTypes;
+    private final int dataTypes;
+    private final int nodeTypes;
+    private final int nodeTemplates;
+    private final long properties;
+    private final int maxDerivedFromDepth;
+    private final long estimatedBytes;
+
+    // the property and byte counts accumulated while the entities are measured
+    private static final class Totals {
+        private long properties;
+        private long bytes;
+    }
+
+    /**
+     * Measure a service template.
+     *
+     * @param serviceTemplate the service template
+     * @param typeHierarchy the type hierarchy index of the service template
+     */
+    public ToscaTemplateShape(@NonNull final JpaToscaServiceTemplate serviceTemplate,
+                              @NonNull final ToscaTypeHierarchy typeHierarchy) {
+        this(serviceTemplate, getMaxDerivedFromDepth(serviceTemplate, typeHierarchy));
+    }
+
+    // Measure the entities of a service template, the depth of its type hierarchies is given
+    private ToscaTemplateShape(final JpaToscaServiceTemplate serviceTemplate, final int maxDerivedFromDepth) {
+        final var totals = new Totals();
+        final var topologyTemplate = serviceTemplate.getTopologyTemplate();
+        policyTypes = measure(serviceTemplate.getPolicyTypes(), JpaToscaPolicyType::getProperties, totals);
+        dataTypes = measure(serviceTemplate.getDataTypes(), JpaToscaDataType::getProperties, totals);
+        nodeTypes = measure(serviceTemplate.getNodeTypes(), JpaToscaNodeType::getProperties, totals);
+        policies = measure(topologyTemplate == null ? null : topologyTemplate.getPolicies(),
+            JpaToscaPolicy::getProperties, totals);
+        nodeTemplates = measure(topologyTemplate == null ? null : topologyTemplate.getNodeTemplates(),
+            JpaToscaNodeTemplate::getProperties, totals);
+        properties = totals.properties;
+        estimatedBytes = totals.bytes;
+        this.maxDerivedFromDepth = maxDerivedFromDepth;
+    }
+
+    // The shape of a base with the measures of the displaced entities taken off and those of the added put on
+    private ToscaTemplateShape(final ToscaTemplateShape base, final ToscaTemplateShape displaced,
+                               final ToscaTemplateShape added, final int maxDerivedFromDepth) {
+        policies = base.policies - displaced.policies + added.policies;
+        policyTypes = base.policyTypes - displaced.policyTypes + added.policyTypes;
+        dataTypes = base.dataTypes - displaced.dataTypes + added.dataTypes;
+        nodeTypes = base.nodeTypes - displaced.nodeTypes + added.nodeTypes;
+        nodeTemplates = base.nodeTemplates - displaced.nodeTemplates + added.nodeTemplates;
+        properties = base.properties - displaced.properties + added.properties;
+        estimatedBytes = base.estimatedBytes - displaced.estimatedBytes + added.estimatedBytes;
+        this.maxDerivedFromDepth = maxDerivedFromDepth;
+    }
+
+    /**
+     * Get the shape of the service template with the changes of a write applied. Only the entities the write touches
+     * are measured, and the depth of the type hierarchies is only measured again when the write touches types.
+     *
+     * @param displaced the entities the write removed or replaced, as they were in the measured service template, or
+     *        null
+     * @param added the entities the write added, or null
+     * @param serviceTemplate the changed service template
+     * @param typeHierarchy the type hierarchy index of the changed service template
+     * @return the shape of the changed service template
+     */
+    ToscaTemplateShape withChange(final JpaToscaServiceTemplate displaced, final JpaToscaServiceTemplate added,
+                                  @NonNull final JpaToscaServiceTemplate serviceTemplate,
+                                  @NonNull final ToscaTypeHierarchy typeHierarchy) {
+        final var displacedShape = displaced == null ? EMPTY : new ToscaTemplateShape(displaced, 0);
+        final var addedShape = added == null ? EMPTY : new ToscaTemplateShape(added, 0);
+        final var typesChanged = displacedShape.policyTypes + displacedShape.dataTypes + addedShape.policyTypes
+            + addedShape.dataTypes > 0;
+        return new ToscaTemplateShape(this, displacedShape, addedShape,
+            typesChanged ? getMaxDerivedFromDepth(serviceTemplate, typeHierarchy) : maxDerivedFromDepth);
+    }
+
+    private static int getMaxDerivedFromDepth(final JpaToscaServiceTemplate serviceTemplate,
+                                              final ToscaTypeHierarchy typeHierarchy) {
+        var depth = 0;
+        if (serviceTemplate.getPolicyTypes() != null) {
+            for (final PfConceptKey key : serviceTemplate.getPolicyTypes().getConceptMap().keySet()) {
+                depth = Math.max(depth, typeHierarchy.getPolicyTypeAncestors(key).size());
+            }
+        }
+        if (serviceTemplate.getDataTypes() != null) {
+            for (final PfConceptKey key : serviceTemplate.getDataTypes().getConceptMap().keySet()) {
+                depth = Math.max(depth, typeHierarchy.getDataTypeAncestors(key).size());
+            }
+        }
+        return depth;
+    }
+
+    private static <E extends JpaToscaEntityType<?>> int measure(final PfConceptContainer<E, ?> container,
+                                                                  final Function<E, Map<String, ?>> propertiesOf,
+                                                                  final Totals totals) {
+        if (container == null) {
+            return 0;
+        }
+        for (final var entity : container.getConceptMap().values()) {
+            totals.bytes +=
+                ENTITY_BYTES + stringBytes(entity.getKey().getName()) + stringBytes(entity.getDescription());
+            if (entity.getMetadata() != null) {
+                entity.getMetadata().forEach((name, value) -> totals.bytes += stringBytes(name) + stringBytes(value));
+            }
+            // policies and node templates set string values, types define properties
+            final var entityProperties = propertiesOf.apply(entity);
+            if (entityProperties != null) {
+                totals.properties += entityProperties.size();
+                entityProperties.forEach((name, value) -> totals.bytes += PROPERTY_BYTES + stringBytes(name)
+                    + (value instanceof String stringValue ? stringBytes(stringValue) : PROPERTY_DEFINITION_BYTES));
+            }
+        }
+        return container.getConceptMap().size();
+    }
+
+    private static long stringBytes(final String value) {
+        return value == null ? 0 : STRING_BYTES + value.length();
+    }
+}
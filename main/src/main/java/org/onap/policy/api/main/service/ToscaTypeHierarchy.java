@@ -0,0 +1,254 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.NonNull;
+import org.onap.policy.models.base.PfConceptContainer;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+
+/**
+ * Index of the derived_from hierarchy (a DAG) of the policy types and data types of a service template, together
+ * with the data types each type references. Only the parent each type declares is stored; ancestors are found by
+ * walking up the parent links, so a query costs the size of its answer rather than the number of types in the
+ * template.
+ *
+ * <p>Types that are referenced but not present in the template, such as the TOSCA root and predefined types, are
+ * not part of the index. The index is immutable once built; the index of a changed service template is derived from
+ * it by indexing again only the types the change touches.
+ */
+public class ToscaTypeHierarchy {
+
+    // the parents are as declared, a parent that is not indexed, such as a Root type, ends a walk
+    private final Map<PfConceptKey, PfConceptKey> policyTypeParents;
+    private final Map<PfConceptKey, Collection<PfConceptKey>> policyTypeDataTypes;
+
+    private final Map<PfConceptKey, PfConceptKey> dataTypeParents;
+    private final Map<PfConceptKey, Collection<PfConceptKey>> dataTypeDataTypes;
+
+    /**
+     * Build the index of a service template.
+     *
+     * @param serviceTemplate the service template to index
+     */
+    public ToscaTypeHierarchy(@NonNull final JpaToscaServiceTemplate serviceTemplate) {
+        this(new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>());
+        index(serviceTemplate);
+    }
+
+    private ToscaTypeHierarchy(final Map<PfConceptKey, PfConceptKey> policyTypeParents,
+                               final Map<PfConceptKey, Collection<PfConceptKey>> policyTypeDataTypes,
+                               final Map<PfConceptKey, PfConceptKey> dataTypeParents,
+                               final Map<PfConceptKey, Collection<PfConceptKey>> dataTypeDataTypes) {
+        this.policyTypeParents = policyTypeParents;
+        this.policyTypeDataTypes = policyTypeDataTypes;
+        this.dataTypeParents = dataTypeParents;
+        this.dataTypeDataTypes = dataTypeDataTypes;
+    }
+
+    /**
+     * Get the index of the service template with the changes of a write applied. The maps of the kinds of types the
+     * write did not touch are shared with this index, so a write of policies only returns this index.
+     *
+     * @param displaced the entities the write removed or replaced, as they were in the indexed service template, or
+     *        null
+     * @param added the entities the write added, or null
+     * @return the index of the changed service template
+     */
+    ToscaTypeHierarchy withChange(final JpaToscaServiceTemplate displaced, final JpaToscaServiceTemplate added) {
+        final var policyTypesChanged = changes(displaced, added, JpaToscaServiceTemplate::getPolicyTypes);
+        final var dataTypesChanged = changes(displaced, added, JpaToscaServiceTemplate::getDataTypes);
+        if (!policyTypesChanged && !dataTypesChanged) {
+            return this;
+        }
+
+        final var hierarchy = new ToscaTypeHierarchy(
+            policyTypesChanged ? new HashMap<>(policyTypeParents) : policyTypeParents,
+            policyTypesChanged ? new HashMap<>(policyTypeDataTypes) : policyTypeDataTypes,
+            dataTypesChanged ? new HashMap<>(dataTypeParents) : dataTypeParents,
+            dataTypesChanged ? new HashMap<>(dataTypeDataTypes) : dataTypeDataTypes);
+        if (displaced != null) {
+            hierarchy.unindex(displaced);
+        }
+        if (added != null) {
+            hierarchy.index(added);
+        }
+        return hierarchy;
+    }
+
+    /**
+     * Check if a policy type is in the index.
+     *
+     * @param policyTypeKey the key of the policy type
+     * @return true if the policy type is indexed
+     */
+    public boolean containsPolicyType(final PfConceptKey policyTypeKey) {
+        return policyTypeParents.containsKey(policyTypeKey);
+    }
+
+    /**
+     * Check if a data type is in the index.
+     *
+     * @param dataTypeKey the key of the data type
+     * @return true if the data type is indexed
+     */
+    public boolean containsDataType(final PfConceptKey dataTypeKey) {
+        return dataTypeParents.containsKey(dataTypeKey);
+    }
+
+    /**
+     * Get the ancestors of a policy type, nearest first.
+     *
+     * @param policyTypeKey the key of the policy type
+     * @return the keys of the ancestors
+     */
+    public List<PfConceptKey> getPolicyTypeAncestors(final PfConceptKey policyTypeKey) {
+        return getAncestors(policyTypeParents, policyTypeKey);
+    }
+
+    /**
+     * Get the ancestors of a data type, nearest first.
+     *
+     * @param dataTypeKey the key of the data type
+     * @return the keys of the ancestors
+     */
+    public List<PfConceptKey> getDataTypeAncestors(final PfConceptKey dataTypeKey) {
+        return getAncestors(dataTypeParents, dataTypeKey);
+    }
+
+    /**
+     * Get the policy types that must be cascaded with the given policy types, that is the indexed policy types
+     * themselves and all their ancestors.
+     *
+     * @param policyTypeKeys the keys of the policy types
+     * @return the keys of the policy types in the closure, in key order
+     */
+    public SortedSet<PfConceptKey> getPolicyTypeClosure(final Collection<PfConceptKey> policyTypeKeys) {
+        final var closure = new TreeSet<PfConceptKey>();
+        for (final var policyTypeKey : policyTypeKeys) {
+            if (containsPolicyType(policyTypeKey) && closure.add(policyTypeKey)) {
+                closure.addAll(getPolicyTypeAncestors(policyTypeKey));
+            }
+        }
+        return closure;
+    }
+
+    /**
+     * Get the data types that must be cascaded with the given policy types, that is the data types they reference,
+     * the data types those reference in turn, and the ancestors of all of them.
+     *
+     * @param policyTypeKeys the keys of the policy types, which should already be a closure
+     * @return the keys of the data types in the closure, in key order
+     */
+    public SortedSet<PfConceptKey> getDataTypeClosure(final Collection<PfConceptKey> policyTypeKeys) {
+        return getDataTypeClosure(policyTypeKeys, List.of());
+    }
+
+    /**
+     * Get the data types that must be cascaded with the given policy types and data types, that is the indexed data
+     * types themselves, the data types the policy types and data types reference, the data types those reference in
+     * turn, and the ancestors of all of them.
+     *
+     * @param policyTypeKeys the keys of the policy types, which should already be a closure
+     * @param dataTypeKeys the keys of the data types
+     * @return the keys of the data types in the closure, in key order
+     */
+    public SortedSet<PfConceptKey> getDataTypeClosure(final Collection<PfConceptKey> policyTypeKeys,
+                                                      final Collection<PfConceptKey> dataTypeKeys) {
+        final var pending = new ArrayDeque<PfConceptKey>(dataTypeKeys);
+        for (final var policyTypeKey : policyTypeKeys) {
+            pending.addAll(policyTypeDataTypes.getOrDefault(policyTypeKey, List.of()));
+        }
+
+        final var closure = new TreeSet<PfConceptKey>();
+        while (!pending.isEmpty()) {
+            final var dataTypeKey = pending.pop();
+            if (!dataTypeParents.containsKey(dataTypeKey) || !closure.add(dataTypeKey)) {
+                continue;
+            }
+            pending.addAll(dataTypeDataTypes.get(dataTypeKey));
+            final var parent = dataTypeParents.get(dataTypeKey);
+            if (parent != null) {
+                pending.add(parent);
+            }
+        }
+        return closure;
+    }
+
+    private void index(final JpaToscaServiceTemplate serviceTemplate) {
+        if (serviceTemplate.getPolicyTypes() != null) {
+            for (final var policyType : serviceTemplate.getPolicyTypes().getConceptMap().values()) {
+                policyTypeDataTypes.put(policyType.getKey(), List.copyOf(policyType.getReferencedDataTypes()));
+                policyTypeParents.put(policyType.getKey(), policyType.getDerivedFrom());
+            }
+        }
+        if (serviceTemplate.getDataTypes() != null) {
+            for (final var dataType : serviceTemplate.getDataTypes().getConceptMap().values()) {
+                dataTypeDataTypes.put(dataType.getKey(), List.copyOf(dataType.getReferencedDataTypes()));
+                dataTypeParents.put(dataType.getKey(), dataType.getDerivedFrom());
+            }
+        }
+    }
+
+    private void unindex(final JpaToscaServiceTemplate serviceTemplate) {
+        if (serviceTemplate.getPolicyTypes() != null) {
+            policyTypeParents.keySet().removeAll(serviceTemplate.getPolicyTypes().getConceptMap().keySet());
+            policyTypeDataTypes.keySet().removeAll(serviceTemplate.getPolicyTypes().getConceptMap().keySet());
+        }
+        if (serviceTemplate.getDataTypes() != null) {
+            dataTypeParents.keySet().removeAll(serviceTemplate.getDataTypes().getConceptMap().keySet());
+            dataTypeDataTypes.keySet().removeAll(serviceTemplate.getDataTypes().getConceptMap().keySet());
+        }
+    }
+
+    // Check if a write touches the entities of a container
+    private static boolean changes(final JpaToscaServiceTemplate displaced, final JpaToscaServiceTemplate added,
+                                   final Function<JpaToscaServiceTemplate, PfConceptContainer<?, ?>> container) {
+        return Stream.of(displaced, added).filter(Objects::nonNull).map(container)
+            .anyMatch(entities -> entities != null && !entities.getConceptMap().isEmpty());
+    }
+
+    private static List<PfConceptKey> getAncestors(final Map<PfConceptKey, PfConceptKey> parents,
+                                                   final PfConceptKey key) {
+        final var ancestors = new ArrayList<PfConceptKey>();
+        final Set<PfConceptKey> visited = new HashSet<>();
+        var parent = parents.get(key);
+        // a cycle is invalid TOSCA, but must not hang the lookup
+        while (parent != null && parents.containsKey(parent) && visited.add(parent)) {
+            ancestors.add(parent);
+            parent = parents.get(parent);
+        }
+        return ancestors;
+    }
+}
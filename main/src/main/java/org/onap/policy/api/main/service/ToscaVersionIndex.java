@@ -0,0 +1,155 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import lombok.NonNull;
+import org.onap.policy.models.base.PfConceptKey;
+
+/**
+ * Index from entity names to the versions of the entities, so that finding the latest version of an entity takes a
+ * map lookup rather than sorting every version of every entity. The versions of each name are kept sorted on their
+ * numeric components, parsed once as the index is built; a version such as 1.10.0 is later than 1.9.0. The index is
+ * immutable once built; the index of a changed set of entities is derived from it by indexing again only the names
+ * the change touches.
+ */
+public class ToscaVersionIndex {
+
+    private static final Comparator<ParsedVersion> VERSION_ORDER =
+        Comparator.<ParsedVersion, long[]>comparing(version -> version.components, Arrays::compare)
+            .thenComparing(version -> version.text);
+
+    private final Map<String, NavigableMap<ParsedVersion, PfConceptKey>> versionsByName;
+
+    // A version parsed into its numeric components, the components that are not numbers sort first
+    private static final class ParsedVersion {
+        private final long[] components;
+        private final String text;
+
+        ParsedVersion(final String text) {
+            this.text = text == null ? "" : text;
+            this.components = Arrays.stream(this.text.split("\\.")).mapToLong(ParsedVersion::parseComponent)
+                .toArray();
+        }
+
+        private static long parseComponent(final String component) {
+            try {
+                return Long.parseLong(component);
+            } catch (NumberFormatException exception) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Build the index of a set of entities.
+     *
+     * @param keys the keys of the entities
+     */
+    public ToscaVersionIndex(@NonNull final Collection<PfConceptKey> keys) {
+        this.versionsByName = new HashMap<>();
+        for (final var key : keys) {
+            versionsByName.computeIfAbsent(key.getName(), name -> new TreeMap<>(VERSION_ORDER))
+                .put(new ParsedVersion(key.getVersion()), key);
+        }
+    }
+
+    private ToscaVersionIndex(final Map<String, NavigableMap<ParsedVersion, PfConceptKey>> versionsByName) {
+        this.versionsByName = versionsByName;
+    }
+
+    /**
+     * Get the index of the set of entities with the changes of a write applied. Only the names of the entities the
+     * write touches get version maps of their own, the others are shared with this index, so a write that touches
+     * none of the entities returns this index.
+     *
+     * @param displacedKeys the keys of the entities the write removed or replaced
+     * @param addedKeys the keys of the entities the write added
+     * @return the index of the changed set of entities
+     */
+    ToscaVersionIndex withChange(@NonNull final Collection<PfConceptKey> displacedKeys,
+                                 @NonNull final Collection<PfConceptKey> addedKeys) {
+        if (displacedKeys.isEmpty() && addedKeys.isEmpty()) {
+            return this;
+        }
+
+        final var index = new ToscaVersionIndex(new HashMap<>(versionsByName));
+        final var copied = new HashSet<String>();
+        for (final var key : displacedKeys) {
+            final var versions = index.copyOnWrite(key.getName(), copied);
+            versions.remove(new ParsedVersion(key.getVersion()));
+            if (versions.isEmpty()) {
+                index.versionsByName.remove(key.getName());
+            }
+        }
+        for (final var key : addedKeys) {
+            index.copyOnWrite(key.getName(), copied).put(new ParsedVersion(key.getVersion()), key);
+        }
+        return index;
+    }
+
+    /**
+     * Get the latest version of an entity.
+     *
+     * @param name the name of the entity
+     * @return the key of the latest version of the entity, empty if there is no entity with the name
+     */
+    public Optional<PfConceptKey> getLatest(final String name) {
+        final var versions = versionsByName.get(name);
+        return versions == null ? Optional.empty() : Optional.of(versions.lastEntry().getValue());
+    }
+
+    /**
+     * Get the versions of an entity, latest first.
+     *
+     * @param name the name of the entity
+     * @return the keys of the versions of the entity, empty if there is no entity with the name
+     */
+    public Collection<PfConceptKey> getVersionsLatestFirst(final String name) {
+        final var versions = versionsByName.get(name);
+        return versions == null ? Collections.emptyList()
+            : Collections.unmodifiableCollection(versions.descendingMap().values());
+    }
+
+    // Get the versions of a name to change, copying them the first time they are changed
+    private NavigableMap<ParsedVersion, PfConceptKey> copyOnWrite(final String name, final Set<String> copied) {
+        if (copied.add(name)) {
+            final var versions = versionsByName.get(name);
+            final var copy = new TreeMap<ParsedVersion, PfConceptKey>(VERSION_ORDER);
+            if (versions != null) {
+                copy.putAll(versions);
+            }
+            versionsByName.put(name, copy);
+        }
+        return versionsByName.get(name);
+    }
+}
@@ -0,0 +1,348 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.NonNull;
+import org.onap.policy.api.main.config.WriteCoordinatorConfig;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.base.PfModelRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serializes the writes to the default TOSCA service template. Each write reads, merges and saves the whole service
+ * template, so concurrent writes would lose each other's updates; here they are queued and applied one at a time,
+ * each in its own transaction, by a single writer thread.
+ *
+ * <p>Writes of the same group, such as policy creations, can also be committed together: the writes of a group that
+ * queue up while the writer is busy, or that arrive within a short window, are handed to the writer as one batch of
+ * up to a maximum number of writes, which it applies in one transaction, while each caller still gets its own result
+ * or error.
+ */
+@Component
+public class WriteCoordinator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteCoordinator.class);
+
+    public static final String QUEUE_DEPTH_METRIC = "policy.api.write.queue.depth";
+    public static final String REJECTED_METRIC = "policy.api.write.rejected";
+    public static final String BATCH_SIZE_METRIC = "policy.api.write.batch.size";
+
+    private static final long SHUTDOWN_WAIT_SECONDS = 30;
+
+    private final ThreadPoolExecutor writer;
+    private final Counter rejectedWrites;
+    private final DistributionSummary batchSizes;
+    private final long writeTimeoutNanos;
+
+    private final long groupCommitWindowNanos;
+    private final int groupCommitMaxItems;
+
+    // the batch of each group that writes can still join, guarded by itself
+    private final Map<String, PendingBatch<?, ?>> openBatches = new HashMap<>();
+
+    /**
+     * A write to apply on the writer thread.
+     *
+     * @param <T> the type of the result of the write
+     */
+    @FunctionalInterface
+    public interface WriteOperation<T> {
+
+        /**
+         * Apply the write.
+         *
+         * @return the result of the write
+         * @throws PfModelException on errors applying the write
+         */
+        T apply() throws PfModelException;
+    }
+
+    /**
+     * A batch of writes of the same group to apply together on the writer thread.
+     *
+     * @param <I> the type of the input of each write
+     * @param <T> the type of the result of each write
+     */
+    @FunctionalInterface
+    public interface BatchWriteOperation<I, T> {
+
+        /**
+         * Apply the writes.
+         *
+         * @param items the input of each write, in the order the writes were queued
+         * @return the outcome of each write, in the same order
+         * @throws PfModelException on errors applying the batch as a whole
+         */
+        List<WriteOutcome<T>> apply(List<I> items) throws PfModelException;
+    }
+
+    // A batch being collected for the writer
+    private static class PendingBatch<I, T> {
+        private final BatchWriteOperation<I, T> operation;
+        private final long openedNanos = System.nanoTime();
+        private final List<I> items = new ArrayList<>();
+        private final List<CompletableFuture<T>> results = new ArrayList<>();
+        private final Set<SqlStatementRecorder.Counters> sqlCounters = new LinkedHashSet<>();
+
+        PendingBatch(final BatchWriteOperation<I, T> operation) {
+            this.operation = operation;
+        }
+    }
+
+    /**
+     * Create the coordinator and register its metrics.
+     *
+     * @param config the coordinator settings
+     * @param meterRegistry the registry of the metrics
+     */
+    public WriteCoordinator(@NonNull final WriteCoordinatorConfig config, @NonNull final MeterRegistry meterRegistry) {
+        writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(config.getQueueCapacity()), runnable -> {
+                final var thread = new Thread(runnable, "policy-api-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        Gauge.builder(QUEUE_DEPTH_METRIC, writer, executor -> executor.getQueue().size())
+            .description("Number of writes waiting for the writer").register(meterRegistry);
+        rejectedWrites = Counter.builder(REJECTED_METRIC)
+            .description("Number of writes rejected because the write queue was full").register(meterRegistry);
+        batchSizes = DistributionSummary.builder(BATCH_SIZE_METRIC)
+            .description("Number of writes committed together in a group").register(meterRegistry);
+
+        writeTimeoutNanos = config.getWriteTimeout().toNanos();
+        groupCommitWindowNanos = config.isGroupCommitEnabled() ? config.getGroupCommitWindow().toNanos() : 0;
+        groupCommitMaxItems = config.isGroupCommitEnabled() ? Math.max(1, config.getGroupCommitMaxItems()) : 1;
+    }
+
+    /**
+     * Queue a write.
+     *
+     * @param operation the write
+     * @param <T> the type of the result of the write
+     * @return the future result of the write
+     * @throws PfModelRuntimeException if the write queue is full
+     */
+    public <T> CompletableFuture<T> submit(@NonNull final WriteOperation<T> operation) {
+        final var result = new CompletableFuture<T>();
+        final var sqlCounters = SqlStatementRecorder.current();
+        try {
+            writer.execute(() -> {
+                try (var scope = SqlStatementRecorder.bind(sqlCounters)) {
+                    result.complete(operation.apply());
+                } catch (PfModelException | RuntimeException exception) {
+                    result.completeExceptionally(exception);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            rejectedWrites.increment();
+            throw new PfModelRuntimeException(Response.Status.SERVICE_UNAVAILABLE,
+                "too many writes in progress, retry later", exception);
+        }
+        return result;
+    }
+
+    /**
+     * Queue a write and wait for its result.
+     *
+     * @param operation the write
+     * @param <T> the type of the result of the write
+     * @return the result of the write
+     * @throws PfModelException on errors applying the write
+     * @throws PfModelRuntimeException if the write queue is full or the write fails
+     */
+    public <T> T execute(@NonNull final WriteOperation<T> operation) throws PfModelException {
+        return await(submit(operation));
+    }
+
+    /**
+     * Queue a write that may be committed together with the other writes of its group. The write joins the open
+     * batch of the group if there is one, otherwise it opens a batch and queues it for the writer. All callers of a
+     * group must pass the same operation, the one of the caller that opened the batch is applied.
+     *
+     * @param group the name of the group
+     * @param operation the operation that applies a batch of writes of the group
+     * @param item the input of the write
+     * @param <I> the type of the input of each write
+     * @param <T> the type of the result of each write
+     * @return the future result of the write
+     * @throws PfModelRuntimeException if the write queue is full
+     */
+    public <I, T> CompletableFuture<T> submitGrouped(@NonNull final String group,
+                                                     @NonNull final BatchWriteOperation<I, T> operation,
+                                                     final I item) {
+        final var result = new CompletableFuture<T>();
+        synchronized (openBatches) {
+            @SuppressWarnings("unchecked")
+            var batch = (PendingBatch<I, T>) openBatches.get(group);
+            if (batch == null) {
+                batch = new PendingBatch<>(operation);
+                final var queuedBatch = batch;
+                try {
+                    writer.execute(() -> applyBatch(group, queuedBatch));
+                } catch (RejectedExecutionException exception) {
+                    rejectedWrites.increment();
+                    throw new PfModelRuntimeException(Response.Status.SERVICE_UNAVAILABLE,
+                        "too many writes in progress, retry later", exception);
+                }
+                openBatches.put(group, batch);
+            }
+
+            batch.items.add(item);
+            batch.results.add(result);
+            batch.sqlCounters.addAll(SqlStatementRecorder.current());
+            if (batch.items.size() >= groupCommitMaxItems) {
+                // full, the next write of the group opens a new batch
+                openBatches.remove(group);
+                openBatches.notifyAll();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Queue a write that may be committed together with the other writes of its group, and wait for its result.
+     *
+     * @param group the name of the group
+     * @param operation the operation that applies a batch of writes of the group
+     * @param item the input of the write
+     * @param <I> the type of the input of each write
+     * @param <T> the type of the result of each write
+     * @return the result of the write
+     * @throws PfModelException on errors applying the write
+     * @throws PfModelRuntimeException if the write queue is full or the write fails
+     */
+    public <I, T> T executeGrouped(@NonNull final String group, @NonNull final BatchWriteOperation<I, T> operation,
+                                   final I item) throws PfModelException {
+        return await(submitGrouped(group, operation, item));
+    }
+
+    private <T> T await(final CompletableFuture<T> future) throws PfModelException {
+        try {
+            return future.get(writeTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException exception) {
+            // the write stays queued or running, and may still be applied
+            throw new PfModelRuntimeException(Response.Status.SERVICE_UNAVAILABLE,
+                "timed out waiting for write, retry later", exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new PfModelRuntimeException(Response.Status.INTERNAL_SERVER_ERROR,
+                "interrupted while waiting for write", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof PfModelException pfModelException) {
+                throw pfModelException;
+            }
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new PfModelRuntimeException(Response.Status.INTERNAL_SERVER_ERROR, "write failed", exception);
+        }
+    }
+
+    private <I, T> void applyBatch(final String group, final PendingBatch<I, T> batch) {
+        final List<I> items;
+        final List<CompletableFuture<T>> results;
+        final List<SqlStatementRecorder.Counters> sqlCounters;
+        synchronized (openBatches) {
+            try {
+                final var deadline = batch.openedNanos + groupCommitWindowNanos;
+                var remaining = deadline - System.nanoTime();
+                while (openBatches.get(group) == batch && remaining > 0) {
+                    TimeUnit.NANOSECONDS.timedWait(openBatches, remaining);
+                    remaining = deadline - System.nanoTime();
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            openBatches.remove(group, batch);
+            items = new ArrayList<>(batch.items);
+            results = new ArrayList<>(batch.results);
+            sqlCounters = new ArrayList<>(batch.sqlCounters);
+        }
+
+        batchSizes.record(items.size());
+        // the SQL of a batch is recorded for each of its callers
+        try (var scope = SqlStatementRecorder.bind(sqlCounters)) {
+            final var outcomes = batch.operation.apply(items);
+            if (outcomes.size() != items.size()) {
+                throw new PfModelRuntimeException(Response.Status.INTERNAL_SERVER_ERROR,
+                    "batch of " + items.size() + " writes returned " + outcomes.size() + " outcomes");
+            }
+            for (var index = 0; index < results.size(); index++) {
+                final var outcome = outcomes.get(index);
+                if (outcome.isSuccess()) {
+                    results.get(index).complete(outcome.getResult());
+                } else {
+                    results.get(index).completeExceptionally(outcome.getFailure());
+                }
+            }
+        } catch (PfModelException | RuntimeException exception) {
+            results.forEach(result -> result.completeExceptionally(exception));
+        }
+    }
+
+    /**
+     * Get the number of writes waiting for the writer.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return writer.getQueue().size();
+    }
+
+    /**
+     * Let queued writes finish, then stop the writer.
+     */
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warn("writes still pending after {} seconds, stopping writer", SHUTDOWN_WAIT_SECONDS);
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            writer.shutdownNow();
+        }
+    }
+}
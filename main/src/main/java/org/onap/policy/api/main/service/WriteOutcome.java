@@ -0,0 +1,66 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The outcome of one write of a batch: either its result or the error that rejected it.
+ *
+ * @param <T> the type of the result of the write
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class WriteOutcome<T> {
+
+    private final T result;
+    private final RuntimeException failure;
+
+    /**
+     * Create the outcome of a write that succeeded.
+     *
+     * @param result the result of the write
+     * @param <T> the type of the result of the write
+     * @return the outcome
+     */
+    public static <T> WriteOutcome<T> success(final T result) {
+        return new WriteOutcome<>(result, null);
+    }
+
+    /**
+     * Create the outcome of a write that failed.
+     *
+     * @param failure the error that rejected the write
+     * @param <T> the type of the result of the write
+     * @return the outcome
+     */
+    public static <T> WriteOutcome<T> failure(@NonNull final RuntimeException failure) {
+        return new WriteOutcome<>(null, failure);
+    }
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,195 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class TestReadReplicaRoutingDataSource {
+
+    private DataSource primary;
+    private DataSource replica;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private ReadReplicaConfig config;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        config = new ReadReplicaConfig();
+        config.setPrimaryAfterWrite(Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testRouting() throws SQLException {
+        var dataSource = new ReadReplicaRoutingDataSource(primary, replica, config);
+        assertThat(dataSource.getConnection()).isEqualTo(primaryConnection);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void testReadFromPrimary() throws SQLException {
+        var dataSource = new ReadReplicaRoutingDataSource(primary, replica, config);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThat(ReadReplicaRoutingDataSource.readFromPrimary(() -> getConnection(dataSource)))
+            .isEqualTo(primaryConnection);
+        assertThat(ReadReplicaRoutingDataSource.isReadingFromReplica()).isFalse();
+
+        // once the transaction reads from the replica, it is known to, until it completes
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+        assertThat(ReadReplicaRoutingDataSource.isReadingFromReplica()).isTrue();
+        TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+            TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(ReadReplicaRoutingDataSource.isReadingFromReplica()).isFalse();
+    }
+
+    @Test
+    void testFallbackToPrimary() throws SQLException {
+        var dataSource = new ReadReplicaRoutingDataSource(primary, replica, config);
+        when(replica.getConnection()).thenThrow(new SQLException("replica down"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // the replica is not asked again until the retry interval has passed
+        assertThat(dataSource.getConnection()).isEqualTo(primaryConnection);
+        assertThat(dataSource.getConnection()).isEqualTo(primaryConnection);
+        verify(replica, times(1)).getConnection();
+
+        config.setRetryInterval(Duration.ZERO);
+        var retryingDataSource = new ReadReplicaRoutingDataSource(primary, replica, config);
+        assertThat(retryingDataSource.getConnection()).isEqualTo(primaryConnection);
+        assertThat(retryingDataSource.getConnection()).isEqualTo(primaryConnection);
+        verify(replica, times(3)).getConnection();
+    }
+
+    @Test
+    void testPrimaryAfterWrite() throws SQLException {
+        config.setPrimaryAfterWrite(Duration.ofMinutes(1));
+        var dataSource = new ReadReplicaRoutingDataSource(primary, replica, config);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+
+        // a read-write transaction that only reads or that rolls back does not send reads to the primary
+        runReadWriteTransaction(dataSource, "select * from policy", true);
+        runReadWriteTransaction(dataSource, "insert into policy values (?)", false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+
+        runReadWriteTransaction(dataSource, "insert into policy values (?)", true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(dataSource.getConnection()).isEqualTo(primaryConnection);
+    }
+
+    @Test
+    void testPrimaryAfterLongWrite() throws Exception {
+        config.setPrimaryAfterWrite(Duration.ofMillis(200));
+        var dataSource = new ReadReplicaRoutingDataSource(primary, replica, config);
+
+        // the transaction writes for longer than the window, which starts when it commits
+        TransactionSynchronizationManager.initSynchronization();
+        var connection = dataSource.getConnection();
+        connection.prepareStatement("update policy set version = ?");
+        Thread.sleep(300);
+        commit();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(dataSource.getConnection()).isEqualTo(primaryConnection);
+
+        Thread.sleep(300);
+        assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void testPrimaryAfterWriteWithoutTransaction() throws SQLException {
+        config.setPrimaryAfterWrite(Duration.ofMinutes(1));
+        var dataSource = new ReadReplicaRoutingDataSource(primary, replica, config);
+
+        var connection = dataSource.getConnection();
+        connection.createStatement();
+        connection.close();
+        verify(primaryConnection).close();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(dataSource.getConnection()).isEqualTo(primaryConnection);
+    }
+
+    private static Connection getConnection(DataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private void runReadWriteTransaction(ReadReplicaRoutingDataSource dataSource, String sql, boolean commit)
+        throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.initSynchronization();
+        dataSource.getConnection().prepareStatement(sql);
+        if (commit) {
+            commit();
+        } else {
+            var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void commit() {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+    }
+}
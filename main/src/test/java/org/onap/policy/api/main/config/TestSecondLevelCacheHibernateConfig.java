@@ -0,0 +1,99 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.OptionalLong;
+import javax.cache.CacheManager;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+
+class TestSecondLevelCacheHibernateConfig {
+
+    @Test
+    void testRegionsAndProperties() {
+        var config = new SecondLevelCacheConfig();
+        config.setMaxEntriesPerRegion(2);
+        var meterRegistry = new SimpleMeterRegistry();
+        var hibernateConfig = new SecondLevelCacheHibernateConfig();
+
+        var readModelConfig = new ReadModelConfig();
+        readModelConfig.setMaxAge(Duration.ofSeconds(10));
+
+        try (var cacheManager = hibernateConfig.secondLevelCacheManager(config, readModelConfig, meterRegistry)) {
+            assertThat(cacheManager.getCacheNames()).hasSize(SecondLevelCacheHibernateConfig.CACHED_ENTITIES.size() + 2)
+                .contains(JpaToscaPolicy.class.getName(), SecondLevelCacheHibernateConfig.QUERY_RESULTS_REGION,
+                    SecondLevelCacheHibernateConfig.UPDATE_TIMESTAMPS_REGION);
+            assertThat(meterRegistry.find("cache.gets").tag("cache", JpaToscaPolicy.class.getName()).meters())
+                .isNotEmpty();
+
+            // the entities and query results expire with the read model, the update timestamps do not
+            assertThat(getExpireAfterWrite(cacheManager, JpaToscaPolicy.class.getName()))
+                .isEqualTo(OptionalLong.of(Duration.ofSeconds(10).toNanos()));
+            assertThat(getExpireAfterWrite(cacheManager, SecondLevelCacheHibernateConfig.QUERY_RESULTS_REGION))
+                .isEqualTo(OptionalLong.of(Duration.ofSeconds(10).toNanos()));
+            assertThat(getExpireAfterWrite(cacheManager, SecondLevelCacheHibernateConfig.UPDATE_TIMESTAMPS_REGION))
+                .isEmpty();
+
+            var properties = new HashMap<String, Object>();
+            hibernateConfig.secondLevelCacheCustomizer(config, cacheManager).customize(properties);
+            assertThat(properties).containsEntry(AvailableSettings.USE_SECOND_LEVEL_CACHE, "true")
+                .containsEntry(AvailableSettings.USE_QUERY_CACHE, "true")
+                .containsEntry(ConfigSettings.CACHE_MANAGER, cacheManager)
+                .containsEntry(AvailableSettings.CLASS_CACHE_PREFIX + "." + JpaToscaPolicy.class.getName(),
+                    "read-write");
+        }
+    }
+
+    @Test
+    void testExpireAfterWrite() {
+        var config = new SecondLevelCacheConfig();
+        var readModelConfig = new ReadModelConfig();
+
+        config.setExpireAfterWrite(Duration.ofSeconds(5));
+        assertThat(SecondLevelCacheHibernateConfig.getExpireAfterWrite(config, readModelConfig))
+            .isEqualTo(OptionalLong.of(Duration.ofSeconds(5).toNanos()));
+
+        config.setExpireAfterWrite(Duration.ofMinutes(5));
+        assertThat(SecondLevelCacheHibernateConfig.getExpireAfterWrite(config, readModelConfig))
+            .isEqualTo(OptionalLong.of(readModelConfig.getMaxAge().toNanos()));
+
+        readModelConfig.setMaxAge(Duration.ZERO);
+        assertThat(SecondLevelCacheHibernateConfig.getExpireAfterWrite(config, readModelConfig))
+            .isEqualTo(OptionalLong.of(Duration.ofMinutes(5).toNanos()));
+
+        config.setExpireAfterWrite(Duration.ZERO);
+        assertThat(SecondLevelCacheHibernateConfig.getExpireAfterWrite(config, readModelConfig)).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private OptionalLong getExpireAfterWrite(CacheManager cacheManager, String region) {
+        return cacheManager.getCache(region).getConfiguration(CaffeineConfiguration.class).getExpireAfterWrite();
+    }
+}
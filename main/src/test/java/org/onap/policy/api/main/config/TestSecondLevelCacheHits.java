@@ -0,0 +1,96 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.api.main.PolicyApiApplication;
+import org.onap.policy.api.main.repository.PolicyRepository;
+import org.onap.policy.api.main.service.ToscaServiceTemplateService;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks that the TOSCA entities, which are only marked cacheable through the {@code hibernate.classcache}
+ * properties, are served from the second-level cache once it is enabled.
+ */
+@SpringBootTest(classes = PolicyApiApplication.class, properties = {"policy-api.second-level-cache.enabled=true",
+    "spring.jpa.properties.hibernate.generate_statistics=true"})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class TestSecondLevelCacheHits {
+
+    private static final String POLICY_RESOURCE = "policies/vCPE.policy.monitoring.input.tosca.json";
+    private static final PfConceptKey POLICY_KEY = new PfConceptKey("onap.restart.tca", "1.0.0");
+
+    @Autowired
+    private ToscaServiceTemplateService toscaServiceTemplateService;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testPolicyServedFromCache() throws Exception {
+        toscaServiceTemplateService.createPolicies(new StandardCoder()
+            .decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE), ToscaServiceTemplate.class));
+
+        var sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        var statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        // the first session loads the policy from the database and puts it in its region
+        assertThat(findPolicy()).isTrue();
+        assertThat(sessionFactory.getCache().containsEntity(JpaToscaPolicy.class, POLICY_KEY)).isTrue();
+        assertThat(statistics.getSecondLevelCachePutCount()).isPositive();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isZero();
+        var loads = statistics.getEntityLoadCount();
+
+        // the next session gets it from the region
+        assertThat(findPolicy()).isTrue();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(loads);
+    }
+
+    // Find the policy in a session of its own
+    private boolean findPolicy() {
+        return Boolean.TRUE.equals(new TransactionTemplate(transactionManager)
+            .execute(status -> policyRepository.findById(POLICY_KEY).isPresent()));
+    }
+}
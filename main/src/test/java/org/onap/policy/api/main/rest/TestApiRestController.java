@@ -20,30 +20,49 @@
 
 package org.onap.policy.api.main.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import jakarta.ws.rs.core.Response;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
+import org.onap.policy.api.main.rest.ToscaResponseCache.EncodedResponse;
 import org.onap.policy.api.main.rest.provider.healthcheck.HealthCheckProvider;
+import org.onap.policy.api.main.service.ToscaServiceTemplatePage;
+import org.onap.policy.api.main.service.ToscaServiceTemplateReadModel;
 import org.onap.policy.api.main.service.ToscaServiceTemplateService;
+import org.onap.policy.api.main.service.WriteCoordinator;
+import org.onap.policy.api.main.service.WriteCoordinator.BatchWriteOperation;
+import org.onap.policy.api.main.service.WriteCoordinator.WriteOperation;
+import org.onap.policy.api.main.service.WriteOutcome;
 import org.onap.policy.common.endpoints.report.HealthCheckReport;
 import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.base.PfConceptKey;
 import org.onap.policy.models.base.PfModelException;
 import org.onap.policy.models.base.PfModelRuntimeException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
@@ -65,6 +84,15 @@ class TestApiRestController {
     @MockBean
     private ToscaServiceTemplateService toscaServiceTemplateService;
 
+    @MockBean
+    private WriteCoordinator writeCoordinator;
+
+    @MockBean
+    private ToscaServiceTemplateReadModel readModel;
+
+    @MockBean
+    private ToscaResponseCache responseCache;
+
     AutoCloseable autoCloseable;
 
     private final PfModelRuntimeException pfException =
@@ -75,6 +103,8 @@ class TestApiRestController {
     private static final String SOME_POLICY_TYPE_VERSION = "somePolicyTypeVersion";
     private static final String SOME_POLICY_VERSION = "somePolicyVersion";
     private static final String WRONG_POLICY_EVERYTHING = "wrong";
+    private static final String SPECIFIC_POLICY_URI =
+        "/policies/" + SOME_POLICY_NAME + "/versions/" + SOME_POLICY_VERSION;
 
     private static final String URI_VALID_POLICY_TYPE_AND_VERSION =
         "/policytypes/" + SOME_POLICY_TYPE + "/versions/" + SOME_POLICY_TYPE_VERSION;
@@ -82,8 +112,19 @@ class TestApiRestController {
         URI_VALID_POLICY_TYPE_AND_VERSION + "/policies";
 
     @BeforeEach
-    void setUp(@Autowired WebApplicationContext context) {
+    void setUp(@Autowired WebApplicationContext context) throws PfModelException {
         autoCloseable = MockitoAnnotations.openMocks(this);
+        // apply writes straight away on the calling thread
+        when(writeCoordinator.execute(any())).thenAnswer(
+            invocation -> invocation.getArgument(0, WriteOperation.class).apply());
+        when(writeCoordinator.executeGrouped(any(), any(), any())).thenAnswer(invocation -> {
+            var outcome = (WriteOutcome<?>) invocation.getArgument(1, BatchWriteOperation.class)
+                .apply(List.of(invocation.getArgument(2))).get(0);
+            if (!outcome.isSuccess()) {
+                throw outcome.getFailure();
+            }
+            return outcome.getResult();
+        });
         this.mvc = MockMvcBuilders.webAppContextSetup(context).build();
     }
 
@@ -118,6 +159,107 @@ class TestApiRestController {
         this.mvc.perform(getExceptionReq).andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getAllPolicyTypesNotModified() throws Exception {
+        when(toscaServiceTemplateService.fetchPolicyTypes(null, null)).thenReturn(new ToscaServiceTemplate());
+
+        // without an up to date revision, responses carry no entity tag
+        this.mvc.perform(get("/policytypes").accept(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(status().isOk()).andExpect(header().doesNotExist(HttpHeaders.ETAG));
+
+        when(readModel.getRevisionTag()).thenReturn(Optional.of("epoch-1-1"));
+        var entityTag = this.mvc.perform(get("/policytypes").accept(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(entityTag).startsWith("W/\"epoch-1-1-");
+
+        var conditionalRequest = get("/policytypes").accept(MediaType.APPLICATION_JSON_VALUE);
+        this.mvc.perform(conditionalRequest.header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + entityTag))
+            .andExpect(status().isNotModified()).andExpect(header().string(HttpHeaders.ETAG, entityTag))
+            .andExpect(content().string(""));
+        verify(toscaServiceTemplateService, times(2)).fetchPolicyTypes(null, null);
+
+        // the same revision of another request has another tag
+        this.mvc.perform(get("/policytypes/" + SOME_POLICY_TYPE).accept(MediaType.APPLICATION_JSON_VALUE)
+            .header(HttpHeaders.IF_NONE_MATCH, entityTag)).andExpect(status().isOk());
+
+        // a new revision invalidates the tag
+        when(readModel.getRevisionTag()).thenReturn(Optional.of("epoch-2-1"));
+        this.mvc.perform(get("/policytypes").accept(MediaType.APPLICATION_JSON_VALUE)
+            .header(HttpHeaders.IF_NONE_MATCH, entityTag)).andExpect(status().isOk());
+        verify(toscaServiceTemplateService, times(3)).fetchPolicyTypes(null, null);
+    }
+
+    @Test
+    void getPoliciesFromResponseCache() throws Exception {
+        when(readModel.getRevisionTag()).thenReturn(Optional.of("epoch-1-1"));
+        when(responseCache.isEnabled()).thenReturn(true);
+        when(responseCache.selectMediaType(any())).thenReturn(Optional.of(MediaType.APPLICATION_JSON));
+        var encoded = new EncodedResponse(MediaType.APPLICATION_JSON, "{\"cached\":true}".getBytes(
+            StandardCharsets.UTF_8));
+
+        // a miss reads and encodes the response
+        var serviceTemplate = new ToscaServiceTemplate();
+        when(toscaServiceTemplateService.fetchPolicies(any(), any(), any(), any(), any())).thenReturn(serviceTemplate);
+        when(responseCache.get(any())).thenReturn(Optional.empty());
+        when(responseCache.put(any(), eq(serviceTemplate))).thenReturn(encoded);
+        this.mvc.perform(get(SPECIFIC_POLICY_URI).accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isOk())
+            .andExpect(content().string("{\"cached\":true}")).andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(header().exists(CommonRestController.REQUEST_ID_NAME));
+
+        // a hit is written without reading
+        when(responseCache.get(any())).thenReturn(Optional.of(encoded));
+        this.mvc.perform(get(SPECIFIC_POLICY_URI).accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(content().string("{\"cached\":true}"));
+        verify(toscaServiceTemplateService, times(1)).fetchPolicies(any(), any(), any(), any(), any());
+
+        // reads that fail are not cached
+        when(responseCache.get(any())).thenReturn(Optional.empty());
+        given(toscaServiceTemplateService.fetchPolicies(any(), any(), any(), any(), any())).willThrow(pfException);
+        this.mvc.perform(get(SPECIFIC_POLICY_URI).accept(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(status().isBadRequest());
+        verify(responseCache, times(1)).put(any(), any());
+    }
+
+    @Test
+    void getAllPoliciesBypassesResponseCache() throws Exception {
+        when(readModel.getRevisionTag()).thenReturn(Optional.of("epoch-1-1"));
+        when(responseCache.isEnabled()).thenReturn(true);
+        when(responseCache.selectMediaType(any())).thenReturn(Optional.of(MediaType.APPLICATION_JSON));
+        when(toscaServiceTemplateService.fetchPolicies(any(), any(), any(), any(), any()))
+            .thenReturn(new ToscaServiceTemplate());
+        when(toscaServiceTemplateService.fetchPolicyTypes(null, null)).thenReturn(new ToscaServiceTemplate());
+
+        this.mvc.perform(get("/policies").accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG));
+        this.mvc.perform(get("/policytypes").accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG));
+        verify(responseCache, never()).get(any());
+        verify(responseCache, never()).put(any(), any());
+    }
+
+    @Test
+    void getSummaries() throws Exception {
+        when(toscaServiceTemplateService.fetchPolicySummaries()).thenReturn(
+            List.of(new ToscaEntitySummary("policy", "1.0.0", "onap.policies.Test", "1.0.0", null)));
+        this.mvc.perform(get("/policies/summary").accept(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(status().isOk()).andExpect(content().json(
+                "[{\"name\":\"policy\",\"version\":\"1.0.0\",\"type\":\"onap.policies.Test\","
+                    + "\"type_version\":\"1.0.0\"}]", true));
+
+        when(toscaServiceTemplateService.fetchPolicyTypeSummaries()).thenReturn(
+            List.of(new ToscaEntitySummary("onap.policies.Test", "1.0.0", null, null, "tosca.policies.Root")));
+        this.mvc.perform(get("/policytypes/summary").accept(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(status().isOk()).andExpect(content().json(
+                "[{\"name\":\"onap.policies.Test\",\"version\":\"1.0.0\","
+                    + "\"derived_from\":\"tosca.policies.Root\"}]", true));
+        verify(toscaServiceTemplateService, never()).fetchPolicyTypes(any(), any());
+
+        given(toscaServiceTemplateService.fetchPolicySummaries()).willThrow(pfException);
+        this.mvc.perform(get("/policies/summary").accept(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getAllVersionsOfPolicyType() throws Exception {
         when(toscaServiceTemplateService.fetchPolicyTypes(SOME_POLICY_TYPE, null))
@@ -275,7 +417,8 @@ class TestApiRestController {
         var toscaTemplate = new ToscaServiceTemplate();
         toscaTemplate.setName(SOME_POLICY_NAME);
         toscaTemplate.setVersion(SOME_POLICY_VERSION);
-        when(toscaServiceTemplateService.createPolicy(any())).thenReturn(toscaTemplate);
+        when(toscaServiceTemplateService.createPoliciesBatch(any()))
+            .thenReturn(List.of(WriteOutcome.success(toscaTemplate)));
 
         var body = ResourceUtils.getResourceAsString("policies/vFirewall.policy.monitoring.input.tosca.v2.yaml");
         var postRequest = post(URI_VALID_POLICY_TYPE_AND_VERSION_FOR_POLICIES)
@@ -283,7 +426,8 @@ class TestApiRestController {
         this.mvc.perform(postRequest).andExpect(status().isCreated());
 
         // exception scenario
-        given(toscaServiceTemplateService.createPolicy(any())).willThrow(pfException);
+        given(toscaServiceTemplateService.createPoliciesBatch(any()))
+            .willReturn(List.of(WriteOutcome.failure(pfException)));
         var postExceptionReq = post("/policytypes/wrong/versions/wrong/policies")
             .content(body).contentType("application/yaml");
         this.mvc.perform(postExceptionReq).andExpect(status().isBadRequest());
@@ -308,6 +452,40 @@ class TestApiRestController {
         this.mvc.perform(deleteExceptionReq).andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getPoliciesPaged() throws Exception {
+        var lastKey = new PfConceptKey("somePolicy", "1.0.0");
+        when(toscaServiceTemplateService.fetchPolicyPage(null, 2, PolicyFetchMode.BARE))
+            .thenReturn(new ToscaServiceTemplatePage(new ToscaServiceTemplate(), lastKey));
+        when(toscaServiceTemplateService.fetchPolicyPage(lastKey, PageCursor.DEFAULT_LIMIT, null))
+            .thenReturn(new ToscaServiceTemplatePage(new ToscaServiceTemplate(), null));
+
+        var firstPageReq = get("/policies?mode=bare&limit=2").accept(MediaType.APPLICATION_JSON);
+        this.mvc.perform(firstPageReq).andExpect(status().isOk())
+            .andExpect(header().string(CommonRestController.NEXT_CURSOR_NAME, PageCursor.encode(lastKey)));
+
+        var lastPageReq = get("/policies?cursor=" + PageCursor.encode(lastKey)).accept(MediaType.APPLICATION_JSON);
+        this.mvc.perform(lastPageReq).andExpect(status().isOk())
+            .andExpect(header().doesNotExist(CommonRestController.NEXT_CURSOR_NAME));
+
+        this.mvc.perform(get("/policies?limit=0").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+        this.mvc.perform(get("/policies?cursor=bad!").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllPolicyTypesPaged() throws Exception {
+        when(toscaServiceTemplateService.fetchPolicyTypePage(null, 10))
+            .thenReturn(new ToscaServiceTemplatePage(new ToscaServiceTemplate(), null));
+        this.mvc.perform(get("/policytypes?limit=10").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk())
+            .andExpect(header().doesNotExist(CommonRestController.NEXT_CURSOR_NAME));
+        verify(toscaServiceTemplateService, never()).fetchPolicyTypes(any(), any());
+
+        this.mvc.perform(get("/policytypes?limit=1001").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getPolicies() throws Exception {
         when(toscaServiceTemplateService.fetchPolicies(null, null, null, null, PolicyFetchMode.BARE))
@@ -356,18 +534,40 @@ class TestApiRestController {
         var toscaTemplate = new ToscaServiceTemplate();
         toscaTemplate.setName(SOME_POLICY_NAME);
         toscaTemplate.setVersion(SOME_POLICY_VERSION);
-        when(toscaServiceTemplateService.createPolicies(any())).thenReturn(toscaTemplate);
+        when(toscaServiceTemplateService.createPoliciesBatch(any()))
+            .thenReturn(List.of(WriteOutcome.success(toscaTemplate)));
 
         var body = ResourceUtils.getResourceAsString("policies/vFirewall.policy.monitoring.input.tosca.v2.yaml");
         var postRequest = post("/policies").content(body).contentType("application/yaml");
         this.mvc.perform(postRequest).andExpect(status().isCreated());
 
         // exception scenario
-        given(toscaServiceTemplateService.createPolicies(any())).willThrow(pfException);
+        given(toscaServiceTemplateService.createPoliciesBatch(any()))
+            .willReturn(List.of(WriteOutcome.failure(pfException)));
         var postExceptionReq = post("/policies").content(body).contentType("application/yaml");
         this.mvc.perform(postExceptionReq).andExpect(status().isBadRequest());
     }
 
+    @Test
+    void batchGetPolicies() throws Exception {
+        var missing = new ToscaConceptIdentifier("unknown", "1.0.0");
+        when(toscaServiceTemplateService.fetchPolicyBatch(any(), any()))
+            .thenReturn(new ToscaPolicyBatch(new ToscaServiceTemplate(), List.of(missing)));
+
+        var body = "[{\"name\":\"" + SOME_POLICY_NAME + "\",\"version\":\"" + SOME_POLICY_VERSION + "\"},"
+            + "{\"name\":\"unknown\",\"version\":\"1.0.0\"}]";
+        var postRequest = post("/policies/batch-get").content(body).contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_JSON);
+        this.mvc.perform(postRequest).andExpect(status().isOk())
+            .andExpect(content().json("{\"missing\":[{\"name\":\"unknown\",\"version\":\"1.0.0\"}]}"));
+        verify(toscaServiceTemplateService).fetchPolicyBatch(
+            eq(List.of(new ToscaConceptIdentifier(SOME_POLICY_NAME, SOME_POLICY_VERSION), missing)), any());
+
+        given(toscaServiceTemplateService.fetchPolicyBatch(any(), any())).willThrow(pfException);
+        this.mvc.perform(post("/policies/batch-get").content(body).contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deleteSpecificPolicy() throws Exception {
         when(toscaServiceTemplateService.deletePolicy(SOME_POLICY_NAME, SOME_POLICY_VERSION))
@@ -24,13 +24,10 @@
 
 package org.onap.policy.api.main.rest;
 
-import java.lang.reflect.Field;
 import java.util.UUID;
-import java.util.concurrent.Semaphore;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
-import org.onap.policy.api.main.exception.PolicyApiRuntimeException;
 import org.onap.policy.common.utils.coder.CoderException;
 import org.onap.policy.common.utils.coder.StandardCoder;
 import org.springframework.http.ResponseEntity;
@@ -61,19 +58,4 @@ class TestCommonRestController {
         ReflectionTestUtils.setField(crc, "coder", mockCoder);
         Assertions.assertNull(crc.toJson("fail"));
     }
-
-    @Test
-    void testLock() throws Exception {
-        Class<?> mockControllerClass = Class.forName("org.onap.policy.api.main.rest.CommonRestController");
-        CommonRestController mockController =
-            (CommonRestController) mockControllerClass.getDeclaredConstructor().newInstance();
-        var mockSemaphore = Mockito.mock(Semaphore.class);
-        Mockito.doThrow(new InterruptedException("runtime error")).when(mockSemaphore).acquire();
-        Field field = mockControllerClass.getDeclaredField("mutex");
-        field.setAccessible(true);
-        field.set(mockController, mockSemaphore);
-
-        Assertions.assertThrows(PolicyApiRuntimeException.class, mockController::lock);
-        ReflectionTestUtils.setField(crc, "mutex", new Semaphore(1));
-    }
 }
\ No newline at end of file
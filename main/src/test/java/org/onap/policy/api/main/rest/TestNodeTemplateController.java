@@ -37,6 +37,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
 import org.onap.policy.api.main.service.ToscaServiceTemplateService;
+import org.onap.policy.api.main.service.WriteCoordinator;
+import org.onap.policy.api.main.service.WriteCoordinator.WriteOperation;
 import org.onap.policy.common.utils.resources.ResourceUtils;
 import org.onap.policy.models.base.PfModelException;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaNodeTemplate;
@@ -62,14 +64,20 @@ class TestNodeTemplateController {
     @MockBean
     private ToscaServiceTemplateService toscaServiceTemplateService;
 
+    @MockBean
+    private WriteCoordinator writeCoordinator;
+
     AutoCloseable autoCloseable;
 
     private static final PfModelException PF_MODEL_EXCEPTION =
         new PfModelException(Response.Status.BAD_REQUEST, "Error");
 
     @BeforeEach
-    void setUp(@Autowired WebApplicationContext context) {
+    void setUp(@Autowired WebApplicationContext context) throws PfModelException {
         autoCloseable = MockitoAnnotations.openMocks(this);
+        // apply writes straight away on the calling thread
+        when(writeCoordinator.execute(any())).thenAnswer(
+            invocation -> invocation.getArgument(0, WriteOperation.class).apply());
         mvc = MockMvcBuilders.webAppContextSetup(context).build();
     }
 
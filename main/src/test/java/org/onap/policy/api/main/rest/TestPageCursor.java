@@ -0,0 +1,63 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.base.PfModelRuntimeException;
+
+class TestPageCursor {
+
+    @Test
+    void testEncodeDecode() {
+        var key = new PfConceptKey("onap.policies.monitoring.tcagen2", "1.0.0");
+        var cursor = PageCursor.encode(key);
+        assertThat(cursor).doesNotContain("=", "+", "/");
+        assertThat(PageCursor.decode(cursor)).isEqualTo(key);
+        assertThat(PageCursor.decode(null)).isNull();
+    }
+
+    @Test
+    void testInvalidCursor() {
+        assertThatThrownBy(() -> PageCursor.decode("not base64!")).isInstanceOf(PfModelRuntimeException.class)
+            .hasMessage("invalid page cursor not base64!");
+        var noVersion = Base64.getUrlEncoder().encodeToString("name".getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> PageCursor.decode(noVersion)).isInstanceOf(PfModelRuntimeException.class);
+        var badVersion = Base64.getUrlEncoder().encodeToString("name:x y".getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> PageCursor.decode(badVersion)).isInstanceOf(PfModelRuntimeException.class);
+    }
+
+    @Test
+    void testCheckLimit() {
+        assertThat(PageCursor.checkLimit(null)).isEqualTo(PageCursor.DEFAULT_LIMIT);
+        assertThat(PageCursor.checkLimit(1)).isEqualTo(1);
+        assertThat(PageCursor.checkLimit(PageCursor.MAX_LIMIT)).isEqualTo(PageCursor.MAX_LIMIT);
+        assertThatThrownBy(() -> PageCursor.checkLimit(0)).hasMessage("page limit 0 is not from 1 to 1000");
+        assertThatThrownBy(() -> PageCursor.checkLimit(PageCursor.MAX_LIMIT + 1))
+            .isInstanceOf(PfModelRuntimeException.class);
+    }
+}
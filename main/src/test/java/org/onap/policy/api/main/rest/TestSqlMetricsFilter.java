@@ -0,0 +1,102 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.api.main.config.SqlMetricsConfig;
+import org.onap.policy.api.main.service.SqlStatementRecorder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+class TestSqlMetricsFilter {
+
+    private SqlMetricsConfig config;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        config = new SqlMetricsConfig();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testOperationRecorded() throws Exception {
+        config.setDebugHeaderEnabled(true);
+        var request = new MockHttpServletRequest();
+        var response = new MockHttpServletResponse();
+        var handler = new HandlerMethod(mock(ApiRestController.class), "getAllPolicyTypes", Integer.class,
+            String.class, UUID.class);
+
+        new SqlMetricsFilter(config, meterRegistry).doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest filteredRequest, ServletResponse filteredResponse) throws IOException {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+                SqlStatementRecorder.statementPrepared();
+                SqlStatementRecorder.statementPrepared();
+                SqlStatementRecorder.entityLoaded();
+                SqlStatementRecorder.flushed(TimeUnit.MILLISECONDS.toNanos(3));
+                filteredResponse.getWriter().write("body");
+            }
+        });
+
+        assertThat(meterRegistry.get(SqlMetricsFilter.STATEMENTS_METRIC)
+            .tag(SqlMetricsFilter.OPERATION_TAG, "getAllPolicyTypes").summary().totalAmount()).isEqualTo(2.0);
+        assertThat(meterRegistry.get(SqlMetricsFilter.ENTITIES_METRIC).summary().totalAmount()).isEqualTo(1.0);
+        assertThat(meterRegistry.get(SqlMetricsFilter.FLUSH_METRIC).timer().totalTime(TimeUnit.MILLISECONDS))
+            .isEqualTo(3.0);
+        assertThat(response.getHeader(SqlMetricsFilter.SQL_BUDGET_NAME))
+            .isEqualTo("statements=2;entities=1;flushMs=3");
+        assertThat(response.getContentAsString()).isEqualTo("body");
+
+        // the histograms are bounded, the default buckets would span the whole range of a long
+        assertThat(meterRegistry.get(SqlMetricsFilter.STATEMENTS_METRIC).summary().takeSnapshot().histogramCounts())
+            .isNotEmpty().hasSizeLessThan(100);
+        assertThat(meterRegistry.get(SqlMetricsFilter.FLUSH_METRIC).timer().takeSnapshot().histogramCounts())
+            .isNotEmpty().hasSizeLessThan(100);
+
+        // nothing is recorded once the request is done
+        assertThat(SqlStatementRecorder.current()).isEmpty();
+    }
+
+    @Test
+    void testOtherRequestsNotRecorded() throws Exception {
+        var response = new MockHttpServletResponse();
+        new SqlMetricsFilter(config, meterRegistry).doFilter(new MockHttpServletRequest(), response,
+            new MockFilterChain());
+
+        assertThat(meterRegistry.getMeters()).isEmpty();
+        assertThat(response.getHeader(SqlMetricsFilter.SQL_BUDGET_NAME)).isNull();
+    }
+}
@@ -0,0 +1,132 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.gson.Gson;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.api.main.config.ResponseCacheConfig;
+import org.onap.policy.api.main.rest.ToscaResponseCache.Key;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaEntityFilter;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+class TestToscaResponseCache {
+
+    private static final MediaType APPLICATION_YAML = MediaType.parseMediaType("application/yaml");
+
+    private ResponseCacheConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private ToscaResponseCache responseCache;
+    private ToscaServiceTemplate serviceTemplate;
+
+    @BeforeEach
+    void setUp() {
+        config = new ResponseCacheConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        responseCache = new ToscaResponseCache(config, new Gson(), meterRegistry);
+        serviceTemplate = new ToscaServiceTemplate();
+        serviceTemplate.setToscaDefinitionsVersion("tosca_simple_yaml_1_1_0");
+    }
+
+    @Test
+    void testSelectMediaType() {
+        assertThat(responseCache.selectMediaType(null)).contains(MediaType.APPLICATION_JSON);
+        assertThat(responseCache.selectMediaType("*/*")).contains(MediaType.APPLICATION_JSON);
+        assertThat(responseCache.selectMediaType("application/yaml")).contains(APPLICATION_YAML);
+        assertThat(responseCache.selectMediaType("application/json;q=0.5, application/yaml"))
+            .contains(APPLICATION_YAML);
+        assertThat(responseCache.selectMediaType("application/yaml;q=0, application/*")
+            .contains(MediaType.APPLICATION_JSON);
+        assertThat(responseCache.selectMediaType("text/plain")).isEmpty();
+        assertThat(responseCache.selectMediaType("not a media type")).isEmpty();
+    }
+
+    @Test
+    void testPutAndGet() {
+        var jsonKey = new Key(filter("onap.policies.Monitoring"), PolicyFetchMode.BARE, MediaType.APPLICATION_JSON,
+            "revision-1");
+        assertThat(responseCache.get(jsonKey)).isEmpty();
+
+        var json = responseCache.put(jsonKey, serviceTemplate);
+        assertThat(json.getContentType().isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(new String(json.getBody(), StandardCharsets.UTF_8))
+            .contains("\"tosca_definitions_version\":\"tosca_simple_yaml_1_1_0\"");
+        assertThat(responseCache.get(jsonKey)).containsSame(json);
+
+        // equal filters share the response, other media types and fetch modes do not
+        var sameKey = new Key(filter("onap.policies.Monitoring"), PolicyFetchMode.BARE, MediaType.APPLICATION_JSON,
+            "revision-1");
+        assertThat(responseCache.get(sameKey)).containsSame(json);
+        assertThat(responseCache.get(new Key(filter("onap.policies.Monitoring"), PolicyFetchMode.REFERENCED,
+            MediaType.APPLICATION_JSON, "revision-1"))).isEmpty();
+
+        var yamlKey = new Key(filter("onap.policies.Monitoring"), PolicyFetchMode.BARE, APPLICATION_YAML,
+            "revision-1");
+        var yaml = responseCache.put(yamlKey, serviceTemplate);
+        assertThat(yaml.getContentType().isCompatibleWith(APPLICATION_YAML)).isTrue();
+        assertThat(new String(yaml.getBody(), StandardCharsets.UTF_8))
+            .contains("tosca_definitions_version: tosca_simple_yaml_1_1_0");
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", ToscaResponseCache.CACHE_NAME)
+            .tag("result", "hit").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", ToscaResponseCache.CACHE_NAME)
+            .tag("result", "miss").functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testNewRevisionDropsEarlierResponses() {
+        var oldKey = new Key(filter(null), PolicyFetchMode.BARE, MediaType.APPLICATION_JSON, "revision-1");
+        responseCache.put(oldKey, serviceTemplate);
+
+        var newKey = new Key(filter(null), PolicyFetchMode.BARE, MediaType.APPLICATION_JSON, "revision-2");
+        responseCache.put(newKey, serviceTemplate);
+        assertThat(responseCache.get(oldKey)).isEmpty();
+        assertThat(responseCache.get(newKey)).isPresent();
+    }
+
+    @Test
+    void testBoundedBySize() {
+        config.setMaxSize(DataSize.ofBytes(1000));
+        meterRegistry = new SimpleMeterRegistry();
+        responseCache = new ToscaResponseCache(config, new Gson(), meterRegistry);
+        for (var index = 0; index < 100; index++) {
+            responseCache.put(new Key(filter("type" + index), PolicyFetchMode.BARE, MediaType.APPLICATION_JSON,
+                "revision-1"), serviceTemplate);
+        }
+
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", ToscaResponseCache.CACHE_NAME)
+            .functionCounter().count()).isPositive();
+        assertThat(meterRegistry.get("cache.size").tag("cache", ToscaResponseCache.CACHE_NAME).gauge().value())
+            .isLessThan(100);
+    }
+
+    private static ToscaEntityFilter<ToscaPolicyType> filter(String name) {
+        return ToscaEntityFilter.<ToscaPolicyType>builder().name(name).build();
+    }
+}
@@ -23,55 +23,92 @@ package org.onap.policy.api.main.rest.provider.healthcheck;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
-import org.junit.jupiter.api.AfterEach;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Optional;
+import javax.sql.DataSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.Mockito;
-import org.mockito.MockitoAnnotations;
-import org.onap.policy.api.main.exception.PolicyApiRuntimeException;
-import org.onap.policy.api.main.service.ToscaServiceTemplateService;
-import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+import org.onap.policy.api.main.config.HealthCheckConfig;
+import org.onap.policy.api.main.service.ToscaServiceTemplateReadModel;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 class TestHealthCheckProvider {
 
-    @InjectMocks
-    private HealthCheckProvider healthCheckProvider;
-
-    @Mock
-    private ToscaServiceTemplateService toscaService;
-
-    AutoCloseable closeable;
+    private DataSource dataSource;
+    private Connection connection;
+    private ToscaServiceTemplateReadModel readModel;
+    private HealthCheckConfig config;
 
     @BeforeEach
-    void before() {
-        closeable = MockitoAnnotations.openMocks(this);
-    }
-
-    @AfterEach
-    void after() throws Exception {
-        closeable.close();
+    void before() throws SQLException {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        readModel = mock(ToscaServiceTemplateReadModel.class);
+        when(readModel.getSnapshotAge()).thenReturn(Optional.empty());
+        config = new HealthCheckConfig();
+        config.setCacheInterval(Duration.ZERO);
     }
 
     @Test
-    void performHealthCheck() {
-        Mockito.when(toscaService.getDefaultJpaToscaServiceTemplate())
-            .thenReturn(new JpaToscaServiceTemplate());
+    void performHealthCheck() throws SQLException {
+        when(connection.isValid(2)).thenReturn(true);
 
-        var result = healthCheckProvider.performHealthCheck();
+        var result = new HealthCheckProvider(dataSource, readModel, config).performHealthCheck();
         assertEquals(200, result.getCode());
         assertTrue(result.isHealthy());
+        verify(connection).close();
     }
 
     @Test
-    void performHealthCheck_NotHealthy() {
-        Mockito.when(toscaService.getDefaultJpaToscaServiceTemplate())
-            .thenThrow(new PolicyApiRuntimeException("Error"));
+    void performHealthCheck_NotHealthy() throws SQLException {
+        when(connection.isValid(2)).thenReturn(false);
+        var healthCheckProvider = new HealthCheckProvider(dataSource, readModel, config);
 
         var result = healthCheckProvider.performHealthCheck();
         assertEquals(503, result.getCode());
         assertFalse(result.isHealthy());
+
+        when(dataSource.getConnection()).thenThrow(new SQLException("Error"));
+        result = healthCheckProvider.performHealthCheck();
+        assertEquals(503, result.getCode());
+        assertFalse(result.isHealthy());
+    }
+
+    @Test
+    void performHealthCheck_Cached() throws SQLException {
+        when(connection.isValid(2)).thenReturn(true);
+        config.setCacheInterval(Duration.ofMinutes(1));
+        var healthCheckProvider = new HealthCheckProvider(new LazyConnectionDataSourceProxy(dataSource), readModel,
+            config);
+
+        assertTrue(healthCheckProvider.performHealthCheck().isHealthy());
+        assertTrue(healthCheckProvider.performHealthCheck().isHealthy());
+        assertTrue(healthCheckProvider.getReadModelAge().isEmpty());
+        verify(dataSource, times(1)).getConnection();
+        verify(connection, times(1)).isValid(2);
+        verify(readModel, times(1)).getSnapshotAge();
+    }
+
+    @Test
+    void healthIndicator() throws SQLException {
+        when(connection.isValid(2)).thenReturn(true);
+        when(readModel.getSnapshotAge()).thenReturn(Optional.of(Duration.ofMillis(1500)));
+        var indicator = new ApiDatabaseHealthIndicator(new HealthCheckProvider(dataSource, readModel, config));
+
+        var health = indicator.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(1500L, health.getDetails().get("readModelAgeMillis"));
+
+        when(connection.isValid(2)).thenReturn(false);
+        assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
     }
-}
\ No newline at end of file
+}
@@ -21,15 +21,19 @@
 
 package org.onap.policy.api.main.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.onap.policy.api.main.repository.ToscaServiceTemplateRepository;
 import org.onap.policy.models.base.PfConceptKey;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
 import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
 
 /**
@@ -37,6 +41,8 @@ import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
  */
 public class TestCommonToscaServiceTemplateService {
 
+    protected final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     protected enum Operation {
         CREATE_POLICY_TYPE,
         DELETE_POLICY_TYPE,
@@ -47,11 +53,21 @@ public class TestCommonToscaServiceTemplateService {
     @Mock
     protected ToscaServiceTemplateRepository toscaServiceTemplateRepository;
     @Mock
+    protected ToscaServiceTemplateWriter serviceTemplateWriter;
+    @Mock
     protected PolicyTypeService policyTypeService;
     @Mock
     protected PolicyService policyService;
     @Mock
     protected NodeTemplateService nodeTemplateService;
+    @Mock
+    protected ToscaServiceTemplateReadModel readModel;
+    @Mock
+    protected ToscaCascadeResolver cascadeResolver;
+    @Mock
+    protected ToscaEntityCache toscaEntityCache;
+    @Spy
+    protected ToscaPhaseTimer phaseTimer = new ToscaPhaseTimer(meterRegistry);
 
     AutoCloseable autoCloseable;
 
@@ -84,9 +100,44 @@ public class TestCommonToscaServiceTemplateService {
                 default -> Mockito.doNothing();
             }
         }
-        Mockito.when(toscaServiceTemplateRepository.findById(new PfConceptKey(JpaToscaServiceTemplate.DEFAULT_NAME,
-                JpaToscaServiceTemplate.DEFAULT_VERSION)))
-            .thenReturn(Optional.of(new JpaToscaServiceTemplate(dbSvcTemplate)));
+        stubDbServiceTemplate(new JpaToscaServiceTemplate(dbSvcTemplate));
+    }
+
+    /**
+     * Set up the repository to return a DB TOSCA service template, whatever the fetch plan it is loaded with.
+     *
+     * @param dbServiceTemplate the DB service template
+     */
+    protected void stubDbServiceTemplate(JpaToscaServiceTemplate dbServiceTemplate) {
+        var key = new PfConceptKey(JpaToscaServiceTemplate.DEFAULT_NAME, JpaToscaServiceTemplate.DEFAULT_VERSION);
+        Mockito.when(toscaServiceTemplateRepository.findById(key)).thenReturn(Optional.of(dbServiceTemplate));
+        Mockito.when(toscaServiceTemplateRepository.findWithPolicyTypesByKey(key))
+            .thenReturn(Optional.of(dbServiceTemplate));
+        Mockito.when(toscaServiceTemplateRepository.findWithPoliciesByKey(key))
+            .thenReturn(Optional.of(dbServiceTemplate));
+        Mockito.when(toscaServiceTemplateRepository.findWithNodeTemplatesByKey(key))
+            .thenReturn(Optional.of(dbServiceTemplate));
+
+        // answer the keyed queries of the delete checks from the same service template
+        Mockito.doAnswer(invocation -> {
+            PfConceptKey policyTypeKey = invocation.getArgument(0);
+            if (dbServiceTemplate.getPolicyTypes() == null) {
+                return Optional.empty();
+            }
+            return dbServiceTemplate.getPolicyTypes().getConceptMap().values().stream()
+                .filter(policyType -> policyTypeKey.equals(policyType.getDerivedFrom()))
+                .map(JpaToscaPolicyType::getKey).sorted().findFirst();
+        }).when(policyTypeService).findDerivedPolicyType(Mockito.any());
+        Mockito.doAnswer(invocation -> {
+            PfConceptKey policyTypeKey = invocation.getArgument(0);
+            var topologyTemplate = dbServiceTemplate.getTopologyTemplate();
+            if (topologyTemplate == null || topologyTemplate.getPolicies() == null) {
+                return Optional.empty();
+            }
+            return topologyTemplate.getPolicies().getConceptMap().values().stream()
+                .filter(policy -> policyTypeKey.equals(policy.getType()))
+                .map(JpaToscaPolicy::getKey).sorted().findFirst();
+        }).when(policyService).findPolicyOfType(Mockito.any());
     }
 
     /**
@@ -95,8 +146,7 @@ public class TestCommonToscaServiceTemplateService {
     @BeforeEach
     public void setUp() {
         autoCloseable = MockitoAnnotations.openMocks(this);
-        Mockito.when(toscaServiceTemplateRepository.findById(new PfConceptKey(JpaToscaServiceTemplate.DEFAULT_NAME,
-            JpaToscaServiceTemplate.DEFAULT_VERSION))).thenReturn(Optional.of(new JpaToscaServiceTemplate()));
+        stubDbServiceTemplate(new JpaToscaServiceTemplate());
     }
 
     @AfterEach
@@ -56,6 +56,9 @@ class TestNodeTemplateService {
     @Mock
     private NodeTypeRepository nodeTypeRepository;
 
+    @Mock
+    private ToscaEntityCache toscaEntityCache;
+
     @InjectMocks
     private NodeTemplateService nodeTemplateService;
 
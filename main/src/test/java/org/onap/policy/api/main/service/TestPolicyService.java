@@ -21,8 +21,10 @@
 
 package org.onap.policy.api.main.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 
+import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,6 +33,7 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.onap.policy.api.main.repository.PolicyRepository;
 import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
 
 class TestPolicyService {
 
@@ -58,4 +61,15 @@ class TestPolicyService {
         Mockito.doNothing().when(policyRepository).deleteById(id);
         assertThatCode(() -> policyService.deletePolicy(id)).doesNotThrowAnyException();
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindPolicyOfType() {
+        PfConceptKey policyTypeKey = new PfConceptKey("dummy.Type", "1.0.0");
+        PfConceptKey id = new PfConceptKey("dummy", "1.0.0");
+        Mockito.when(policyRepository.findFirstByTypeNameAndTypeVersionOrderByKeyNameAscKeyVersionAsc("dummy.Type",
+            "1.0.0")).thenReturn(Optional.of(new JpaToscaPolicy(id)));
+        var service = new PolicyService(policyRepository, Mockito.mock(ToscaEntityCache.class));
+        assertThat(service.findPolicyOfType(policyTypeKey)).contains(id);
+        assertThat(service.findPolicyOfType(id)).isEmpty();
+    }
+}
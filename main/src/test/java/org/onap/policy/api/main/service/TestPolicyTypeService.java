@@ -21,8 +21,10 @@
 
 package org.onap.policy.api.main.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 
+import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,12 +34,16 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.onap.policy.api.main.repository.PolicyTypeRepository;
 import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
 
 class TestPolicyTypeService {
 
     @Mock
     private PolicyTypeRepository policyTypeRepository;
 
+    @Mock
+    private ToscaEntityCache toscaEntityCache;
+
     @InjectMocks
     private PolicyTypeService policyTypeService;
 
@@ -58,5 +64,16 @@ class TestPolicyTypeService {
         PfConceptKey id = new PfConceptKey("dummy", "1.0.0");
         Mockito.doNothing().when(policyTypeRepository).deleteById(id);
         assertThatCode(() -> policyTypeService.deletePolicyType(id)).doesNotThrowAnyException();
+        Mockito.verify(toscaEntityCache).evictAfterCommit();
+    }
+
+    @Test
+    void testFindDerivedPolicyType() {
+        PfConceptKey id = new PfConceptKey("dummy", "1.0.0");
+        PfConceptKey derived = new PfConceptKey("dummy.Derived", "1.0.0");
+        Mockito.when(policyTypeRepository.findFirstByDerivedFromNameAndDerivedFromVersionOrderByKeyNameAscKeyVersionAsc(
+            "dummy", "1.0.0")).thenReturn(Optional.of(new JpaToscaPolicyType(derived)));
+        assertThat(policyTypeService.findDerivedPolicyType(id)).contains(derived);
+        assertThat(policyTypeService.findDerivedPolicyType(derived)).isEmpty();
     }
-}
\ No newline at end of file
+}
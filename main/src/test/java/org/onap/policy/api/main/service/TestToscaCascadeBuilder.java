@@ -0,0 +1,201 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.gson.Gson;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.common.utils.coder.StandardYamlCoder;
+import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.provider.SimpleToscaProvider;
+import org.onap.policy.models.tosca.utils.ToscaServiceTemplateUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class TestToscaCascadeBuilder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestToscaCascadeBuilder.class);
+
+    private static final List<String> POLICY_TYPE_RESOURCES = List.of(
+        "policytypes/onap.policies.monitoring.tcagen2.yaml",
+        "policytypes/onap.policies.controlloop.operational.Common.yaml",
+        "policytypes/onap.policies.controlloop.operational.common.Drools.yaml",
+        "policytypes/onap.policies.controlloop.operational.common.Apex.yaml");
+    private static final String POLICY_RESOURCE = "policies/vCPE.policy.monitoring.input.tosca.json";
+
+    private JpaToscaServiceTemplate serviceTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var yamlCoder = new StandardYamlCoder();
+        serviceTemplate = new JpaToscaServiceTemplate();
+        for (var resource : POLICY_TYPE_RESOURCES) {
+            var fragment = yamlCoder.decode(ResourceUtils.getResourceAsString(resource), ToscaServiceTemplate.class);
+            serviceTemplate =
+                ToscaServiceTemplateUtils.addFragment(serviceTemplate, new JpaToscaServiceTemplate(fragment));
+        }
+        var policies = new StandardCoder()
+            .decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE), ToscaServiceTemplate.class);
+        serviceTemplate = ToscaServiceTemplateUtils.addFragment(serviceTemplate, new JpaToscaServiceTemplate(policies));
+    }
+
+    @Test
+    void testPolicyTypesMatchMergedCascade() throws Exception {
+        var provider = new SimpleToscaProvider();
+        var merged = new JpaToscaServiceTemplate();
+        for (var policyType : serviceTemplate.getPolicyTypes().getAll(null)) {
+            merged = ToscaServiceTemplateUtils.addFragment(merged,
+                provider.getCascadedPolicyTypes(serviceTemplate, policyType.getName(), policyType.getVersion()));
+        }
+
+        var builder = new ToscaCascadeBuilder(serviceTemplate)
+            .addPolicyTypes(serviceTemplate.getPolicyTypes().getConceptMap().keySet());
+        assertThat(builder.isComplete()).isTrue();
+        assertSameEntities(builder.build(), merged);
+    }
+
+    @Test
+    void testPoliciesMatchMergedCascade() throws Exception {
+        var provider = new SimpleToscaProvider();
+        var merged = new JpaToscaServiceTemplate();
+        for (var policy : serviceTemplate.getTopologyTemplate().getPolicies().getAll(null)) {
+            merged = ToscaServiceTemplateUtils.addFragment(merged,
+                provider.getCascadedPolicies(serviceTemplate, policy.getName(), policy.getVersion()));
+        }
+
+        var builder = new ToscaCascadeBuilder(serviceTemplate)
+            .addPolicies(serviceTemplate.getTopologyTemplate().getPolicies().getConceptMap().keySet());
+        assertThat(builder.isComplete()).isTrue();
+        assertSameEntities(builder.build(), merged);
+    }
+
+    @Test
+    void testViewEncodesLikeBuild() {
+        // a second version of a policy type, which shares its name in the authorative form
+        var tca = new PfConceptKey("onap.policies.monitoring.tcagen2", "1.0.0");
+        var newerTca = new JpaToscaPolicyType(serviceTemplate.getPolicyTypes().get(tca));
+        newerTca.setKey(new PfConceptKey(tca.getName(), "2.0.0"));
+        serviceTemplate.getPolicyTypes().getConceptMap().put(newerTca.getKey(), newerTca);
+
+        var gson = new Gson();
+        var policyTypes = new ToscaCascadeBuilder(serviceTemplate)
+            .addPolicyTypes(serviceTemplate.getPolicyTypes().getConceptMap().keySet());
+        var policyTypesView = policyTypes.buildView();
+        assertThat(gson.toJson(policyTypesView)).isEqualTo(gson.toJson(policyTypes.build().toAuthorative()));
+        assertThat(policyTypesView.getPolicyTypes().get(tca.getName()).getVersion()).isEqualTo("2.0.0");
+
+        var source = withCopiedPolicies(10);
+        var policies = new ToscaCascadeBuilder(source)
+            .addPolicies(source.getTopologyTemplate().getPolicies().getConceptMap().keySet());
+        var policiesView = policies.buildView();
+        assertThat(gson.toJson(policiesView)).isEqualTo(gson.toJson(policies.build().toAuthorative()));
+        assertThat(policiesView.getToscaTopologyTemplate().getPolicies()).hasSize(11);
+        assertThat(policiesView.getPolicyTypes()).containsOnlyKeys(tca.getName());
+
+        var empty = new ToscaCascadeBuilder(serviceTemplate);
+        assertThat(gson.toJson(empty.buildView())).isEqualTo(gson.toJson(empty.build().toAuthorative()));
+    }
+
+    @Test
+    void testDanglingReferences() {
+        var builder = new ToscaCascadeBuilder(serviceTemplate)
+            .addPolicyType(new PfConceptKey("onap.policies.Unknown", "1.0.0"));
+        assertThat(builder.isComplete()).isFalse();
+        assertThat(builder.build().getPolicyTypes()).isNull();
+
+        var policy = new JpaToscaPolicy(serviceTemplate.getTopologyTemplate().getPolicies().getAll(null).iterator()
+            .next());
+        policy.setType(new PfConceptKey("onap.policies.Unknown", "1.0.0"));
+        serviceTemplate.getTopologyTemplate().getPolicies().getConceptMap().put(policy.getKey(), policy);
+        assertThat(new ToscaCascadeBuilder(serviceTemplate).addPolicy(policy.getKey()).isComplete()).isFalse();
+
+        var common = new PfConceptKey("onap.policies.controlloop.operational.Common", "1.0.0");
+        serviceTemplate.getPolicyTypes().getConceptMap().remove(common);
+        var drools = new PfConceptKey("onap.policies.controlloop.operational.common.Drools", "1.0.0");
+        assertThat(new ToscaCascadeBuilder(serviceTemplate).addPolicyType(drools).isComplete()).isFalse();
+
+        assertThat(new ToscaCascadeBuilder(serviceTemplate).addPolicy(new PfConceptKey("unknown", "1.0.0")).build()
+            .getTopologyTemplate()).isNull();
+    }
+
+    /**
+     * Shows that building the cascade scales linearly with the number of policies. Run with
+     * {@code -Dpolicy.api.benchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "policy.api.benchmark", matches = "true")
+    void benchmarkPolicyCascade() {
+        var sizes = List.of(1250, 2500, 5000, 10000);
+        var timings = new ArrayList<Long>();
+        for (var size : sizes) {
+            var source = withCopiedPolicies(size);
+            var keys = source.getTopologyTemplate().getPolicies().getConceptMap().keySet();
+            long best = Long.MAX_VALUE;
+            for (var run = 0; run < 5; run++) {
+                var start = System.nanoTime();
+                var result = new ToscaCascadeBuilder(source).addPolicies(keys).build();
+                best = Math.min(best, System.nanoTime() - start);
+                assertThat(result.getTopologyTemplate().getPolicies().getConceptMap()).hasSize(size + 1);
+            }
+            timings.add(best);
+            LOGGER.info("cascade of {} policies built in {} ms", size, best / 1_000_000.0);
+        }
+
+        // eight times the policies, a quadratic build would take 64 times as long
+        assertThat(timings.get(3)).isLessThan(timings.get(0) * 24);
+    }
+
+    private JpaToscaServiceTemplate withCopiedPolicies(int count) {
+        var source = new JpaToscaServiceTemplate(serviceTemplate);
+        var policies = source.getTopologyTemplate().getPolicies();
+        var original = policies.getAll(null).iterator().next();
+        for (var index = 0; index < count; index++) {
+            var policy = new JpaToscaPolicy(original);
+            policy.setKey(new PfConceptKey("benchmark.policy." + index, "1.0.0"));
+            policies.getConceptMap().put(policy.getKey(), policy);
+        }
+        return source;
+    }
+
+    private void assertSameEntities(JpaToscaServiceTemplate actual, JpaToscaServiceTemplate expected) {
+        var actualAuthorative = actual.toAuthorative();
+        var expectedAuthorative = expected.toAuthorative();
+        assertThat(actualAuthorative.getPolicyTypes()).isEqualTo(expectedAuthorative.getPolicyTypes());
+        assertThat(actualAuthorative.getDataTypes()).isEqualTo(expectedAuthorative.getDataTypes());
+        if (expectedAuthorative.getToscaTopologyTemplate() == null) {
+            assertThat(actualAuthorative.getToscaTopologyTemplate()).isNull();
+        } else {
+            assertThat(actualAuthorative.getToscaTopologyTemplate().getPolicies())
+                .isEqualTo(expectedAuthorative.getToscaTopologyTemplate().getPolicies());
+        }
+    }
+}
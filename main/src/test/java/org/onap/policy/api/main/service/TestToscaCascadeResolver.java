@@ -0,0 +1,189 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.onap.policy.api.main.repository.DataTypeRepository;
+import org.onap.policy.api.main.repository.PolicyRepository;
+import org.onap.policy.api.main.repository.PolicyTypeRepository;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.common.utils.coder.StandardYamlCoder;
+import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.provider.SimpleToscaProvider;
+import org.onap.policy.models.tosca.utils.ToscaServiceTemplateUtils;
+
+class TestToscaCascadeResolver {
+
+    private static final String POLICY_TYPE_RESOURCE = "policytypes/onap.policies.monitoring.tcagen2.yaml";
+    private static final String OTHER_POLICY_TYPE_RESOURCE =
+        "policytypes/onap.policies.controlloop.operational.common.Drools.yaml";
+    private static final String OTHER_POLICY_TYPE_PARENT_RESOURCE =
+        "policytypes/onap.policies.controlloop.operational.Common.yaml";
+    private static final String POLICY_RESOURCE = "policies/vCPE.policy.monitoring.input.tosca.json";
+    private static final String POLICY_TYPE_NAME = "onap.policies.monitoring.tcagen2";
+    private static final String OTHER_POLICY_TYPE_NAME = "onap.policies.controlloop.operational.common.Drools";
+
+    @Mock
+    private PolicyRepository policyRepository;
+    @Mock
+    private PolicyTypeRepository policyTypeRepository;
+    @Mock
+    private DataTypeRepository dataTypeRepository;
+
+    @InjectMocks
+    private ToscaCascadeResolver cascadeResolver;
+
+    private AutoCloseable autoCloseable;
+    private JpaToscaServiceTemplate fullServiceTemplate;
+    private String policyName;
+    private String policyVersion;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        autoCloseable = MockitoAnnotations.openMocks(this);
+
+        var yamlCoder = new StandardYamlCoder();
+        fullServiceTemplate = new JpaToscaServiceTemplate(yamlCoder
+            .decode(ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE), ToscaServiceTemplate.class));
+        for (var resource : List.of(OTHER_POLICY_TYPE_PARENT_RESOURCE, OTHER_POLICY_TYPE_RESOURCE)) {
+            var fragment = yamlCoder.decode(ResourceUtils.getResourceAsString(resource), ToscaServiceTemplate.class);
+            fullServiceTemplate =
+                ToscaServiceTemplateUtils.addFragment(fullServiceTemplate, new JpaToscaServiceTemplate(fragment));
+        }
+
+        var policies = new StandardCoder()
+            .decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE), ToscaServiceTemplate.class);
+        fullServiceTemplate =
+            ToscaServiceTemplateUtils.addFragment(fullServiceTemplate, new JpaToscaServiceTemplate(policies));
+
+        var policy = fullServiceTemplate.getTopologyTemplate().getPolicies().getAll(null).iterator().next();
+        policyName = policy.getName();
+        policyVersion = policy.getVersion();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        autoCloseable.close();
+    }
+
+    @Test
+    void testResolvePoliciesInMemory() throws Exception {
+        var snapshot = new ToscaServiceTemplateSnapshot(0, fullServiceTemplate);
+        var closure = cascadeResolver.resolvePolicies(snapshot, policyName, policyVersion);
+        assertThat(closure).isPresent();
+        assertThat(closure.get().getPolicyTypes().getConceptMap().keySet())
+            .noneMatch(key -> key.getName().equals(OTHER_POLICY_TYPE_NAME));
+
+        var provider = new SimpleToscaProvider();
+        assertThat(provider.getCascadedPolicies(closure.get(), policyName, policyVersion).toAuthorative())
+            .isEqualTo(provider.getCascadedPolicies(fullServiceTemplate, policyName, policyVersion).toAuthorative());
+
+        assertThat(cascadeResolver.resolvePolicies(snapshot, policyName, "9.9.9")).isEmpty();
+        assertThat(cascadeResolver.resolvePolicies(snapshot, "unknown", null)).isEmpty();
+        var emptySnapshot = new ToscaServiceTemplateSnapshot(0, new JpaToscaServiceTemplate());
+        assertThat(cascadeResolver.resolvePolicies(emptySnapshot, policyName, null)).isEmpty();
+    }
+
+    @Test
+    void testResolvePoliciesByTypeInMemory() throws Exception {
+        var snapshot = new ToscaServiceTemplateSnapshot(0, fullServiceTemplate);
+        var policy = fullServiceTemplate.getTopologyTemplate().getPolicies().get(policyName, policyVersion);
+        var closure = cascadeResolver.resolvePoliciesByType(snapshot, policy.getType().getName(), null);
+        assertThat(closure).isPresent();
+
+        var provider = new SimpleToscaProvider();
+        assertThat(provider.getCascadedPolicies(closure.get(), null, null).toAuthorative())
+            .isEqualTo(provider.getCascadedPolicies(fullServiceTemplate, null, null).toAuthorative());
+
+        assertThat(cascadeResolver.resolvePoliciesByType(snapshot, policy.getType().getName(),
+            policy.getType().getVersion())).isPresent();
+        assertThat(cascadeResolver.resolvePoliciesByType(snapshot, policy.getType().getName(), "9.9.9")).isEmpty();
+        assertThat(cascadeResolver.resolvePoliciesByType(snapshot, OTHER_POLICY_TYPE_NAME, null)).isEmpty();
+    }
+
+    @Test
+    void testResolvePolicyTypesInMemory() throws Exception {
+        var snapshot = new ToscaServiceTemplateSnapshot(0, fullServiceTemplate);
+        var closure = cascadeResolver.resolvePolicyTypes(snapshot, OTHER_POLICY_TYPE_NAME, null);
+        assertThat(closure).isPresent();
+        assertThat(closure.get().getPolicyTypes().getConceptMap()).hasSize(2);
+
+        var provider = new SimpleToscaProvider();
+        assertThat(provider.getCascadedPolicyTypes(closure.get(), OTHER_POLICY_TYPE_NAME, null).toAuthorative())
+            .isEqualTo(
+                provider.getCascadedPolicyTypes(fullServiceTemplate, OTHER_POLICY_TYPE_NAME, null).toAuthorative());
+
+        assertThat(cascadeResolver.resolvePolicyTypes(snapshot, "unknown", "1.0.0")).isEmpty();
+        // names that only share a prefix do not match
+        assertThat(cascadeResolver.resolvePolicyTypes(snapshot, "onap.policies.controlloop.operational", null))
+            .isEmpty();
+        assertThat(cascadeResolver.resolvePolicies(snapshot, policyName.substring(0, policyName.length() - 1), null))
+            .isEmpty();
+    }
+
+    @Test
+    void testResolveFromDatabase() throws Exception {
+        var policy = fullServiceTemplate.getTopologyTemplate().getPolicies().get(policyName, policyVersion);
+        Mockito.when(policyRepository.findByKeyName(policyName)).thenReturn(List.of(policy));
+        Mockito.when(policyRepository.findByTypeName(POLICY_TYPE_NAME)).thenReturn(List.of(policy));
+        Mockito.when(policyTypeRepository.findByKeyName(POLICY_TYPE_NAME))
+            .thenReturn(List.copyOf(fullServiceTemplate.getPolicyTypes().getAll(POLICY_TYPE_NAME)));
+        Mockito.when(policyTypeRepository.findById(Mockito.any())).thenAnswer(
+            invocation -> Optional.ofNullable(fullServiceTemplate.getPolicyTypes().get(
+                invocation.getArgument(0, PfConceptKey.class))));
+        Mockito.when(dataTypeRepository.findById(Mockito.any())).thenAnswer(
+            invocation -> Optional.ofNullable(fullServiceTemplate.getDataTypes().get(
+                invocation.getArgument(0, PfConceptKey.class))));
+
+        var provider = new SimpleToscaProvider();
+        var closure = cascadeResolver.resolvePolicies(policyName, "latest");
+        assertThat(closure).isPresent();
+        assertThat(provider.getCascadedPolicies(closure.get(), policyName, null).toAuthorative())
+            .isEqualTo(provider.getCascadedPolicies(fullServiceTemplate, policyName, null).toAuthorative());
+
+        var byTypeClosure = cascadeResolver.resolvePoliciesByType(POLICY_TYPE_NAME, policy.getType().getVersion());
+        assertThat(byTypeClosure).isPresent();
+        assertThat(provider.getCascadedPolicies(byTypeClosure.get(), policyName, null).toAuthorative())
+            .isEqualTo(provider.getCascadedPolicies(fullServiceTemplate, policyName, null).toAuthorative());
+        assertThat(cascadeResolver.resolvePoliciesByType(POLICY_TYPE_NAME, "9.9.9")).isEmpty();
+
+        var typeClosure = cascadeResolver.resolvePolicyTypes(POLICY_TYPE_NAME, null);
+        assertThat(typeClosure).isPresent();
+        assertThat(provider.getCascadedPolicyTypes(typeClosure.get(), POLICY_TYPE_NAME, null).toAuthorative())
+            .isEqualTo(provider.getCascadedPolicyTypes(fullServiceTemplate, POLICY_TYPE_NAME, null).toAuthorative());
+
+        Mockito.when(policyTypeRepository.findById(Mockito.any())).thenReturn(Optional.empty());
+        assertThat(cascadeResolver.resolvePolicies(policyName, policyVersion)).isEmpty();
+    }
+}
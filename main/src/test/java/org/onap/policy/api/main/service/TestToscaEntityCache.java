@@ -0,0 +1,99 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.api.main.config.SecondLevelCacheConfig;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class TestToscaEntityCache {
+
+    private SecondLevelCacheConfig config;
+    private Cache cache;
+    private ToscaEntityCache toscaEntityCache;
+
+    @BeforeEach
+    void setUp() {
+        config = new SecondLevelCacheConfig();
+        config.setEnabled(true);
+        cache = mock(Cache.class);
+        var sessionFactory = mock(SessionFactory.class);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        var entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        toscaEntityCache = new ToscaEntityCache(config, entityManagerFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(toscaEntityCache);
+    }
+
+    @Test
+    void testDisabled() {
+        config.setEnabled(false);
+        toscaEntityCache.evictAfterCommit();
+        verify(cache, never()).evictAllRegions();
+    }
+
+    @Test
+    void testNoTransaction() {
+        toscaEntityCache.evictAfterCommit();
+        verify(cache).evictAllRegions();
+    }
+
+    @Test
+    void testEvictedOnceAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        toscaEntityCache.evictAfterCommit();
+        toscaEntityCache.evictAfterCommit();
+        verify(cache, never()).evictAllRegions();
+
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        verify(cache).evictAllRegions();
+        assertThat(TransactionSynchronizationManager.hasResource(toscaEntityCache)).isFalse();
+
+        // the next transaction that rolls back leaves the cache alone
+        toscaEntityCache.evictAfterCommit();
+        TransactionSynchronizationManager.getSynchronizations().get(1)
+            .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        verify(cache, times(1)).evictAllRegions();
+    }
+}
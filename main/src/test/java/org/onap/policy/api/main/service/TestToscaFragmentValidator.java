@@ -0,0 +1,171 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.common.utils.coder.StandardYamlCoder;
+import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+import org.onap.policy.models.tosca.utils.ToscaServiceTemplateUtils;
+
+/**
+ * Checks that the incremental validation accepts and rejects exactly what the validation of the whole service
+ * template does, appending the preload corpus and the test resources one fragment at a time.
+ */
+class TestToscaFragmentValidator {
+
+    private static final String FIELD_NAME = "service template";
+
+    private static final List<String> TEST_POLICY_TYPES = List.of(
+        "policytypes/onap.policies.Test.yaml",
+        "policytypes/onap.policies.monitoring.cdap.tca.hi.lo.app.snapshot.yaml",
+        "policytypes/onap.policies.optimization.Resource.no.version.yaml",
+        "policytypes/onap.restart.tca.snapshot.yaml",
+        "policytypes/onap.policies.monitoring.tcagen2.yaml");
+    private static final List<String> TEST_POLICIES = List.of(
+        "policies/vCPE.policy.monitoring.input.tosca.json",
+        "policies/vCPE.policy.operational.input.tosca.json",
+        "policies/vCPE.policies.optimization.input.tosca.json",
+        "policies/vCPE.policy.bad.policytypeid.json",
+        "policies/vCPE.policy.bad.policytypeversion.json",
+        "policies/vCPE.policy.different.policy.fields.json",
+        "policies/vCPE.policy.no.policyversion.json",
+        "policies/vDNS.policy.monitoring.input.tosca.v2.yaml",
+        "policies/vDNS.policy.operational.no.policyversion.json",
+        "policies/vFirewall.policy.monitoring.input.tosca.v2.yaml");
+
+    private static List<String> preloadPolicyTypes;
+    private static List<String> preloadPolicies;
+
+    private int checkedFragments;
+    private int rejectedFragments;
+
+    @BeforeAll
+    @SuppressWarnings("unchecked")
+    static void setUpCorpus() throws Exception {
+        var config = new StandardYamlCoder().decode(ResourceUtils.getResourceAsString("application.yaml"), Map.class);
+        var preload = (Map<String, List<String>>) config.get("policy-preload");
+        preloadPolicyTypes = preload.get("policyTypes");
+        preloadPolicies = preload.get("policies");
+    }
+
+    @Test
+    void testParityOverCorpus() {
+        var serviceTemplate = new JpaToscaServiceTemplate();
+        // policies before their types are rejected, then the types are appended and the policies again
+        serviceTemplate = appendAll(serviceTemplate, preloadPolicies);
+        serviceTemplate = appendAll(serviceTemplate, TEST_POLICIES);
+        serviceTemplate = appendAll(serviceTemplate, preloadPolicyTypes);
+        serviceTemplate = appendAll(serviceTemplate, TEST_POLICY_TYPES);
+        serviceTemplate = appendAll(serviceTemplate, preloadPolicies);
+        serviceTemplate = appendAll(serviceTemplate, TEST_POLICIES);
+
+        assertThat(serviceTemplate.getTopologyTemplate().getPolicies().getConceptMap()).isNotEmpty();
+        assertThat(checkedFragments).isGreaterThan(preloadPolicyTypes.size());
+        assertThat(rejectedFragments).isPositive();
+    }
+
+    @Test
+    void testParityOfDanglingReferences() throws Exception {
+        var serviceTemplate = appendAll(new JpaToscaServiceTemplate(), preloadPolicyTypes);
+        serviceTemplate = appendAll(serviceTemplate, preloadPolicies);
+
+        // a policy of a policy type that is not in the service template
+        var fragment = readFragment(TEST_POLICIES.get(0));
+        var policy = fragment.getTopologyTemplate().getPolicies().getAll(null).iterator().next();
+        var unknownTypePolicy = new JpaToscaPolicy(policy);
+        unknownTypePolicy.setKey(new PfConceptKey("unknown.type.policy", "1.0.0"));
+        unknownTypePolicy.setType(new PfConceptKey("onap.policies.Unknown", "1.0.0"));
+        fragment.getTopologyTemplate().getPolicies().getConceptMap().put(unknownTypePolicy.getKey(), unknownTypePolicy);
+        assertParity(serviceTemplate, fragment);
+
+        // a policy type derived from a policy type that is not in the service template
+        fragment = readFragment("policytypes/onap.policies.Test.yaml");
+        fragment.getPolicyTypes().getAll(null)
+            .forEach(policyType -> policyType.setDerivedFrom(new PfConceptKey("onap.policies.Unknown", "1.0.0")));
+        assertParity(serviceTemplate, fragment);
+
+        // a data type derived from a data type that is not in the service template
+        fragment = readFragment("policytypes/onap.policies.monitoring.tcagen2.yaml");
+        fragment.getDataTypes().getAll(null)
+            .forEach(dataType -> dataType.setDerivedFrom(new PfConceptKey("onap.datatypes.Unknown", "1.0.0")));
+        assertParity(new JpaToscaServiceTemplate(), fragment);
+        assertParity(appendAll(new JpaToscaServiceTemplate(), List.of("policytypes/onap.policies.Test.yaml")),
+            fragment);
+    }
+
+    private JpaToscaServiceTemplate appendAll(JpaToscaServiceTemplate serviceTemplate, List<String> resources) {
+        var result = serviceTemplate;
+        for (var resource : resources) {
+            JpaToscaServiceTemplate fragment;
+            try {
+                fragment = readFragment(resource);
+            } catch (Exception exception) {
+                // not a fragment the service would get as far as validating
+                continue;
+            }
+            if (assertParity(result, fragment)) {
+                result = ToscaServiceTemplateUtils.addFragment(result, fragment);
+            }
+        }
+        return result;
+    }
+
+    private boolean assertParity(JpaToscaServiceTemplate serviceTemplate, JpaToscaServiceTemplate fragment) {
+        JpaToscaServiceTemplate serviceTemplateToWrite;
+        try {
+            serviceTemplateToWrite = serviceTemplate.getPolicyTypes() == null && serviceTemplate.getDataTypes() == null
+                && serviceTemplate.getTopologyTemplate() == null ? fragment
+                : ToscaServiceTemplateUtils.addFragment(serviceTemplate, fragment);
+        } catch (RuntimeException exception) {
+            // rejected before validation
+            return false;
+        }
+
+        var expected = serviceTemplateToWrite.validate(FIELD_NAME);
+        var actual = ToscaFragmentValidator.validate(serviceTemplateToWrite, fragment, FIELD_NAME);
+        assertThat(actual.isValid()).isEqualTo(expected.isValid());
+        if (!expected.isValid()) {
+            assertThat(actual.getResult()).isEqualTo(expected.getResult());
+            rejectedFragments++;
+        }
+        checkedFragments++;
+        return expected.isValid();
+    }
+
+    private static JpaToscaServiceTemplate readFragment(String resource) throws Exception {
+        var text = ResourceUtils.getResourceAsString(resource);
+        var fragment = resource.endsWith(".json") ? new StandardCoder().decode(text, ToscaServiceTemplate.class)
+            : new StandardYamlCoder().decode(text, ToscaServiceTemplate.class);
+        return new JpaToscaServiceTemplate(fragment);
+    }
+}
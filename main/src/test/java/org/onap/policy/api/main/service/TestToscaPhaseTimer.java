@@ -0,0 +1,110 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.core.Response;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.api.main.service.ToscaPhaseTimer.Phase;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaTopologyTemplate;
+
+class TestToscaPhaseTimer {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ToscaPhaseTimer phaseTimer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        phaseTimer = new ToscaPhaseTimer(meterRegistry);
+    }
+
+    @Test
+    void testTime() throws PfModelException {
+        assertThat(phaseTimer.time("createPolicies", Phase.MERGE, () -> "merged")).isEqualTo("merged");
+        assertThatThrownBy(() -> phaseTimer.time("createPolicies", Phase.MERGE, () -> {
+            throw new PfModelException(Response.Status.NOT_ACCEPTABLE, "bad fragment");
+        })).isInstanceOf(PfModelException.class).hasMessage("bad fragment");
+
+        var ran = new boolean[1];
+        phaseTimer.run("createPolicies", Phase.SAVE, () -> ran[0] = true);
+        assertThat(ran[0]).isTrue();
+
+        // failed phases are timed too
+        assertThat(getTimer("createPolicies", "merge").count()).isEqualTo(2);
+        assertThat(getTimer("createPolicies", "save").count()).isEqualTo(1);
+        assertThat(meterRegistry.find(ToscaPhaseTimer.PHASE_METRIC).tag(ToscaPhaseTimer.PHASE_TAG, "load").timer())
+            .isNull();
+    }
+
+    @Test
+    void testRecordEntities() {
+        var serviceTemplate = new ToscaServiceTemplate();
+        phaseTimer.recordEntities("getFilteredPolicies", serviceTemplate);
+
+        serviceTemplate.setPolicyTypes(Map.of("type", new ToscaPolicyType()));
+        serviceTemplate.setToscaTopologyTemplate(new ToscaTopologyTemplate());
+        serviceTemplate.getToscaTopologyTemplate().setPolicies(
+            List.of(Map.of("a", new ToscaPolicy()), Map.of("b", new ToscaPolicy(), "c", new ToscaPolicy())));
+        phaseTimer.recordEntities("getFilteredPolicies", serviceTemplate);
+
+        var summary = meterRegistry.get(ToscaPhaseTimer.ENTITIES_METRIC)
+            .tag(ToscaPhaseTimer.OPERATION_TAG, "getFilteredPolicies").summary();
+        assertThat(summary.count()).isEqualTo(2);
+        assertThat(summary.totalAmount()).isEqualTo(4.0);
+        assertThat(summary.takeSnapshot().histogramCounts()).isNotEmpty().hasSizeLessThan(100);
+    }
+
+    @Test
+    void testRecordEntitiesOfView() {
+        var serviceTemplate = new ToscaServiceTemplate();
+        serviceTemplate.setToscaTopologyTemplate(new ToscaTopologyTemplate());
+        var keys = new TreeSet<>(List.of(new PfConceptKey("a", "1.0.0"), new PfConceptKey("b", "1.0.0")));
+        // counting the policies of a view does not convert them
+        serviceTemplate.getToscaTopologyTemplate().setPolicies(ToscaEntityViews.listOf(keys, key -> {
+            throw new AssertionError("converted " + key);
+        }));
+        phaseTimer.recordEntities("getPolicies", serviceTemplate);
+
+        var summary = meterRegistry.get(ToscaPhaseTimer.ENTITIES_METRIC)
+            .tag(ToscaPhaseTimer.OPERATION_TAG, "getPolicies").summary();
+        assertThat(summary.totalAmount()).isEqualTo(2.0);
+    }
+
+    private Timer getTimer(String operation, String phase) {
+        return meterRegistry.get(ToscaPhaseTimer.PHASE_METRIC).tag(ToscaPhaseTimer.OPERATION_TAG, operation)
+            .tag(ToscaPhaseTimer.PHASE_TAG, phase).timer();
+    }
+}
@@ -0,0 +1,108 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicies;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaTopologyTemplate;
+
+class TestToscaPolicyReferenceIndex {
+
+    private static final PfConceptKey TYPE_V1 = new PfConceptKey("test.Type", "1.0.0");
+    private static final PfConceptKey TYPE_V2 = new PfConceptKey("test.Type", "2.0.0");
+    private static final PfConceptKey OTHER_TYPE = new PfConceptKey("test.OtherType", "1.0.0");
+    private static final PfConceptKey POLICY_A = new PfConceptKey("policy.a", "1.0.0");
+    private static final PfConceptKey POLICY_B = new PfConceptKey("policy.b", "1.0.0");
+    private static final PfConceptKey POLICY_C = new PfConceptKey("policy.c", "1.0.0");
+
+    @Test
+    void testPolicyReferences() {
+        var serviceTemplate = buildServiceTemplate();
+        addPolicy(serviceTemplate, POLICY_B, TYPE_V1);
+        addPolicy(serviceTemplate, POLICY_A, TYPE_V1);
+        addPolicy(serviceTemplate, POLICY_C, TYPE_V2);
+        var index = new ToscaPolicyReferenceIndex(serviceTemplate);
+
+        assertThat(index.getPolicies("test.Type")).containsExactly(POLICY_A, POLICY_B, POLICY_C);
+        assertThat(index.getPolicies("test.OtherType")).isEmpty();
+
+        assertThatThrownBy(() -> index.getPolicies("test.Type").clear())
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void testWithChange() {
+        var serviceTemplate = buildServiceTemplate();
+        addPolicy(serviceTemplate, POLICY_A, TYPE_V1);
+        addPolicy(serviceTemplate, POLICY_B, TYPE_V1);
+        var index = new ToscaPolicyReferenceIndex(serviceTemplate);
+        assertThat(index.withChange(null, null)).isSameAs(index);
+        assertThat(index.withChange(new JpaToscaServiceTemplate(), null)).isSameAs(index);
+
+        // move policy b to the other type and add policy c
+        var added = buildServiceTemplate();
+        addPolicy(added, POLICY_B, OTHER_TYPE);
+        addPolicy(added, POLICY_C, TYPE_V2);
+        var displaced = ToscaServiceTemplateOverlay.displaced(serviceTemplate, added, null);
+        var changed = index.withChange(displaced, added);
+        assertThat(changed.getPolicies("test.Type")).containsExactly(POLICY_A, POLICY_C);
+        assertThat(changed.getPolicies("test.OtherType")).containsExactly(POLICY_B);
+
+        // remove policy a and policy c
+        var removed = buildServiceTemplate();
+        addPolicy(removed, POLICY_A, TYPE_V1);
+        addPolicy(removed, POLICY_C, TYPE_V2);
+        var changedServiceTemplate = ToscaServiceTemplateOverlay.append(serviceTemplate, added);
+        displaced = ToscaServiceTemplateOverlay.displaced(changedServiceTemplate, null, removed);
+        assertThat(changed.withChange(displaced, null).getPolicies("test.Type")).isEmpty();
+
+        // the index it was derived from is unchanged
+        assertThat(index.getPolicies("test.Type")).containsExactly(POLICY_A, POLICY_B);
+        assertThat(index.getPolicies("test.OtherType")).isEmpty();
+    }
+
+    @Test
+    void testNoPolicies() {
+        var index = new ToscaPolicyReferenceIndex(new JpaToscaServiceTemplate());
+        assertThat(index.getPolicies("test.Type")).isEmpty();
+
+        assertThatThrownBy(() -> new ToscaPolicyReferenceIndex(null)).hasMessageContaining("serviceTemplate");
+    }
+
+    private JpaToscaServiceTemplate buildServiceTemplate() {
+        var serviceTemplate = new JpaToscaServiceTemplate();
+        serviceTemplate.setTopologyTemplate(new JpaToscaTopologyTemplate());
+        serviceTemplate.getTopologyTemplate().setPolicies(new JpaToscaPolicies());
+        return serviceTemplate;
+    }
+
+    private void addPolicy(JpaToscaServiceTemplate serviceTemplate, PfConceptKey key, PfConceptKey type) {
+        var policy = new JpaToscaPolicy(key);
+        policy.setType(type);
+        serviceTemplate.getTopologyTemplate().getPolicies().getConceptMap().put(key, policy);
+    }
+}
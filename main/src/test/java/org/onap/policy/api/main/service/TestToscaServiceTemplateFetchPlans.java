@@ -0,0 +1,218 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.api.main.PolicyApiApplication;
+import org.onap.policy.api.main.repository.ToscaServiceTemplateRepository;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.common.utils.coder.StandardYamlCoder;
+import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.base.PfConceptContainer;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaNodeTemplate;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Counts the SQL statements each fetch plan of the service template issues to load the entities of its use case, and
+ * each write of the service to change the service template, against a budget that does not depend on the number of
+ * entities, so that selecting or copying the entities one by one again shows up as a failure.
+ */
+@SpringBootTest(classes = PolicyApiApplication.class,
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class TestToscaServiceTemplateFetchPlans {
+
+    private static final PfConceptKey SERVICE_TEMPLATE_KEY =
+        new PfConceptKey(JpaToscaServiceTemplate.DEFAULT_NAME, JpaToscaServiceTemplate.DEFAULT_VERSION);
+    private static final String POLICY_RESOURCE = "policies/vCPE.policy.monitoring.input.tosca.json";
+    private static final String POLICY_TYPE_RESOURCE = "policytypes/onap.policies.monitoring.tcagen2.yaml";
+    private static final String POLICY_TYPE_NAME = "onap.policies.monitoring.tcagen2";
+    private static final String NODE_TEMPLATES_RESOURCE = "nodetemplates/nodetemplates.metadatasets.input.tosca.json";
+    private static final int COPIES = 20;
+
+    // statements allowed whatever the number of entities in the service template
+    private static final long FETCH_PLAN_BUDGET = 16;
+    private static final long CREATE_POLICIES_BUDGET = 40;
+    private static final long DELETE_POLICY_BUDGET = 30;
+    private static final long CREATE_POLICY_TYPE_BUDGET = 40;
+    private static final int SMALL_TEMPLATE = 10;
+    private static final int LARGE_TEMPLATE = 100;
+
+    @Autowired
+    private ToscaServiceTemplateRepository toscaServiceTemplateRepository;
+
+    @Autowired
+    private ToscaServiceTemplateService toscaServiceTemplateService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testPolicyTypesFetchPlan() {
+        // the policy types are preloaded
+        var statements = countStatements(toscaServiceTemplateRepository::findWithPolicyTypesByKey,
+            JpaToscaServiceTemplate::getPolicyTypes);
+        assertThat(statements.entities()).isGreaterThan(COPIES);
+        assertThat(statements.count()).isLessThanOrEqualTo(FETCH_PLAN_BUDGET);
+    }
+
+    @Test
+    void testPoliciesFetchPlan() throws Exception {
+        var body = decodePolicies();
+        var policy = body.getToscaTopologyTemplate().getPolicies().get(0).values().iterator().next();
+        for (var index = 1; index <= COPIES; index++) {
+            var copy = new ToscaPolicy(policy);
+            copy.setName("fetch.plan." + index);
+            body.getToscaTopologyTemplate().getPolicies().add(Map.of(copy.getName(), copy));
+        }
+        toscaServiceTemplateService.createPolicies(body);
+
+        var statements = countStatements(toscaServiceTemplateRepository::findWithPoliciesByKey,
+            serviceTemplate -> serviceTemplate.getTopologyTemplate().getPolicies());
+        assertThat(statements.entities()).isGreaterThan(COPIES);
+        assertThat(statements.count()).isLessThanOrEqualTo(FETCH_PLAN_BUDGET);
+
+        for (var index = 1; index <= COPIES; index++) {
+            toscaServiceTemplateService.deletePolicy("fetch.plan." + index, policy.getVersion());
+        }
+    }
+
+    @Test
+    void testNodeTemplatesFetchPlan() throws Exception {
+        var body = new StandardCoder().decode(ResourceUtils.getResourceAsString(NODE_TEMPLATES_RESOURCE),
+            ToscaServiceTemplate.class);
+        var nodeTemplates = new HashMap<String, ToscaNodeTemplate>();
+        for (var nodeTemplate : body.getToscaTopologyTemplate().getNodeTemplates().values()) {
+            for (var index = 1; index <= COPIES / 2; index++) {
+                var copy = new ToscaNodeTemplate(nodeTemplate);
+                copy.setName(nodeTemplate.getName() + ".fetch.plan." + index);
+                nodeTemplates.put(copy.getName(), copy);
+            }
+        }
+        body.getToscaTopologyTemplate().getNodeTemplates().putAll(nodeTemplates);
+        toscaServiceTemplateService.createToscaNodeTemplates(body);
+
+        var statements = countStatements(toscaServiceTemplateRepository::findWithNodeTemplatesByKey,
+            serviceTemplate -> serviceTemplate.getTopologyTemplate().getNodeTemplates());
+        assertThat(statements.entities()).isGreaterThan(COPIES);
+        assertThat(statements.count()).isLessThanOrEqualTo(FETCH_PLAN_BUDGET);
+    }
+
+    @Test
+    void testWriteBudgets() throws Exception {
+        var policy = decodePolicies().getToscaTopologyTemplate().getPolicies().get(0).values().iterator().next();
+        var policyTypes = new StandardYamlCoder().decode(ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE),
+            ToscaServiceTemplate.class);
+        var filler = new ArrayList<String>();
+
+        for (var size : List.of(SMALL_TEMPLATE, LARGE_TEMPLATE)) {
+            // grow the service template to the size, outside the counted operations
+            var fill = decodePolicies();
+            fill.getToscaTopologyTemplate().getPolicies().clear();
+            while (filler.size() < size) {
+                var copy = new ToscaPolicy(policy);
+                copy.setName("write.budget.filler." + filler.size());
+                fill.getToscaTopologyTemplate().getPolicies().add(Map.of(copy.getName(), copy));
+                filler.add(copy.getName());
+            }
+            toscaServiceTemplateService.createPolicies(fill);
+
+            var body = decodePolicies();
+            var created = new ToscaPolicy(policy);
+            created.setName("write.budget." + size);
+            body.getToscaTopologyTemplate().setPolicies(new ArrayList<>(List.of(Map.of(created.getName(), created))));
+            assertThat(countStatements(() -> toscaServiceTemplateService.createPolicies(body)))
+                .as("create policies in a template of %d policies", size).isLessThanOrEqualTo(CREATE_POLICIES_BUDGET);
+            assertThat(countStatements(
+                () -> toscaServiceTemplateService.deletePolicy(created.getName(), created.getVersion())))
+                .as("delete policy in a template of %d policies", size).isLessThanOrEqualTo(DELETE_POLICY_BUDGET);
+
+            var policyType = new ToscaPolicyType(policyTypes.getPolicyTypes().get(POLICY_TYPE_NAME));
+            policyType.setName(POLICY_TYPE_NAME + ".write.budget." + size);
+            var typeBody = new ToscaServiceTemplate(policyTypes);
+            typeBody.setPolicyTypes(new LinkedHashMap<>(policyTypes.getPolicyTypes()));
+            typeBody.getPolicyTypes().put(policyType.getName(), policyType);
+            assertThat(countStatements(() -> toscaServiceTemplateService.createPolicyType(typeBody)))
+                .as("create policy type in a template of %d policies", size)
+                .isLessThanOrEqualTo(CREATE_POLICY_TYPE_BUDGET);
+        }
+
+        for (var name : filler) {
+            toscaServiceTemplateService.deletePolicy(name, policy.getVersion());
+        }
+    }
+
+    private record StatementCount(long count, int entities) {
+    }
+
+    private ToscaServiceTemplate decodePolicies() throws Exception {
+        return new StandardCoder().decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE),
+            ToscaServiceTemplate.class);
+    }
+
+    // Load the service template with a fetch plan and convert the entities of the use case, counting the statements
+    private StatementCount countStatements(
+        final Function<PfConceptKey, Optional<JpaToscaServiceTemplate>> fetchPlan,
+        final Function<JpaToscaServiceTemplate, PfConceptContainer<?, ?>> entities) {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        var converted = new TransactionTemplate(transactionManager).execute(status -> {
+            var container = entities.apply(fetchPlan.apply(SERVICE_TEMPLATE_KEY).orElseThrow());
+            container.toAuthorative();
+            return container.getConceptMap().size();
+        });
+        return new StatementCount(statistics.getPrepareStatementCount(), converted);
+    }
+
+    // Run an operation of the service in its own transaction, counting the statements
+    private long countStatements(final Runnable operation) {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        operation.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,245 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.api.main.config.ReadModelConfig;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+
+class TestToscaServiceTemplateReadModel {
+
+    private static final PfConceptKey PARENT = new PfConceptKey("onap.policies.Parent", "1.0.0");
+    private static final PfConceptKey CHILD = new PfConceptKey("onap.policies.Child", "1.0.0");
+
+    private ReadModelConfig config;
+    private ToscaServiceTemplateReadModel readModel;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        config = new ReadModelConfig();
+        config.setEnabled(true);
+        config.setMaxAge(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        readModel = new ToscaServiceTemplateReadModel(config, new ToscaTemplateGauges(meterRegistry));
+    }
+
+    @Test
+    void testPublishLoadedSnapshot() {
+        assertThat(readModel.current()).isEmpty();
+
+        var snapshot = new ToscaServiceTemplateSnapshot(readModel.getRevision(), new JpaToscaServiceTemplate());
+        readModel.publish(snapshot);
+        assertThat(readModel.current()).containsSame(snapshot);
+    }
+
+    @Test
+    void testLoadedSnapshotDiscardedAfterWrite() {
+        var revision = readModel.getRevision();
+        readModel.invalidateAfterCommit();
+
+        // a load that started before the write must not be published
+        readModel.publish(new ToscaServiceTemplateSnapshot(revision, new JpaToscaServiceTemplate()));
+        assertThat(readModel.current()).isEmpty();
+    }
+
+    @Test
+    void testWritesAppliedToSnapshot() {
+        var loaded = new ToscaServiceTemplateSnapshot(readModel.getRevision(), policyTypes(PARENT));
+        readModel.publish(loaded);
+
+        readModel.appendAfterCommit(policyTypes(CHILD));
+        var appended = readModel.current();
+        assertThat(appended).isPresent();
+        assertThat(appended.get().getRevision()).isEqualTo(loaded.getRevision() + 1);
+        assertThat(appended.get().getServiceTemplate().getPolicyTypes().getConceptMap()).containsOnlyKeys(PARENT,
+            CHILD);
+        assertThat(appended.get().getTypeHierarchy().getPolicyTypeAncestors(CHILD)).containsExactly(PARENT);
+        assertThat(appended.get().getServiceTemplate().getPolicyTypes().get(PARENT))
+            .isSameAs(loaded.getServiceTemplate().getPolicyTypes().get(PARENT));
+
+        readModel.removeAfterCommit(policyTypes(PARENT));
+        var removed = readModel.current();
+        assertThat(removed).isPresent();
+        assertThat(removed.get().getRevision()).isEqualTo(loaded.getRevision() + 2);
+        assertThat(removed.get().getServiceTemplate().getPolicyTypes().getConceptMap()).containsOnlyKeys(CHILD);
+        assertThat(removed.get().getCreatedNanos()).isEqualTo(loaded.getCreatedNanos());
+
+        // the snapshots the changes were applied to are not modified
+        assertThat(loaded.getServiceTemplate().getPolicyTypes().getConceptMap()).containsOnlyKeys(PARENT);
+        assertThat(appended.get().getServiceTemplate().getPolicyTypes().getConceptMap()).containsOnlyKeys(PARENT,
+            CHILD);
+    }
+
+    @Test
+    void testSeveralWritesAppliedAtOnce() {
+        readModel.publish(new ToscaServiceTemplateSnapshot(readModel.getRevision(), new JpaToscaServiceTemplate()));
+        readModel.appendAfterCommit(policyTypes(PARENT));
+        readModel.appendAfterCommit(policyTypes(CHILD));
+        readModel.removeAfterCommit(policyTypes(PARENT));
+
+        var current = readModel.current();
+        assertThat(current).isPresent();
+        assertThat(current.get().getRevision()).isEqualTo(readModel.getRevision());
+        assertThat(current.get().getServiceTemplate().getPolicyTypes().getConceptMap()).containsOnlyKeys(CHILD);
+
+        // the indexes and shape derived from the writes match those of the changed service template
+        var rebuilt = new ToscaServiceTemplateSnapshot(0, current.get().getServiceTemplate());
+        assertThat(current.get()).usingRecursiveComparison()
+            .comparingOnlyFields("typeHierarchy", "policyReferences", "policyTypeVersions", "policyVersions", "shape")
+            .isEqualTo(rebuilt);
+        assertThat(current.get().getShape().getPolicyTypes()).isEqualTo(1);
+    }
+
+    @Test
+    void testFragmentIsCopied() {
+        readModel.publish(new ToscaServiceTemplateSnapshot(readModel.getRevision(), new JpaToscaServiceTemplate()));
+        var fragment = policyTypes(PARENT);
+        readModel.appendAfterCommit(fragment);
+        fragment.getPolicyTypes().getConceptMap().put(CHILD, new JpaToscaPolicyType(CHILD));
+
+        assertThat(readModel.current()).isPresent();
+        assertThat(readModel.current().get().getServiceTemplate().getPolicyTypes().getConceptMap())
+            .containsOnlyKeys(PARENT);
+    }
+
+    @Test
+    void testWritesWithoutSnapshot() {
+        readModel.appendAfterCommit(policyTypes(PARENT));
+        assertThat(readModel.current()).isEmpty();
+    }
+
+    @Test
+    void testInvalidate() {
+        readModel.publish(new ToscaServiceTemplateSnapshot(readModel.getRevision(), new JpaToscaServiceTemplate()));
+        readModel.appendAfterCommit(policyTypes(PARENT));
+        assertThat(readModel.current()).isPresent();
+
+        readModel.invalidateAfterCommit();
+        assertThat(readModel.current()).isEmpty();
+
+        // the changes recorded after an invalidation cannot be applied to the snapshot from before it
+        readModel.appendAfterCommit(policyTypes(CHILD));
+        assertThat(readModel.current()).isEmpty();
+
+        readModel.publish(new ToscaServiceTemplateSnapshot(readModel.getRevision(), new JpaToscaServiceTemplate()));
+        assertThat(readModel.current()).isPresent();
+    }
+
+    @Test
+    void testRevisionTag() {
+        assertThat(readModel.getRevisionTag()).isEmpty();
+
+        readModel.publish(new ToscaServiceTemplateSnapshot(readModel.getRevision(), new JpaToscaServiceTemplate()));
+        var tag = readModel.getRevisionTag();
+        assertThat(tag).isPresent().isEqualTo(readModel.getRevisionTag());
+
+        readModel.appendAfterCommit(policyTypes(PARENT));
+        assertThat(readModel.getRevisionTag()).isPresent().isNotEqualTo(tag);
+
+        // instances have tags of their own
+        var otherReadModel = new ToscaServiceTemplateReadModel(config,
+            new ToscaTemplateGauges(new SimpleMeterRegistry()));
+        otherReadModel.invalidateAfterCommit();
+        otherReadModel.publish(
+            new ToscaServiceTemplateSnapshot(otherReadModel.getRevision(), new JpaToscaServiceTemplate()));
+        assertThat(otherReadModel.getRevisionTag()).isPresent().isNotEqualTo(readModel.getRevisionTag());
+    }
+
+    @Test
+    void testSnapshotAge() {
+        assertThat(readModel.getSnapshotAge()).isEmpty();
+
+        readModel.publish(new ToscaServiceTemplateSnapshot(readModel.getRevision(), new JpaToscaServiceTemplate()));
+        assertThat(readModel.getSnapshotAge()).isPresent();
+
+        // the age is that of the latest snapshot, the writes since are left for the next read to apply
+        readModel.appendAfterCommit(policyTypes(PARENT));
+        assertThat(readModel.getSnapshotAge()).isPresent();
+        assertThat(readModel.current()).isPresent();
+
+        config.setEnabled(false);
+        assertThat(readModel.getSnapshotAge()).isEmpty();
+    }
+
+    @Test
+    void testExpiry() throws InterruptedException {
+        config.setMaxAge(Duration.ofMillis(1));
+        readModel.publish(new ToscaServiceTemplateSnapshot(readModel.getRevision(), new JpaToscaServiceTemplate()));
+        Thread.sleep(10);
+        assertThat(readModel.current()).isEmpty();
+
+        // applying writes does not make a snapshot younger
+        readModel.appendAfterCommit(policyTypes(PARENT));
+        assertThat(readModel.current()).isEmpty();
+    }
+
+    @Test
+    void testDisabled() {
+        config.setEnabled(false);
+        readModel.appendAfterCommit(policyTypes(PARENT));
+        readModel.publish(new ToscaServiceTemplateSnapshot(readModel.getRevision(), new JpaToscaServiceTemplate()));
+        assertThat(readModel.current()).isEmpty();
+    }
+
+    @Test
+    void testTemplateGauges() {
+        assertThat(getGauge(ToscaTemplateGauges.POLICY_TYPES_METRIC)).isZero();
+
+        readModel.publish(new ToscaServiceTemplateSnapshot(readModel.getRevision(), policyTypes(PARENT)));
+        assertThat(getGauge(ToscaTemplateGauges.POLICY_TYPES_METRIC)).isEqualTo(1.0);
+        assertThat(getGauge(ToscaTemplateGauges.DERIVED_FROM_DEPTH_METRIC)).isZero();
+
+        var child = policyTypes(CHILD);
+        child.getPolicyTypes().get(CHILD).setDerivedFrom(PARENT);
+        readModel.appendAfterCommit(child);
+        assertThat(readModel.current()).isPresent();
+        assertThat(getGauge(ToscaTemplateGauges.POLICY_TYPES_METRIC)).isEqualTo(2.0);
+        assertThat(getGauge(ToscaTemplateGauges.DERIVED_FROM_DEPTH_METRIC)).isEqualTo(1.0);
+        assertThat(getGauge(ToscaTemplateGauges.ESTIMATED_SIZE_METRIC)).isPositive();
+
+        // the gauges follow the loads when no snapshot is kept too
+        config.setEnabled(false);
+        readModel.publish(new ToscaServiceTemplateSnapshot(readModel.getRevision(), new JpaToscaServiceTemplate()));
+        assertThat(getGauge(ToscaTemplateGauges.POLICY_TYPES_METRIC)).isZero();
+    }
+
+    private JpaToscaServiceTemplate policyTypes(PfConceptKey... keys) {
+        var serviceTemplate = new JpaToscaServiceTemplate();
+        serviceTemplate.setPolicyTypes(new JpaToscaPolicyTypes());
+        for (var key : keys) {
+            serviceTemplate.getPolicyTypes().getConceptMap().put(key, new JpaToscaPolicyType(key));
+        }
+        return serviceTemplate;
+    }
+
+    private double getGauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+}
@@ -31,19 +31,28 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import jakarta.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.onap.policy.api.main.rest.PolicyFetchMode;
+import org.onap.policy.api.main.rest.ToscaEntitySummary;
 import org.onap.policy.common.utils.coder.CoderException;
 import org.onap.policy.common.utils.coder.StandardCoder;
 import org.onap.policy.common.utils.coder.StandardYamlCoder;
 import org.onap.policy.common.utils.resources.ResourceUtils;
 import org.onap.policy.models.base.PfConceptKey;
 import org.onap.policy.models.base.PfModelRuntimeException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaConceptIdentifier;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicy;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
 import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+import org.onap.policy.models.tosca.utils.ToscaServiceTemplateUtils;
 
 /**
  * This class performs unit test of Policy CRUD operations as implemented in {@link ToscaServiceTemplateService}.
@@ -104,6 +113,70 @@ class TestToscaServiceTemplateServiceForPolicyCrud extends TestCommonToscaServic
             .hasMessage("service template not found in database");
     }
 
+    @Test
+    void testFetchLatestPoliciesFromIndex() throws Exception {
+        var policyTypeServiceTemplate = standardYamlCoder
+            .decode(ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE), ToscaServiceTemplate.class);
+        var policyServiceTemplate = standardCoder
+            .decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE), ToscaServiceTemplate.class);
+        var policy = policyServiceTemplate.getToscaTopologyTemplate().getPolicies().get(0).values().iterator().next();
+        for (var version : List.of("1.10.0", "1.9.0")) {
+            var copy = new ToscaPolicy(policy);
+            copy.setVersion(version);
+            policyServiceTemplate.getToscaTopologyTemplate().getPolicies().add(Map.of(copy.getName(), copy));
+        }
+        var dbServiceTemplate = ToscaServiceTemplateUtils.addFragment(
+            new JpaToscaServiceTemplate(policyTypeServiceTemplate), new JpaToscaServiceTemplate(policyServiceTemplate));
+        var snapshot = new ToscaServiceTemplateSnapshot(1, dbServiceTemplate);
+        Mockito.when(readModel.current()).thenReturn(Optional.of(snapshot));
+
+        var latest = toscaServiceTemplateService.fetchLatestPolicies(null, null, "onap.restart.tca", null);
+        assertThat(latest.getPolicyTypes()).isNull();
+        assertThat(latest.getToscaTopologyTemplate().getPolicies()).hasSize(1);
+        assertThat(latest.getToscaTopologyTemplate().getPolicies().get(0).get("onap.restart.tca").getVersion())
+            .isEqualTo("1.10.0");
+
+        var referenced = toscaServiceTemplateService.fetchLatestPolicies("onap.policies.monitoring.tcagen2", "1.0.0",
+            "onap.restart.tca", PolicyFetchMode.REFERENCED);
+        assertThat(referenced.getPolicyTypes()).containsKey("onap.policies.monitoring.tcagen2");
+        assertThat(referenced.getToscaTopologyTemplate().getPolicies().get(0).get("onap.restart.tca").getVersion())
+            .isEqualTo("1.10.0");
+
+        // no version of the policy has the type, the filter reports it missing
+        assertThatThrownBy(() -> toscaServiceTemplateService.fetchLatestPolicies("onap.policies.Other", "1.0.0",
+            "onap.restart.tca", null)).isInstanceOf(PfModelRuntimeException.class);
+    }
+
+    @Test
+    void testFetchLatestPoliciesSameWithoutIndex() throws Exception {
+        var policyTypeServiceTemplate = standardYamlCoder
+            .decode(ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE), ToscaServiceTemplate.class);
+        var policyServiceTemplate = standardCoder
+            .decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE), ToscaServiceTemplate.class);
+        var policy = policyServiceTemplate.getToscaTopologyTemplate().getPolicies().get(0).values().iterator().next();
+        for (var version : List.of("1.9.0", "1.10.0")) {
+            var copy = new ToscaPolicy(policy);
+            copy.setVersion(version);
+            policyServiceTemplate.getToscaTopologyTemplate().getPolicies().add(Map.of(copy.getName(), copy));
+        }
+        var dbServiceTemplate = ToscaServiceTemplateUtils.addFragment(
+            new JpaToscaServiceTemplate(policyTypeServiceTemplate), new JpaToscaServiceTemplate(policyServiceTemplate));
+        stubDbServiceTemplate(dbServiceTemplate);
+
+        // without an up to date snapshot, the latest version is filtered from the service template
+        Mockito.when(readModel.current()).thenReturn(Optional.empty());
+        var filtered = toscaServiceTemplateService.fetchLatestPolicies(null, null, "onap.restart.tca", null);
+
+        Mockito.when(readModel.current()).thenReturn(Optional.of(new ToscaServiceTemplateSnapshot(1,
+            dbServiceTemplate)));
+        var indexed = toscaServiceTemplateService.fetchLatestPolicies(null, null, "onap.restart.tca", null);
+
+        assertThat(filtered.getToscaTopologyTemplate().getPolicies()).hasSize(1);
+        assertThat(filtered.getToscaTopologyTemplate().getPolicies().get(0).get("onap.restart.tca").getVersion())
+            .isEqualTo("1.10.0");
+        assertThat(filtered).isEqualTo(indexed);
+    }
+
     @Test
     void testCreatePolicy() throws Exception {
         assertThatThrownBy(() -> toscaServiceTemplateService
@@ -162,6 +235,49 @@ class TestToscaServiceTemplateServiceForPolicyCrud extends TestCommonToscaServic
             "item \"entity\" value \"onap.restart.tca:1.0.0\" INVALID, " + "does not equal existing entity");
     }
 
+    @Test
+    void testCreatePoliciesBatch() throws Exception {
+        assertThat(toscaServiceTemplateService.createPoliciesBatch(List.of())).isEmpty();
+
+        var policyTypeServiceTemplate = standardYamlCoder
+            .decode(ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE), ToscaServiceTemplate.class);
+        var serviceTemplate = toscaServiceTemplateService.createPolicyType(policyTypeServiceTemplate);
+        mockDbServiceTemplate(serviceTemplate, null, null);
+        Mockito.clearInvocations(serviceTemplateWriter);
+
+        // the same policy twice merges and is saved once
+        var policyServiceTemplate = standardCoder
+            .decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE), ToscaServiceTemplate.class);
+        var outcomes = toscaServiceTemplateService
+            .createPoliciesBatch(List.of(policyServiceTemplate, policyServiceTemplate));
+        assertThat(outcomes).allMatch(WriteOutcome::isSuccess);
+        assertThat(outcomes.get(0).getResult()).isSameAs(policyServiceTemplate);
+        Mockito.verify(serviceTemplateWriter).saveAppended(Mockito.any(), Mockito.any());
+
+        // a bad request fails on its own, the others are still saved
+        Mockito.clearInvocations(serviceTemplateWriter);
+        var badPolicyServiceTemplate = standardCoder.decode(
+            ResourceUtils.getResourceAsString(POLICY_RESOURCE_WITH_BAD_POLICYTYPE_VERSION), ToscaServiceTemplate.class);
+        outcomes = toscaServiceTemplateService
+            .createPoliciesBatch(List.of(badPolicyServiceTemplate, policyServiceTemplate, new ToscaServiceTemplate()));
+        assertThat(outcomes).hasSize(3);
+        assertThat(outcomes.get(0).getFailure()).hasMessageContaining(
+            "item \"policy type\" value \"onap.policies.monitoring.cdap.tca.hi.lo.app:2.0.0\" INVALID, not found");
+        assertThat(outcomes.get(1).isSuccess()).isTrue();
+        assertThat(outcomes.get(2).getFailure()).hasMessage("topology template not specified on service template");
+
+        var savedCaptor = ArgumentCaptor.forClass(JpaToscaServiceTemplate.class);
+        Mockito.verify(serviceTemplateWriter).saveAppended(Mockito.any(), savedCaptor.capture());
+        assertThat(savedCaptor.getValue().getTopologyTemplate().getPolicies()
+            .get(new PfConceptKey("onap.restart.tca", "1.0.0"))).isNotNull();
+
+        // nothing is saved when every request fails
+        Mockito.clearInvocations(serviceTemplateWriter);
+        outcomes = toscaServiceTemplateService.createPoliciesBatch(List.of(badPolicyServiceTemplate));
+        assertThat(outcomes.get(0).isSuccess()).isFalse();
+        Mockito.verify(serviceTemplateWriter, Mockito.never()).saveAppended(Mockito.any(), Mockito.any());
+    }
+
     @Test
     void testCreateOperationalDroolsPolicy() throws CoderException {
         var policyTypeServiceTemplate = standardYamlCoder.decode(
@@ -334,6 +450,107 @@ class TestToscaServiceTemplateServiceForPolicyCrud extends TestCommonToscaServic
         assertThat(serviceTemplate.getToscaTopologyTemplate().getPolicies()).hasSize(1);
     }
 
+    @Test
+    void testFetchPolicyPages() throws Exception {
+        assertThatThrownBy(() -> toscaServiceTemplateService.fetchPolicyPage(null, 2, null))
+            .hasMessageContaining("policies for filter").hasMessageContaining("do not exist");
+
+        var policyTypeServiceTemplate = standardYamlCoder
+            .decode(ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE), ToscaServiceTemplate.class);
+        var serviceTemplate = toscaServiceTemplateService.createPolicyType(policyTypeServiceTemplate);
+        var policyServiceTemplate = standardCoder
+            .decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE), ToscaServiceTemplate.class);
+        var policy = policyServiceTemplate.getToscaTopologyTemplate().getPolicies().get(0).values().iterator().next();
+        for (var index = 1; index <= 4; index++) {
+            var copy = new ToscaPolicy(policy);
+            copy.setName(policy.getName() + "." + index);
+            policyServiceTemplate.getToscaTopologyTemplate().getPolicies().add(Map.of(copy.getName(), copy));
+        }
+        mockDbServiceTemplate(serviceTemplate, policyServiceTemplate, Operation.CREATE_POLICY);
+
+        // five policies, in pages of two
+        var names = new ArrayList<String>();
+        PfConceptKey afterKey = null;
+        for (var pageCount = 1; pageCount <= 3; pageCount++) {
+            var page = toscaServiceTemplateService.fetchPolicyPage(afterKey, 2, null);
+            assertThat(page.getServiceTemplate().getPolicyTypes()).isNull();
+            page.getServiceTemplate().getToscaTopologyTemplate().getPolicies()
+                .forEach(policies -> names.addAll(policies.keySet()));
+            afterKey = page.getLastKey();
+            assertThat(afterKey == null).isEqualTo(pageCount == 3);
+        }
+        assertThat(names).containsExactly("onap.restart.tca", "onap.restart.tca.1", "onap.restart.tca.2",
+            "onap.restart.tca.3", "onap.restart.tca.4");
+
+        // referenced pages carry the policy types, pages past the end are empty
+        var referencedPage = toscaServiceTemplateService.fetchPolicyPage(null, 5, PolicyFetchMode.REFERENCED);
+        assertThat(referencedPage.getServiceTemplate().getPolicyTypes())
+            .containsKey("onap.policies.monitoring.tcagen2");
+        assertThat(referencedPage.getLastKey()).isNull();
+        var pastEnd = toscaServiceTemplateService.fetchPolicyPage(new PfConceptKey("onap.restart.tca.4", "1.0.0"), 2,
+            null);
+        assertThat(pastEnd.getServiceTemplate().getToscaTopologyTemplate()).isNull();
+        assertThat(pastEnd.getLastKey()).isNull();
+    }
+
+    @Test
+    void testFetchPolicyBatch() throws Exception {
+        assertThatThrownBy(() -> toscaServiceTemplateService.fetchPolicyBatch(List.of(), null))
+            .hasMessage("batch of policies must hold from 1 to 1000 identifiers");
+        var unversioned = new ToscaConceptIdentifier();
+        unversioned.setName("onap.restart.tca");
+        assertThatThrownBy(() -> toscaServiceTemplateService.fetchPolicyBatch(List.of(unversioned), null))
+            .hasMessageContaining("must have a name and a version");
+
+        var policyTypeServiceTemplate = standardYamlCoder
+            .decode(ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE), ToscaServiceTemplate.class);
+        var serviceTemplate = toscaServiceTemplateService.createPolicyType(policyTypeServiceTemplate);
+        var policyServiceTemplate = standardCoder
+            .decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE), ToscaServiceTemplate.class);
+        var policy = policyServiceTemplate.getToscaTopologyTemplate().getPolicies().get(0).values().iterator().next();
+        var copy = new ToscaPolicy(policy);
+        copy.setName(policy.getName() + ".1");
+        policyServiceTemplate.getToscaTopologyTemplate().getPolicies().add(Map.of(copy.getName(), copy));
+        mockDbServiceTemplate(serviceTemplate, policyServiceTemplate, Operation.CREATE_POLICY);
+
+        var unknown = new ToscaConceptIdentifier("onap.restart.unknown", "1.0.0");
+        var identifiers = List.of(new ToscaConceptIdentifier("onap.restart.tca.1", "1.0.0"), unknown,
+            new ToscaConceptIdentifier("onap.restart.tca", "1.0.0"));
+        var batch = toscaServiceTemplateService.fetchPolicyBatch(identifiers, null);
+        assertThat(batch.getMissing()).containsExactly(unknown);
+        assertThat(batch.getServiceTemplate().getPolicyTypes()).isNull();
+        assertThat(batch.getServiceTemplate().getToscaTopologyTemplate().getPolicies())
+            .flatExtracting(Map::keySet).containsExactly("onap.restart.tca", "onap.restart.tca.1");
+
+        // the types are cascaded once for all the policies
+        var referenced = toscaServiceTemplateService.fetchPolicyBatch(identifiers, PolicyFetchMode.REFERENCED);
+        assertThat(referenced.getServiceTemplate().getPolicyTypes()).containsKey("onap.policies.monitoring.tcagen2");
+
+        var allMissing = toscaServiceTemplateService.fetchPolicyBatch(List.of(unknown), PolicyFetchMode.REFERENCED);
+        assertThat(allMissing.getMissing()).containsExactly(unknown);
+        assertThat(allMissing.getServiceTemplate().getToscaTopologyTemplate()).isNull();
+    }
+
+    @Test
+    void testFetchSummaries() throws Exception {
+        assertThat(toscaServiceTemplateService.fetchPolicySummaries()).isEmpty();
+
+        var policyTypeServiceTemplate = standardYamlCoder
+            .decode(ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE), ToscaServiceTemplate.class);
+        var serviceTemplate = toscaServiceTemplateService.createPolicyType(policyTypeServiceTemplate);
+        var policyServiceTemplate = standardCoder
+            .decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE), ToscaServiceTemplate.class);
+        mockDbServiceTemplate(serviceTemplate, policyServiceTemplate, Operation.CREATE_POLICY);
+
+        assertThat(toscaServiceTemplateService.fetchPolicySummaries()).containsExactly(
+            new ToscaEntitySummary("onap.restart.tca", "1.0.0", "onap.policies.monitoring.tcagen2", "1.0.0", null));
+        var policyTypeSummaries = toscaServiceTemplateService.fetchPolicyTypeSummaries();
+        assertThat(policyTypeSummaries).extracting(ToscaEntitySummary::getName)
+            .contains("onap.policies.monitoring.tcagen2");
+        assertThat(policyTypeSummaries)
+            .allMatch(summary -> summary.getType() == null && summary.getDerivedFrom() != null);
+    }
+
     @Test
     void testFetchSpecificPolicy_availablePolicy() throws Exception {
         // Create Policy Type
@@ -21,12 +21,16 @@
 
 package org.onap.policy.api.main.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import io.micrometer.core.instrument.Timer;
 import jakarta.ws.rs.core.Response;
+import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -34,8 +38,12 @@ import org.mockito.Mockito;
 import org.onap.policy.common.utils.coder.CoderException;
 import org.onap.policy.common.utils.coder.StandardYamlCoder;
 import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.base.PfConceptKey;
 import org.onap.policy.models.base.PfModelRuntimeException;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaPolicyType;
 import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
 
 /**
  * This class performs unit test of Policy Type CRUD operations as implemented in {@link ToscaServiceTemplateService}.
@@ -46,6 +54,7 @@ class TestToscaServiceTemplateServiceForPolicyTypeCrud extends TestCommonToscaSe
 
     private static final StandardYamlCoder coder = new StandardYamlCoder();
     private static final String POLICY_TYPE_VERSION = "1.0.0";
+    private static final String CREATE_POLICY_TYPE_OPERATION = "createPolicyType";
 
     private static final String POLICY_RESOURCE_MONITORING = "policies/vCPE.policy.monitoring.input.tosca.yaml";
     private static final String POLICY_TYPE_RESOURCE_MONITORING = "policytypes/onap.policies.monitoring.tcagen2.yaml";
@@ -69,6 +78,11 @@ class TestToscaServiceTemplateServiceForPolicyTypeCrud extends TestCommonToscaSe
     @InjectMocks
     private ToscaServiceTemplateService toscaServiceTemplateService;
 
+    private Timer getPhaseTimer(String operation, String phase) {
+        return meterRegistry.get(ToscaPhaseTimer.PHASE_METRIC).tag(ToscaPhaseTimer.OPERATION_TAG, operation)
+            .tag(ToscaPhaseTimer.PHASE_TAG, phase).timer();
+    }
+
     @Test
     void testFetchPolicyTypes() {
         assertThatThrownBy(() -> toscaServiceTemplateService.fetchPolicyTypes("dummy", null))
@@ -81,12 +95,82 @@ class TestToscaServiceTemplateServiceForPolicyTypeCrud extends TestCommonToscaSe
             .hasMessage("policy types for filter ToscaEntityFilter(name=null, version=null) do not exist");
     }
 
+    @Test
+    void testFetchPolicyTypesFromSnapshot() throws CoderException {
+        var policyTypeServiceTemplate = coder.decode(
+            ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE_OPERATIONAL_COMMON), ToscaServiceTemplate.class);
+        var snapshot = Mockito.spy(new ToscaServiceTemplateSnapshot(1,
+            new JpaToscaServiceTemplate(policyTypeServiceTemplate)));
+        Mockito.when(readModel.current()).thenReturn(Optional.of(snapshot));
+
+        var serviceTemplate = toscaServiceTemplateService.fetchPolicyTypes(null, null);
+        assertThat(serviceTemplate.getPolicyTypes()).containsKey(POLICY_TYPE_OPERATIONAL_COMMON);
+        serviceTemplate = toscaServiceTemplateService.fetchPolicyTypes(POLICY_TYPE_OPERATIONAL_COMMON, null);
+        assertThat(serviceTemplate.getPolicyTypes()).containsKey(POLICY_TYPE_OPERATIONAL_COMMON);
+
+        // the unfiltered read uses the type hierarchy the snapshot already holds
+        Mockito.verify(snapshot, Mockito.atLeastOnce()).getTypeHierarchy();
+    }
+
     @Test
     void testFetchLatestPolicyTypes() {
         assertThatThrownBy(() -> toscaServiceTemplateService.fetchLatestPolicyTypes("dummy"))
             .hasMessage("policy types for filter ToscaEntityFilter(name=dummy, version=LATEST) do not exist");
     }
 
+    @Test
+    void testFetchLatestPolicyTypesSameWithoutIndex() throws CoderException {
+        var policyTypeServiceTemplate = coder.decode(
+            ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE_OPERATIONAL_COMMON), ToscaServiceTemplate.class);
+        var dbServiceTemplate = new JpaToscaServiceTemplate(policyTypeServiceTemplate);
+        var policyType = policyTypeServiceTemplate.getPolicyTypes().get(POLICY_TYPE_OPERATIONAL_COMMON);
+        for (var version : List.of("1.9.0", "1.10.0")) {
+            var copy = new ToscaPolicyType(policyType);
+            copy.setVersion(version);
+            dbServiceTemplate.getPolicyTypes().getConceptMap()
+                .put(new PfConceptKey(POLICY_TYPE_OPERATIONAL_COMMON, version), new JpaToscaPolicyType(copy));
+        }
+        stubDbServiceTemplate(dbServiceTemplate);
+
+        // without an up to date snapshot, the latest version is filtered from the service template
+        Mockito.when(readModel.current()).thenReturn(Optional.empty());
+        var filtered = toscaServiceTemplateService.fetchLatestPolicyTypes(POLICY_TYPE_OPERATIONAL_COMMON);
+
+        Mockito.when(readModel.current()).thenReturn(Optional.of(new ToscaServiceTemplateSnapshot(1,
+            dbServiceTemplate)));
+        var indexed = toscaServiceTemplateService.fetchLatestPolicyTypes(POLICY_TYPE_OPERATIONAL_COMMON);
+
+        assertThat(filtered.getPolicyTypes()).hasSize(1);
+        assertThat(filtered.getPolicyTypes().get(POLICY_TYPE_OPERATIONAL_COMMON).getVersion()).isEqualTo("1.10.0");
+        assertThat(filtered).isEqualTo(indexed);
+    }
+
+    @Test
+    void testFetchPolicyTypePages() throws CoderException {
+        assertThatThrownBy(() -> toscaServiceTemplateService.fetchPolicyTypePage(null, 2))
+            .hasMessage("policy types for filter ToscaEntityFilter(name=null, version=null) do not exist");
+
+        var serviceTemplate = toscaServiceTemplateService.createPolicyType(coder.decode(
+            ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE_OPERATIONAL_COMMON), ToscaServiceTemplate.class));
+        mockDbServiceTemplate(serviceTemplate, null, null);
+        for (var resource : List.of(POLICY_TYPE_RESOURCE_OPERATIONAL_DROOLS, POLICY_TYPE_RESOURCE_OPERATIONAL_APEX)) {
+            var fragment = toscaServiceTemplateService.createPolicyType(
+                coder.decode(ResourceUtils.getResourceAsString(resource), ToscaServiceTemplate.class));
+            mockDbServiceTemplate(serviceTemplate, fragment, Operation.CREATE_POLICY_TYPE);
+        }
+
+        var firstPage = toscaServiceTemplateService.fetchPolicyTypePage(null, 2);
+        assertThat(firstPage.getServiceTemplate().getPolicyTypes())
+            .containsOnlyKeys(POLICY_TYPE_OPERATIONAL_COMMON, POLICY_TYPE_OPERATIONAL_APEX);
+        assertThat(firstPage.getLastKey().getName()).isEqualTo(POLICY_TYPE_OPERATIONAL_APEX);
+
+        // the next page holds the rest, cascaded with the types they derive from
+        var lastPage = toscaServiceTemplateService.fetchPolicyTypePage(firstPage.getLastKey(), 2);
+        assertThat(lastPage.getServiceTemplate().getPolicyTypes())
+            .containsOnlyKeys(POLICY_TYPE_OPERATIONAL_COMMON, POLICY_TYPE_OPERATIONAL_DROOLS);
+        assertThat(lastPage.getLastKey()).isNull();
+    }
+
     @Test
     void testCreatePolicyType() throws CoderException {
         var policyTypeServiceTemplate = coder
@@ -111,6 +195,14 @@ class TestToscaServiceTemplateServiceForPolicyTypeCrud extends TestCommonToscaSe
         }).hasMessageContaining("item \"version\" value \"0.0.0\" INVALID, is null");
 
         toscaServiceTemplateService.deletePolicyType(POLICY_TYPE_NAME_MONITORING, POLICY_TYPE_VERSION);
+
+        // only the valid policy type was saved, each phase is timed separately
+        assertThat(getPhaseTimer(CREATE_POLICY_TYPE_OPERATION, "save").count()).isEqualTo(1);
+        assertThat(getPhaseTimer(CREATE_POLICY_TYPE_OPERATION, "load").count()).isEqualTo(3);
+        assertThat(getPhaseTimer("deletePolicyType", "save").count()).isEqualTo(1);
+        assertThat(getPhaseTimer("deletePolicyType", "cascade").count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ToscaPhaseTimer.ENTITIES_METRIC)
+            .tag(ToscaPhaseTimer.OPERATION_TAG, "deletePolicyType").summary().totalAmount()).isEqualTo(1.0);
     }
 
     @Test
@@ -133,6 +225,48 @@ class TestToscaServiceTemplateServiceForPolicyTypeCrud extends TestCommonToscaSe
         toscaServiceTemplateService.deletePolicyType(POLICY_TYPE_OPERATIONAL_COMMON, POLICY_TYPE_VERSION);
     }
 
+    @Test
+    void testDeletePolicyTypeIgnoresStaleSnapshot() throws CoderException {
+        var policyTypeServiceTemplate = coder.decode(
+            ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE_OPERATIONAL_COMMON), ToscaServiceTemplate.class);
+        var serviceTemplate = toscaServiceTemplateService.createPolicyType(policyTypeServiceTemplate);
+        mockDbServiceTemplate(serviceTemplate, null, null);
+
+        // a snapshot taken before the derived policy type was created
+        var staleSnapshot = new ToscaServiceTemplateSnapshot(0, new JpaToscaServiceTemplate(serviceTemplate));
+        Mockito.when(readModel.current()).thenReturn(Optional.of(staleSnapshot));
+
+        policyTypeServiceTemplate = coder.decode(
+            ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE_OPERATIONAL_DROOLS), ToscaServiceTemplate.class);
+        var createPolicyTypeResponseFragment = toscaServiceTemplateService.createPolicyType(policyTypeServiceTemplate);
+        mockDbServiceTemplate(serviceTemplate, createPolicyTypeResponseFragment, Operation.CREATE_POLICY_TYPE);
+
+        assertThatThrownBy(() -> toscaServiceTemplateService.deletePolicyType(POLICY_TYPE_OPERATIONAL_COMMON,
+            POLICY_TYPE_VERSION)).hasMessage("policy type " + POLICY_TYPE_OPERATIONAL_COMMON + ":1.0.0 is in use, "
+                + "it is referenced in policy type " + POLICY_TYPE_OPERATIONAL_DROOLS + ":1.0.0");
+    }
+
+    @Test
+    void testDeletePolicyTypeIgnoresSnapshotWithoutPolicies() throws CoderException {
+        var policyTypeServiceTemplate = coder
+            .decode(ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE_MONITORING), ToscaServiceTemplate.class);
+        var serviceTemplate = toscaServiceTemplateService.createPolicyType(policyTypeServiceTemplate);
+        mockDbServiceTemplate(serviceTemplate, null, null);
+
+        // a snapshot taken before the policy of the type was created
+        var staleSnapshot = new ToscaServiceTemplateSnapshot(0, new JpaToscaServiceTemplate(serviceTemplate));
+        Mockito.when(readModel.current()).thenReturn(Optional.of(staleSnapshot));
+
+        var policyServiceTemplate = coder
+            .decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE_MONITORING), ToscaServiceTemplate.class);
+        var createPolicyResponseFragment = toscaServiceTemplateService.createPolicy(policyServiceTemplate);
+        mockDbServiceTemplate(serviceTemplate, createPolicyResponseFragment, Operation.CREATE_POLICY);
+
+        assertThatThrownBy(() -> toscaServiceTemplateService.deletePolicyType(POLICY_TYPE_NAME_MONITORING,
+            POLICY_TYPE_VERSION)).hasMessage("policy type " + POLICY_TYPE_NAME_MONITORING + ":1.0.0 is in use, "
+                + "it is referenced in policy onap.restart.tca:1.0.0");
+    }
+
     @Test
     void testCreateApexOperationalPolicyTypes() throws CoderException {
         var policyTypeServiceTemplate = coder.decode(
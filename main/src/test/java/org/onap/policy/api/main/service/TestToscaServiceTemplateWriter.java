@@ -0,0 +1,107 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.api.main.repository.ToscaServiceTemplateRepository;
+import org.onap.policy.common.utils.coder.StandardCoder;
+import org.onap.policy.common.utils.coder.StandardYamlCoder;
+import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaNodeType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaNodeTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicy;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+import org.onap.policy.models.tosca.utils.ToscaServiceTemplateUtils;
+
+class TestToscaServiceTemplateWriter {
+
+    private static final String POLICY_TYPE_RESOURCE = "policytypes/onap.policies.monitoring.tcagen2.yaml";
+    private static final String POLICY_RESOURCE = "policies/vCPE.policy.monitoring.input.tosca.json";
+    private static final PfConceptKey POLICY_KEY = new PfConceptKey("onap.restart.tca", "1.0.0");
+
+    private ToscaServiceTemplateRepository toscaServiceTemplateRepository;
+    private ToscaServiceTemplateWriter writer;
+    private JpaToscaServiceTemplate policyTypes;
+    private JpaToscaServiceTemplate policies;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        toscaServiceTemplateRepository = mock(ToscaServiceTemplateRepository.class);
+        writer = new ToscaServiceTemplateWriter(toscaServiceTemplateRepository, mock(ToscaEntityCache.class));
+        policyTypes = new JpaToscaServiceTemplate(new StandardYamlCoder()
+            .decode(ResourceUtils.getResourceAsString(POLICY_TYPE_RESOURCE), ToscaServiceTemplate.class));
+        policies = new JpaToscaServiceTemplate(new StandardCoder()
+            .decode(ResourceUtils.getResourceAsString(POLICY_RESOURCE), ToscaServiceTemplate.class));
+    }
+
+    @Test
+    void testNoDbServiceTemplate() {
+        writer.saveAppended(null, policyTypes);
+        verify(toscaServiceTemplateRepository).save(policyTypes);
+    }
+
+    @Test
+    void testAppendsOnlyNewEntities() {
+        // the first policies add the topology template
+        var dbServiceTemplate = new JpaToscaServiceTemplate(policyTypes);
+        var dbPolicyType = dbServiceTemplate.getPolicyTypes().getAll(null).iterator().next();
+        writer.saveAppended(dbServiceTemplate, ToscaServiceTemplateUtils.addFragment(dbServiceTemplate, policies));
+        assertThat(dbServiceTemplate.getTopologyTemplate().getPolicies().get(POLICY_KEY)).isNotNull();
+        assertThat(dbServiceTemplate.getPolicyTypes().get(dbPolicyType.getKey())).isSameAs(dbPolicyType);
+
+        // later policies are added to the existing policies, which are kept as they are
+        var dbPolicy = dbServiceTemplate.getTopologyTemplate().getPolicies().get(POLICY_KEY);
+        var fragment = new JpaToscaServiceTemplate(policies);
+        var newPolicy = new JpaToscaPolicy(fragment.getTopologyTemplate().getPolicies().get(POLICY_KEY));
+        newPolicy.setKey(new PfConceptKey("onap.restart.tca.copy", "1.0.0"));
+        fragment.getTopologyTemplate().getPolicies().getConceptMap().clear();
+        fragment.getTopologyTemplate().getPolicies().getConceptMap().put(newPolicy.getKey(), newPolicy);
+
+        writer.saveAppended(dbServiceTemplate, ToscaServiceTemplateUtils.addFragment(dbServiceTemplate, fragment));
+        var dbPolicies = dbServiceTemplate.getTopologyTemplate().getPolicies();
+        assertThat(dbPolicies.getConceptMap()).hasSize(2).containsKey(newPolicy.getKey());
+        assertThat(dbPolicies.get(POLICY_KEY)).isSameAs(dbPolicy);
+        verify(toscaServiceTemplateRepository, never()).save(any());
+    }
+
+    @Test
+    void testOtherChangesSaveWholeServiceTemplate() {
+        var dbServiceTemplate = new JpaToscaServiceTemplate(policyTypes);
+        var serviceTemplateToWrite = new JpaToscaServiceTemplate(policyTypes);
+        var nodeTypeKey = new PfConceptKey("org.onap.nodetypes.Test", "1.0.0");
+        serviceTemplateToWrite.setNodeTypes(new JpaToscaNodeTypes());
+        serviceTemplateToWrite.getNodeTypes().getConceptMap().put(nodeTypeKey, new JpaToscaNodeType(nodeTypeKey));
+
+        writer.saveAppended(dbServiceTemplate, serviceTemplateToWrite);
+        verify(toscaServiceTemplateRepository).save(serviceTemplateToWrite);
+        assertThat(dbServiceTemplate.getNodeTypes()).isNull();
+    }
+}
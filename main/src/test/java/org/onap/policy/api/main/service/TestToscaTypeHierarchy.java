@@ -0,0 +1,194 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.common.utils.coder.StandardYamlCoder;
+import org.onap.policy.common.utils.resources.ResourceUtils;
+import org.onap.policy.models.base.PfConceptKey;
+import org.onap.policy.models.tosca.authorative.concepts.ToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaDataType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaDataTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyType;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaPolicyTypes;
+import org.onap.policy.models.tosca.simple.concepts.JpaToscaServiceTemplate;
+import org.onap.policy.models.tosca.simple.provider.SimpleToscaProvider;
+import org.onap.policy.models.tosca.utils.ToscaServiceTemplateUtils;
+
+class TestToscaTypeHierarchy {
+
+    private static final PfConceptKey ROOT = new PfConceptKey("tosca.policies.Root", "1.0.0");
+    private static final PfConceptKey BASE = new PfConceptKey("test.Base", "1.0.0");
+    private static final PfConceptKey MIDDLE = new PfConceptKey("test.Middle", "1.0.0");
+    private static final PfConceptKey LEAF = new PfConceptKey("test.Leaf", "1.0.0");
+    private static final PfConceptKey OTHER_LEAF = new PfConceptKey("test.OtherLeaf", "1.0.0");
+    private static final PfConceptKey UNKNOWN = new PfConceptKey("test.Unknown", "1.0.0");
+
+    @Test
+    void testPolicyTypeHierarchy() {
+        var hierarchy = new ToscaTypeHierarchy(buildServiceTemplate());
+
+        assertThat(hierarchy.containsPolicyType(LEAF)).isTrue();
+        assertThat(hierarchy.containsPolicyType(BASE)).isTrue();
+        assertThat(hierarchy.containsPolicyType(ROOT)).isFalse();
+
+        assertThat(hierarchy.getPolicyTypeAncestors(LEAF)).containsExactly(MIDDLE, BASE);
+        assertThat(hierarchy.getPolicyTypeAncestors(BASE)).isEmpty();
+        assertThat(hierarchy.getPolicyTypeAncestors(UNKNOWN)).isEmpty();
+
+        assertThat(hierarchy.getPolicyTypeAncestors(OTHER_LEAF)).containsExactly(BASE);
+
+        assertThat(hierarchy.getPolicyTypeClosure(List.of(LEAF, UNKNOWN))).containsExactly(BASE, LEAF, MIDDLE);
+        assertThat(hierarchy.getDataTypeClosure(List.of(LEAF))).isEmpty();
+    }
+
+    @Test
+    void testCycleDoesNotHang() {
+        var serviceTemplate = buildServiceTemplate();
+        serviceTemplate.getPolicyTypes().get(BASE).setDerivedFrom(LEAF);
+        var hierarchy = new ToscaTypeHierarchy(serviceTemplate);
+
+        assertThat(hierarchy.getPolicyTypeAncestors(LEAF)).containsExactly(MIDDLE, BASE, LEAF);
+        assertThat(hierarchy.getPolicyTypeClosure(List.of(OTHER_LEAF))).containsExactly(BASE, LEAF, MIDDLE, OTHER_LEAF);
+    }
+
+    @Test
+    void testTypesDerivedFromRootStayIndexed() {
+        var serviceTemplate = new JpaToscaServiceTemplate();
+        serviceTemplate.setPolicyTypes(new JpaToscaPolicyTypes());
+        var otherBase = new PfConceptKey("test.OtherBase", "1.0.0");
+        addPolicyType(serviceTemplate, BASE, ROOT);
+        addPolicyType(serviceTemplate, otherBase, ROOT);
+        addPolicyType(serviceTemplate, LEAF, otherBase);
+
+        var dataTypeRoot = new PfConceptKey("tosca.datatypes.Root", "1.0.0");
+        var baseDataType = new PfConceptKey("test.BaseData", "1.0.0");
+        var leafDataType = new PfConceptKey("test.LeafData", "1.0.0");
+        serviceTemplate.setDataTypes(new JpaToscaDataTypes());
+        addDataType(serviceTemplate, baseDataType, dataTypeRoot);
+        addDataType(serviceTemplate, leafDataType, baseDataType);
+
+        var hierarchy = new ToscaTypeHierarchy(serviceTemplate);
+
+        assertThat(hierarchy.containsPolicyType(BASE)).isTrue();
+        assertThat(hierarchy.containsPolicyType(otherBase)).isTrue();
+        assertThat(hierarchy.containsPolicyType(LEAF)).isTrue();
+        assertThat(hierarchy.getPolicyTypeAncestors(LEAF)).containsExactly(otherBase);
+        assertThat(hierarchy.getPolicyTypeClosure(List.of(LEAF))).containsExactly(LEAF, otherBase);
+        assertThat(hierarchy.getPolicyTypeClosure(List.of(BASE))).containsExactly(BASE);
+
+        assertThat(hierarchy.getDataTypeAncestors(leafDataType)).containsExactly(baseDataType);
+        assertThat(hierarchy.getDataTypeAncestors(baseDataType)).isEmpty();
+    }
+
+    @Test
+    void testDataTypeClosureMatchesCascade() throws Exception {
+        var yamlCoder = new StandardYamlCoder();
+        var serviceTemplate = new JpaToscaServiceTemplate();
+        for (var resource : List.of("policytypes/onap.policies.monitoring.tcagen2.yaml",
+            "policytypes/onap.policies.controlloop.operational.Common.yaml",
+            "policytypes/onap.policies.controlloop.operational.common.Drools.yaml",
+            "policytypes/onap.policies.controlloop.operational.common.Apex.yaml")) {
+            var fragment = yamlCoder.decode(ResourceUtils.getResourceAsString(resource), ToscaServiceTemplate.class);
+            serviceTemplate =
+                ToscaServiceTemplateUtils.addFragment(serviceTemplate, new JpaToscaServiceTemplate(fragment));
+        }
+        var hierarchy = new ToscaTypeHierarchy(serviceTemplate);
+
+        var provider = new SimpleToscaProvider();
+        for (var policyType : serviceTemplate.getPolicyTypes().getAll(null)) {
+            var cascaded = provider.getCascadedPolicyTypes(serviceTemplate, policyType.getName(), null);
+            var policyTypeClosure = hierarchy.getPolicyTypeClosure(List.of(policyType.getKey()));
+            assertThat(policyTypeClosure).isEqualTo(cascaded.getPolicyTypes().getConceptMap().keySet());
+
+            var expectedDataTypes = cascaded.getDataTypes() == null ? List.of()
+                : cascaded.getDataTypes().getConceptMap().keySet();
+            assertThat(hierarchy.getDataTypeClosure(policyTypeClosure))
+                .containsExactlyInAnyOrderElementsOf(expectedDataTypes);
+        }
+
+        for (var dataType : serviceTemplate.getDataTypes().getAll(null)) {
+            assertThat(hierarchy.containsDataType(dataType.getKey())).isTrue();
+            assertThat(hierarchy.getDataTypeClosure(List.of(), List.of(dataType.getKey())))
+                .contains(dataType.getKey()).containsAll(hierarchy.getDataTypeAncestors(dataType.getKey()));
+        }
+        assertThat(hierarchy.containsDataType(UNKNOWN)).isFalse();
+    }
+
+    @Test
+    void testNullServiceTemplate() {
+        assertThatThrownBy(() -> new ToscaTypeHierarchy(null)).hasMessageContaining("serviceTemplate");
+        assertThat(new ToscaTypeHierarchy(new JpaToscaServiceTemplate()).getPolicyTypeAncestors(BASE)).isEmpty();
+    }
+
+    @Test
+    void testWithChange() {
+        var hierarchy = new ToscaTypeHierarchy(buildServiceTemplate());
+        assertThat(hierarchy.withChange(null, null)).isSameAs(hierarchy);
+        assertThat(hierarchy.withChange(new JpaToscaServiceTemplate(), new JpaToscaServiceTemplate()))
+            .isSameAs(hierarchy);
+
+        // move the leaf under the other leaf and remove the middle type
+        var added = new JpaToscaServiceTemplate();
+        added.setPolicyTypes(new JpaToscaPolicyTypes());
+        addPolicyType(added, LEAF, OTHER_LEAF);
+        var removed = new JpaToscaServiceTemplate();
+        removed.setPolicyTypes(new JpaToscaPolicyTypes());
+        addPolicyType(removed, MIDDLE, BASE);
+        var serviceTemplate = buildServiceTemplate();
+        var displaced = ToscaServiceTemplateOverlay.displaced(serviceTemplate, added, removed);
+        var changed = hierarchy.withChange(displaced, added);
+
+        assertThat(changed.containsPolicyType(MIDDLE)).isFalse();
+        assertThat(changed.getPolicyTypeAncestors(LEAF)).containsExactly(OTHER_LEAF, BASE);
+        assertThat(changed.getPolicyTypeClosure(List.of(LEAF, MIDDLE))).containsExactly(BASE, LEAF, OTHER_LEAF);
+
+        // the index it was derived from is unchanged
+        assertThat(hierarchy.containsPolicyType(MIDDLE)).isTrue();
+        assertThat(hierarchy.getPolicyTypeAncestors(LEAF)).containsExactly(MIDDLE, BASE);
+    }
+
+    private JpaToscaServiceTemplate buildServiceTemplate() {
+        var serviceTemplate = new JpaToscaServiceTemplate();
+        serviceTemplate.setPolicyTypes(new JpaToscaPolicyTypes());
+        addPolicyType(serviceTemplate, BASE, ROOT);
+        addPolicyType(serviceTemplate, MIDDLE, BASE);
+        addPolicyType(serviceTemplate, LEAF, MIDDLE);
+        addPolicyType(serviceTemplate, OTHER_LEAF, BASE);
+        return serviceTemplate;
+    }
+
+    private void addPolicyType(JpaToscaServiceTemplate serviceTemplate, PfConceptKey key, PfConceptKey parent) {
+        var policyType = new JpaToscaPolicyType(key);
+        policyType.setDerivedFrom(parent);
+        serviceTemplate.getPolicyTypes().getConceptMap().put(key, policyType);
+    }
+
+    private void addDataType(JpaToscaServiceTemplate serviceTemplate, PfConceptKey key, PfConceptKey parent) {
+        var dataType = new JpaToscaDataType(key);
+        dataType.setDerivedFrom(parent);
+        serviceTemplate.getDataTypes().getConceptMap().put(key, dataType);
+    }
+}
@@ -0,0 +1,77 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+
+package org.onap.policy.api.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.models.base.PfConceptKey;
+
+class TestToscaVersionIndex {
+
+    private static final PfConceptKey A_1_9 = new PfConceptKey("entity.a", "1.9.0");
+    private static final PfConceptKey A_1_10 = new PfConceptKey("entity.a", "1.10.0");
+    private static final PfConceptKey A_2_0 = new PfConceptKey("entity.a", "2.0.0");
+    private static final PfConceptKey B_1_0 = new PfConceptKey("entity.b", "1.0.0");
+
+    @Test
+    void testLatestVersions() {
+        var index = new ToscaVersionIndex(List.of(A_1_10, B_1_0, A_2_0, A_1_9));
+
+        assertThat(index.getLatest("entity.a")).contains(A_2_0);
+        assertThat(index.getLatest("entity.b")).contains(B_1_0);
+        assertThat(index.getLatest("entity.c")).isEmpty();
+
+        // versions are compared on their numbers rather than as text
+        assertThat(index.getVersionsLatestFirst("entity.a")).containsExactly(A_2_0, A_1_10, A_1_9);
+        assertThat(index.getVersionsLatestFirst("entity.c")).isEmpty();
+        assertThatThrownBy(() -> index.getVersionsLatestFirst("entity.a").clear())
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void testWithChange() {
+        var index = new ToscaVersionIndex(List.of(A_1_9, A_1_10, B_1_0));
+        assertThat(index.withChange(List.of(), List.of())).isSameAs(index);
+
+        var changed = index.withChange(List.of(A_1_10, B_1_0), List.of(A_2_0));
+        assertThat(changed.getVersionsLatestFirst("entity.a")).containsExactly(A_2_0, A_1_9);
+        assertThat(changed.getLatest("entity.b")).isEmpty();
+
+        // a key both displaced and added is replaced
+        assertThat(changed.withChange(List.of(A_2_0), List.of(A_2_0, B_1_0)).getLatest("entity.b")).contains(B_1_0);
+
+        // the index it was derived from is unchanged
+        assertThat(index.getVersionsLatestFirst("entity.a")).containsExactly(A_1_10, A_1_9);
+        assertThat(index.getLatest("entity.b")).contains(B_1_0);
+    }
+
+    @Test
+    void testNoEntities() {
+        var index = new ToscaVersionIndex(List.of());
+        assertThat(index.getLatest("entity.a")).isEmpty();
+
+        assertThatThrownBy(() -> new ToscaVersionIndex(null)).hasMessageContaining("keys");
+    }
+}
@@ -0,0 +1,298 @@
+/*-
+ * ============LICENSE_START=======================================================
+ *  Copyright (C) 2026 Nordix Foundation.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.policy.api.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.core.Response;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.policy.api.main.config.WriteCoordinatorConfig;
+import org.onap.policy.api.main.service.WriteCoordinator.BatchWriteOperation;
+import org.onap.policy.models.base.PfModelException;
+import org.onap.policy.models.base.PfModelRuntimeException;
+
+class TestWriteCoordinator {
+
+    private SimpleMeterRegistry meterRegistry;
+    private WriteCoordinator writeCoordinator;
+
+    @BeforeEach
+    void setUp() {
+        var config = new WriteCoordinatorConfig();
+        config.setQueueCapacity(1);
+        meterRegistry = new SimpleMeterRegistry();
+        writeCoordinator = new WriteCoordinator(config, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeCoordinator.shutdown();
+    }
+
+    @Test
+    void testExecute() throws Exception {
+        assertThat(writeCoordinator.execute(() -> Thread.currentThread().getName())).isEqualTo("policy-api-writer");
+
+        assertThatThrownBy(() -> writeCoordinator.execute(() -> {
+            throw new PfModelException(Response.Status.NOT_FOUND, "not found");
+        })).isInstanceOf(PfModelException.class).hasMessage("not found");
+
+        assertThatThrownBy(() -> writeCoordinator.execute(() -> {
+            throw new PfModelRuntimeException(Response.Status.NOT_ACCEPTABLE, "in use");
+        })).isInstanceOf(PfModelRuntimeException.class).hasMessage("in use");
+    }
+
+    @Test
+    void testWritesAreSerialized() throws Exception {
+        var config = new WriteCoordinatorConfig();
+        config.setQueueCapacity(100);
+        var coordinator = new WriteCoordinator(config, new SimpleMeterRegistry());
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        var counter = new int[1];
+
+        var callers = Executors.newFixedThreadPool(8);
+        try {
+            var results = new ArrayList<Future<Integer>>();
+            for (var index = 0; index < 50; index++) {
+                results.add(callers.submit(() -> coordinator.execute(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    var value = counter[0];
+                    Thread.yield();
+                    counter[0] = value + 1;
+                    running.decrementAndGet();
+                    return value;
+                })));
+            }
+            for (var result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdown();
+            coordinator.shutdown();
+        }
+
+        assertThat(counter[0]).isEqualTo(50);
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testQueueFull() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        CompletableFuture<String> running = writeCoordinator.submit(() -> {
+            started.countDown();
+            await(release);
+            return "first";
+        });
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> queued = writeCoordinator.submit(() -> "second");
+        assertThat(writeCoordinator.getQueueDepth()).isEqualTo(1);
+        assertThat(meterRegistry.get(WriteCoordinator.QUEUE_DEPTH_METRIC).gauge().value()).isEqualTo(1.0);
+
+        assertThatThrownBy(() -> writeCoordinator.submit(() -> "third"))
+            .isInstanceOf(PfModelRuntimeException.class)
+            .extracting(exception -> ((PfModelRuntimeException) exception).getErrorResponse().getResponseCode())
+            .isEqualTo(Response.Status.SERVICE_UNAVAILABLE);
+        assertThat(meterRegistry.get(WriteCoordinator.REJECTED_METRIC).counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isEqualTo("second");
+        assertThat(writeCoordinator.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void testInterruptedWhileWaiting() throws Exception {
+        var release = new CountDownLatch(1);
+        writeCoordinator.submit(() -> {
+            await(release);
+            return null;
+        });
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> writeCoordinator.execute(() -> "interrupted"))
+                .isInstanceOf(PfModelRuntimeException.class).hasMessage("interrupted while waiting for write");
+            assertThat(Thread.interrupted()).isTrue();
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testTimedOutWhileWaiting() throws Exception {
+        var config = new WriteCoordinatorConfig();
+        config.setWriteTimeout(Duration.ofMillis(10));
+        var coordinator = new WriteCoordinator(config, new SimpleMeterRegistry());
+        var release = new CountDownLatch(1);
+        try {
+            assertThatThrownBy(() -> coordinator.execute(() -> {
+                await(release);
+                return "late";
+            })).isInstanceOf(PfModelRuntimeException.class).hasMessage("timed out waiting for write, retry later")
+                .extracting(exception -> ((PfModelRuntimeException) exception).getErrorResponse().getResponseCode())
+                .isEqualTo(Response.Status.SERVICE_UNAVAILABLE);
+        } finally {
+            release.countDown();
+            coordinator.shutdown();
+        }
+    }
+
+    @Test
+    void testGroupedWritesCommitTogether() throws Exception {
+        var coordinator = newCoordinator(true, Duration.ZERO, 50);
+        var batches = new ArrayList<List<Integer>>();
+        BatchWriteOperation<Integer, String> operation = items -> {
+            batches.add(items);
+            return items.stream().map(item -> item == 3
+                ? WriteOutcome.<String>failure(new PfModelRuntimeException(Response.Status.NOT_ACCEPTABLE, "bad 3"))
+                : WriteOutcome.success("done " + item)).toList();
+        };
+
+        try {
+            var release = new CountDownLatch(1);
+            coordinator.submit(() -> {
+                await(release);
+                return null;
+            });
+
+            // the writes queued while the writer is busy are applied as one batch
+            var results = new ArrayList<CompletableFuture<String>>();
+            for (var item = 0; item < 5; item++) {
+                results.add(coordinator.submitGrouped("create", operation, item));
+            }
+            release.countDown();
+
+            assertThat(results.get(0).get(10, TimeUnit.SECONDS)).isEqualTo("done 0");
+            assertThat(results.get(4).get(10, TimeUnit.SECONDS)).isEqualTo("done 4");
+            assertThatThrownBy(() -> results.get(3).get(10, TimeUnit.SECONDS)).hasMessageContaining("bad 3");
+            assertThatThrownBy(() -> coordinator.executeGrouped("create", operation, 3))
+                .isInstanceOf(PfModelRuntimeException.class).hasMessage("bad 3");
+        } finally {
+            coordinator.shutdown();
+        }
+
+        assertThat(batches).containsExactly(List.of(0, 1, 2, 3, 4), List.of(3));
+        assertThat(meterRegistry.get(WriteCoordinator.BATCH_SIZE_METRIC).summary().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testGroupedWritesLimits() throws Exception {
+        // a full batch is applied without waiting for the rest of the window
+        var coordinator = newCoordinator(true, Duration.ofSeconds(30), 2);
+        var batches = new ArrayList<List<Integer>>();
+        BatchWriteOperation<Integer, Integer> operation = items -> {
+            batches.add(items);
+            return items.stream().map(WriteOutcome::success).toList();
+        };
+        try {
+            var first = coordinator.submitGrouped("create", operation, 1);
+            var second = coordinator.submitGrouped("create", operation, 2);
+            assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(2);
+        } finally {
+            coordinator.shutdown();
+        }
+        assertThat(batches).containsExactly(List.of(1, 2));
+
+        // with group commit disabled, each write is a batch of its own
+        batches.clear();
+        coordinator = newCoordinator(false, Duration.ofSeconds(30), 50);
+        try {
+            assertThat(coordinator.executeGrouped("create", operation, 1)).isEqualTo(1);
+            assertThat(coordinator.executeGrouped("create", operation, 2)).isEqualTo(2);
+        } finally {
+            coordinator.shutdown();
+        }
+        assertThat(batches).containsExactly(List.of(1), List.of(2));
+    }
+
+    @Test
+    void testGroupedWritesFailTogether() {
+        var coordinator = newCoordinator(true, Duration.ZERO, 50);
+        try {
+            assertThatThrownBy(() -> coordinator.executeGrouped("create", items -> {
+                throw new PfModelException(Response.Status.INTERNAL_SERVER_ERROR, "database down");
+            }, 1)).isInstanceOf(PfModelException.class).hasMessage("database down");
+
+            assertThatThrownBy(() -> coordinator.executeGrouped("create", items -> List.of(), 1))
+                .isInstanceOf(PfModelRuntimeException.class).hasMessage("batch of 1 writes returned 0 outcomes");
+        } finally {
+            coordinator.shutdown();
+        }
+    }
+
+    @Test
+    void testSqlRecordedForCallers() throws Exception {
+        var coordinator = newCoordinator(true, Duration.ZERO, 50);
+        var counters = new SqlStatementRecorder.Counters();
+        try (var scope = SqlStatementRecorder.bind(counters)) {
+            coordinator.execute(() -> {
+                SqlStatementRecorder.statementPrepared();
+                return null;
+            });
+            coordinator.executeGrouped("create", items -> {
+                SqlStatementRecorder.statementPrepared();
+                return items.stream().map(WriteOutcome::success).toList();
+            }, 1);
+        } finally {
+            coordinator.shutdown();
+        }
+        assertThat(counters.getStatements()).isEqualTo(2);
+
+        // nothing is recorded once the counters are unbound
+        SqlStatementRecorder.statementPrepared();
+        assertThat(counters.getStatements()).isEqualTo(2);
+    }
+
+    private WriteCoordinator newCoordinator(boolean groupCommitEnabled, Duration window, int maxItems) {
+        var config = new WriteCoordinatorConfig();
+        config.setQueueCapacity(100);
+        config.setGroupCommitEnabled(groupCommitEnabled);
+        config.setGroupCommitWindow(window);
+        config.setGroupCommitMaxItems(maxItems);
+        meterRegistry = new SimpleMeterRegistry();
+        return new WriteCoordinator(config, meterRegistry);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}